@@ -0,0 +1,77 @@
+package com.example.formacomtrello.cache;
+
+import com.example.formacomtrello.dto.DashboardStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Caché en memoria del dashboard de cada usuario, con TTL corto y tamaño acotado (LRU, ver TtlLruCache).
+ * Cada entrada recuerda los proyectos del usuario, para invalidarla cuando cambia una tarea
+ * de cualquiera de ellos (ver DashboardServiceImpl).
+ */
+@Component
+public class DashboardCache {
+
+    private record Entry(DashboardStats stats, Set<Long> projectIds) {
+    }
+
+    private final TtlLruCache<Long, Entry> entries;
+
+    public DashboardCache(@Value("${app.cache.dashboard.max-size:10000}") int maxSize,
+                          @Value("${app.cache.dashboard.ttl:PT30S}") Duration ttl) {
+        this.entries = new TtlLruCache<>(maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * Devuelve el dashboard cacheado del usuario o null si no está o ha caducado.
+     */
+    public DashboardStats get(Long userId) {
+        Entry entry = entries.get(userId);
+        return entry == null ? null : entry.stats();
+    }
+
+    /**
+     * projectIds: proyectos cuyos cambios invalidan la entrada; null si son demasiados para
+     * guardarlos, y entonces la invalida un cambio en cualquier proyecto.
+     */
+    public void put(Long userId, DashboardStats stats, Set<Long> projectIds) {
+        entries.put(userId, new Entry(stats, projectIds == null ? null : Set.copyOf(projectIds)));
+    }
+
+    public void invalidateUser(Long userId) {
+        entries.invalidate(userId);
+    }
+
+    // Todos los usuarios cuyo dashboard incluye el proyecto (propietario y colaboradores)
+    public void invalidateProject(Long projectId) {
+        entries.invalidateIf((userId, entry) -> entry.projectIds() == null || entry.projectIds().contains(projectId));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    public long getInvalidations() {
+        return entries.getInvalidations();
+    }
+
+    @Override
+    public String toString() {
+        return "DashboardCache[" + entries + "]";
+    }
+}
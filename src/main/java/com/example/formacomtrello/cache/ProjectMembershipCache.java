@@ -0,0 +1,85 @@
+package com.example.formacomtrello.cache;
+
+import com.example.formacomtrello.model.ProjectMembership;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché en memoria del papel de cada usuario en cada proyecto (propietario, colaborador o ninguno).
+ * Tamaño acotado con expulsión LRU, caducidad por TTL y contadores de aciertos/fallos (ver TtlLruCache).
+ * Las entradas se invalidan cuando cambia la pertenencia (ver ProjectServiceImpl).
+ */
+@Component
+public class ProjectMembershipCache {
+
+    private record Key(Long projectId, Long userId) {
+    }
+
+    private final TtlLruCache<Key, ProjectMembership> entries;
+
+    @Autowired
+    public ProjectMembershipCache(@Value("${app.cache.membership.max-size:10000}") int maxSize,
+                                  @Value("${app.cache.membership.ttl:PT5M}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    ProjectMembershipCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.entries = new TtlLruCache<>(maxSize, ttl, nanoClock);
+    }
+
+    /**
+     * Devuelve el papel cacheado o null si no está o ha caducado.
+     */
+    public ProjectMembership get(Long projectId, Long userId) {
+        return entries.get(new Key(projectId, userId));
+    }
+
+    public void put(Long projectId, Long userId, ProjectMembership membership) {
+        entries.put(new Key(projectId, userId), membership);
+    }
+
+    public void invalidate(Long projectId, Long userId) {
+        entries.invalidate(new Key(projectId, userId));
+    }
+
+    public void invalidateProject(Long projectId) {
+        entries.invalidateIf((key, membership) -> key.projectId().equals(projectId));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    public long getEvictions() {
+        return entries.getEvictions();
+    }
+
+    public long getInvalidations() {
+        return entries.getInvalidations();
+    }
+
+    public double getHitRatio() {
+        return entries.getHitRatio();
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectMembershipCache[" + entries + "]";
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.formacomtrello.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Habilita @Async. Los métodos asíncronos usan el ejecutor de Spring Boot (applicationTaskExecutor):
+ * un pool de hilos de plataforma, o hilos virtuales si spring.threads.virtual.enabled=true.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,142 @@
+package com.example.formacomtrello.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limita las conexiones JDBC abiertas a la vez con un semáforo justo del tamaño del pool (menos una reserva).
+ * Con hilos virtuales (spring.threads.virtual.enabled) puede haber miles de peticiones a la vez:
+ * esperan su turno en el semáforo en lugar de agotar el tiempo de espera del pool de Hikari.
+ * El permiso se toma en getConnection() y se devuelve al cerrar la conexión.
+ *
+ * Un hilo que ya tiene una conexión puede pedir otra sin soltar la primera: Hibernate lo hace al pedir
+ * un bloque de ids a id_generators (@TableGenerator), en una conexión aparte. Esa conexión anidada no
+ * espera en el semáforo (si esperase, con todos los permisos en manos de hilos que piden un bloque nadie
+ * avanzaría) y sale de las conexiones que el semáforo deja libres en el pool: los permisos son como mucho
+ * el tamaño del pool menos app.jdbc.concurrency-limit.reserved-connections.
+ *
+ * Orden respecto a SqlTrackingDataSourcePostProcessor: este post-procesador se aplica antes, así que
+ * su proxy queda pegado al pool de Hikari y el de seguimiento de SQL lo envuelve por fuera. El permiso
+ * corresponde exactamente a una conexión física prestada por el pool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jdbc.concurrency-limit.enabled", havingValue = "true")
+public class JdbcConcurrencyLimiter implements BeanPostProcessor, Ordered {
+
+    // Antes que SqlTrackingDataSourcePostProcessor (ver su ORDER)
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMillis;
+
+    // Conexiones abiertas por cada hilo: si ya tiene alguna, la siguiente es anidada
+    private final ThreadLocal<AtomicInteger> openByThread = ThreadLocal.withInitial(AtomicInteger::new);
+    private final AtomicLong nestedConnections = new AtomicLong();
+
+    public JdbcConcurrencyLimiter(@Value("${app.jdbc.concurrency-limit.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                                  @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                  @Value("${app.jdbc.concurrency-limit.reserved-connections:1}") int reservedConnections,
+                                  @Value("${app.jdbc.concurrency-limit.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.maxPermits = Math.max(1, Math.min(permits, poolSize - reservedConnections));
+        this.permits = new Semaphore(maxPermits, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), ClassUtils.getAllInterfaces(bean),
+                    (proxy, method, args) -> method.getName().equals("getConnection")
+                            ? acquire(dataSource, method, args)
+                            : invoke(dataSource, method, args));
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    public int getPermits() {
+        return maxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getNestedConnections() {
+        return nestedConnections.get();
+    }
+
+    private Connection acquire(DataSource dataSource, Method method, Object[] args) throws Throwable {
+        AtomicInteger open = openByThread.get();
+        boolean nested = open.get() > 0;
+        if (!nested && !permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            throw new SQLTransientConnectionException("Sin conexión JDBC disponible tras " + acquireTimeoutMillis
+                    + " ms (" + permits.getQueueLength() + " peticiones esperando)");
+        }
+        Connection connection;
+        try {
+            connection = (Connection) invoke(dataSource, method, args);
+        } catch (Throwable e) {
+            if (!nested) {
+                permits.release();
+            }
+            throw e;
+        }
+        if (nested) {
+            nestedConnections.incrementAndGet();
+        }
+        open.incrementAndGet();
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, connectionMethod, connectionArgs) -> {
+                    if (connectionMethod.getName().equals("close")) {
+                        try {
+                            return invoke(connection, connectionMethod, connectionArgs);
+                        } finally {
+                            // close() puede llamarse más de una vez: el permiso solo se devuelve la primera
+                            if (released.compareAndSet(false, true)) {
+                                open.decrementAndGet();
+                                if (!nested) {
+                                    permits.release();
+                                }
+                            }
+                        }
+                    }
+                    return invoke(connection, connectionMethod, connectionArgs);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
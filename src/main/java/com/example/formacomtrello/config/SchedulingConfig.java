@@ -0,0 +1,13 @@
+package com.example.formacomtrello.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita @Scheduled para las tareas periódicas (p. ej. la reconciliación de TaskCounterService).
+ * Usan el planificador de Spring Boot (taskScheduler), de un solo hilo por defecto.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,97 @@
+package com.example.formacomtrello.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Comprueba al arrancar que la base de datos tiene los índices compuestos de
+ * db/migration/V3__query_indexes.sql con sus columnas en el mismo orden.
+ * Si falta alguno o difiere, el arranque falla en lugar de degradar a recorridos completos.
+ * Se ejecuta después de las migraciones de Flyway.
+ */
+@Component
+@DependsOnDatabaseInitialization
+public class SchemaIndexVerifier implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    // Plan de índices: debe coincidir con las migraciones
+    static final List<IndexDefinition> EXPECTED_INDEXES = List.of(
+            new IndexDefinition("tasks", "idx_tasks_project_status", List.of("project_id", "status")),
+            new IndexDefinition("tasks", "idx_tasks_project_created", List.of("project_id", "created_at", "id")),
+            new IndexDefinition("tasks", "idx_tasks_assignee_status", List.of("assigned_user_id", "status")),
+            new IndexDefinition("tasks", "idx_tasks_assignee_created", List.of("assigned_user_id", "created_at", "id")),
+            new IndexDefinition("comments", "idx_comments_task_created", List.of("task_id", "created_at", "id")),
+            new IndexDefinition("project_collaborators", "idx_project_collaborators_user", List.of("user_id", "project_id")),
+            new IndexDefinition("projects", "idx_projects_owner_created", List.of("owner_id", "created_at"))
+    );
+
+    record IndexDefinition(String table, String name, List<String> columns) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.schema.verify-indexes:true}")
+    private boolean enabled;
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        if (!enabled) {
+            log.warn("Comprobación del plan de índices desactivada (app.schema.verify-indexes=false)");
+            return;
+        }
+        List<String> problems = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (IndexDefinition expected : EXPECTED_INDEXES) {
+                List<String> actual = readIndexes(connection, metaData, expected.table()).get(expected.name());
+                if (actual == null) {
+                    problems.add("falta " + expected.name() + " en " + expected.table());
+                } else if (!actual.equals(expected.columns())) {
+                    problems.add(expected.name() + " tiene columnas " + actual + ", se esperaba " + expected.columns());
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("El esquema no coincide con el plan de índices: " + String.join("; ", problems));
+        }
+        log.info("Plan de índices verificado: {} índices", EXPECTED_INDEXES.size());
+    }
+
+    // Índices de una tabla: nombre (en minúsculas) -> columnas en orden
+    private Map<String, List<String>> readIndexes(Connection connection, DatabaseMetaData metaData, String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, TreeMap<Short, String>> byName = new TreeMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue; // Estadísticas de la tabla, no un índice
+                }
+                byName.computeIfAbsent(indexName.toLowerCase(Locale.ROOT), k -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, List<String>> indexes = new TreeMap<>();
+        byName.forEach((name, columns) -> indexes.put(name, new ArrayList<>(columns.values())));
+        return indexes;
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.formacomtrello.config;
 
+import com.example.formacomtrello.security.BoundedPasswordEncoder;
+import com.example.formacomtrello.security.LoginFailureHandler;
 import com.example.formacomtrello.service.impl.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity; // Cambio aquí
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher; // Para logout
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true) // Habilita @PreAuthorize, reemplaza EnableGlobalMethodSecurity
@@ -23,9 +30,30 @@ public class SecurityConfig { // YA NO extiende WebSecurityConfigurerAdapter
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    // Hashing de contraseñas: algoritmo y coste de los hashes nuevos, y límites del pool dedicado
+    @Value("${app.security.password.algorithm:bcrypt}")
+    private String passwordAlgorithm;
+
+    @Value("${app.security.password.bcrypt-cost:10}")
+    private int bcryptCost;
+
+    @Value("${app.security.password.hashing-threads:2}")
+    private int hashingThreads;
+
+    @Value("${app.security.password.queue-capacity:200}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.security.password.timeout:PT10S}")
+    private Duration hashingTimeout;
+
+    // Retry-After del 503 que recibe un login rechazado por saturación del pool
+    @Value("${app.security.password.retry-after:PT5S}")
+    private Duration hashingRetryAfter;
+
+    // Un solo codificador para login, registro y cambios de contraseña (close() para el pool al parar)
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(passwordAlgorithm, bcryptCost, hashingThreads, hashingQueueCapacity, hashingTimeout);
     }
 
     // Bean para configurar el AuthenticationManager (necesario para procesar UserDetailsService)
@@ -33,12 +61,30 @@ public class SecurityConfig { // YA NO extiende WebSecurityConfigurerAdapter
     public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
         AuthenticationManagerBuilder authenticationManagerBuilder =
                 http.getSharedObject(AuthenticationManagerBuilder.class);
+        // UserDetailsServiceImpl también es UserDetailsPasswordService: tras un login correcto con un hash
+        // de otro algoritmo o de menor coste, se guarda uno nuevo con la configuración actual
         authenticationManagerBuilder.userDetailsService(userDetailsService)
                 .passwordEncoder(passwordEncoder());
         return authenticationManagerBuilder.build();
     }
 
 
+    // Fotos subidas (UploadController): públicas, sin sesión ni contexto de seguridad.
+    // Va antes que la cadena principal; las miniaturas tienen el hash del contenido en la URL
+    @Bean
+    @Order(1)
+    public SecurityFilterChain uploadsFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/uploads/**")
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                .requestCache(cache -> cache.disable())
+                .anonymous(anonymous -> anonymous.disable())
+                .csrf(csrf -> csrf.disable());
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -61,7 +107,8 @@ public class SecurityConfig { // YA NO extiende WebSecurityConfigurerAdapter
                         .loginPage("/login") // Página de login personalizada
                         .loginProcessingUrl("/perform_login") // URL que procesa el login
                         .defaultSuccessUrl("/home-redirect", true) // Redirigir a /home después del login exitoso
-                        .failureUrl("/login?error=true") // Redirigir si falla el login
+                        // Redirigir si falla el login (503 si el pool de hashing está saturado)
+                        .failureHandler(new LoginFailureHandler("/login?error=true", hashingRetryAfter))
                         .permitAll() // Permitir acceso a la página de login y procesamiento a todos
                 )
                 // Configuración del Logout
@@ -0,0 +1,81 @@
+package com.example.formacomtrello.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Con la caché de plantillas activa (perfil 'prod'), procesa al arrancar cada plantilla de templates/
+ * para que la primera petición real no pague su parseo. Se ejecuta antes de que el servidor web acepte
+ * peticiones.
+ *
+ * Solo usa la API pública del motor: cada plantilla se procesa con un contexto vacío y la salida se
+ * descarta. El parseo de la plantilla queda en caché aunque el procesado falle a mitad por falta de
+ * modelo (o de petición, en las expresiones @{...}); lo que hubiera después del fallo, como el layout
+ * o algún fragmento, se parsea con la primera petición. Los fallos se registran y no impiden arrancar.
+ */
+@Component
+public class TemplatePrewarmer implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TemplatePrewarmer.class);
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private ResourcePatternResolver resourceResolver;
+
+    @Value("${spring.thymeleaf.cache:false}")
+    private boolean cacheable;
+
+    @Value("${app.thymeleaf.prewarm:true}")
+    private boolean enabled;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!cacheable || !enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<String> names = templateNames();
+        int failed = 0;
+        for (String name : names) {
+            try {
+                templateEngine.process(name, new Context(), Writer.nullWriter());
+            } catch (RuntimeException e) {
+                failed++;
+                log.debug("Precarga de la plantilla '{}' incompleta: {}", name, e.getMessage());
+            }
+        }
+        log.info("Plantillas precargadas en caché: {} ({} procesadas solo en parte) en {} ms",
+                names.size(), failed, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Nombres lógicos de las plantillas (p. ej. "manager/project-list")
+    private List<String> templateNames() {
+        List<String> names = new ArrayList<>();
+        try {
+            Resource root = resourceResolver.getResource(ThymeleafConfig.TEMPLATE_PREFIX);
+            String rootUri = root.getURI().toString();
+            for (Resource resource : resourceResolver.getResources(ThymeleafConfig.TEMPLATE_PREFIX + "**/*" + ThymeleafConfig.TEMPLATE_SUFFIX)) {
+                String uri = resource.getURI().toString();
+                names.add(uri.substring(rootUri.length(), uri.length() - ThymeleafConfig.TEMPLATE_SUFFIX.length()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudieron listar las plantillas para precargarlas", e);
+        }
+        return names;
+    }
+}
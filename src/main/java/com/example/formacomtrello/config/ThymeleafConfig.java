@@ -1,23 +1,46 @@
 package com.example.formacomtrello.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.spring6.templateresolver.SpringResourceTemplateResolver;
 import org.thymeleaf.spring6.view.ThymeleafViewResolver;
 import org.thymeleaf.templatemode.TemplateMode;
 
+import java.time.Duration;
+
 @Configuration
 public class ThymeleafConfig {
 
+    static final String TEMPLATE_PREFIX = "classpath:/templates/";
+    static final String TEMPLATE_SUFFIX = ".html";
+
+    // Desactivada en desarrollo (recarga en caliente); el perfil 'prod' la activa
+    @Value("${spring.thymeleaf.cache:false}")
+    private boolean cacheable;
+
+    // Tiempo de vida de una plantilla en caché; vacío = hasta que se reinicie la aplicación
+    @Value("${app.thymeleaf.cache.ttl:}")
+    private Duration cacheTtl;
+
+    // Número máximo de plantillas (y fragmentos) parseadas en caché
+    @Value("${app.thymeleaf.cache.max-size:200}")
+    private int cacheMaxSize;
+
     @Bean
     public SpringResourceTemplateResolver templateResolver() {
         SpringResourceTemplateResolver templateResolver = new SpringResourceTemplateResolver();
-        templateResolver.setPrefix("classpath:/templates/");
-        templateResolver.setSuffix(".html");
+        templateResolver.setPrefix(TEMPLATE_PREFIX);
+        templateResolver.setSuffix(TEMPLATE_SUFFIX);
         templateResolver.setTemplateMode(TemplateMode.HTML);
-        templateResolver.setCacheable(false); // En desarrollo, deshabilitar caché
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateResolver.setCacheable(cacheable);
+        if (cacheable && cacheTtl != null) {
+            templateResolver.setCacheTTLMs(cacheTtl.toMillis());
+        }
         return templateResolver;
     }
 
@@ -25,6 +48,9 @@ public class ThymeleafConfig {
     public SpringTemplateEngine templateEngine() {
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
         templateEngine.setTemplateResolver(templateResolver());
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(cacheMaxSize);
+        templateEngine.setCacheManager(cacheManager);
         templateEngine.addDialect(new LayoutDialect()); // Añadir el dialecto de layout
         templateEngine.addDialect(new org.thymeleaf.extras.springsecurity6.dialect.SpringSecurityDialect()); // Dialecto de seguridad
         return templateEngine;
@@ -1,39 +1,42 @@
 package com.example.formacomtrello.config;
 
-import com.example.formacomtrello.model.User;
-import com.example.formacomtrello.service.UserService;
+import com.example.formacomtrello.service.CurrentUserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.Optional;
 
 @Component
 public class UserNameInterceptor implements HandlerInterceptor {
 
+    private static final Logger log = LoggerFactory.getLogger(UserNameInterceptor.class);
 
-    private UserService userService;
+    private CurrentUserService currentUserService;
 
     @Autowired
-    public UserNameInterceptor(UserService userService) {
-        this.userService = userService;
+    public UserNameInterceptor(CurrentUserService currentUserService) {
+        this.currentUserService = currentUserService;
     }
 
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
         if (modelAndView != null) {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.isAuthenticated() &&
-                    !(auth.getPrincipal() instanceof String && auth.getPrincipal().equals("anonymousUser"))) {
-                String email = auth.getName();
-                Optional<User> userOpt = userService.findByEmail(email);
-                userOpt.ifPresent(user -> modelAndView.getModel().put("userName", user.getNombre()));
-            }
+            // El nombre viaja en el principal de la sesión: sin consulta a 'users'
+            currentUserService.getPrincipal()
+                    .ifPresent(user -> modelAndView.getModel().put("userName", user.getNombre()));
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int saved = currentUserService.getSavedLookups();
+        if (saved > 0) {
+            log.debug("{} {}: {} búsquedas de usuario ahorradas", request.getMethod(), request.getRequestURI(), saved);
+        }
+    }
+}
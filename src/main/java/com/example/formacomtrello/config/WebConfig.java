@@ -1,26 +1,42 @@
 package com.example.formacomtrello.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.example.formacomtrello.monitoring.SqlBudgetInterceptor;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
+/**
+ * Interceptores de las vistas. Las fotos de /uploads/profiles/** no pasan por aquí:
+ * las sirve UploadController (caché, ETag, Range).
+ */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Value("${app.upload.dir:${user.home}/uploads/profiles}")
-    private String uploadDir;
-    
+    @Autowired
+    private UserNameInterceptor userNameInterceptor;
+
+    @Autowired
+    private SqlBudgetInterceptor sqlBudgetInterceptor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Configuración para exponer el directorio de uploads como recursos estáticos
-        Path uploadPath = Paths.get(uploadDir);
-        String uploadAbsolutePath = uploadPath.toFile().getAbsolutePath();
-        
-        registry.addResourceHandler("/uploads/profiles/**")
-                .addResourceLocations("file:" + uploadAbsolutePath + "/");
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Open EntityManager in View (en lugar del de Spring Boot, spring.jpa.open-in-view=false) salvo en las
+        // conexiones SSE: el EntityManager dura lo que la petición asíncrona y retendría una conexión JDBC
+        OpenEntityManagerInViewInterceptor openEntityManagerInView = new OpenEntityManagerInViewInterceptor();
+        openEntityManagerInView.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(openEntityManagerInView)
+                .excludePathPatterns("/projects/*/events");
+        // Sentencias SQL por petición y presupuesto de consultas (@QueryBudget)
+        registry.addInterceptor(sqlBudgetInterceptor)
+                .excludePathPatterns("/css/**", "/js/**", "/images/**", "/webjars/**", "/uploads/**");
+        // Añade 'userName' al modelo de todas las vistas (sin consultas extra gracias a CurrentUserService)
+        registry.addInterceptor(userNameInterceptor)
+                .excludePathPatterns("/css/**", "/js/**", "/images/**", "/webjars/**", "/uploads/**");
     }
 }
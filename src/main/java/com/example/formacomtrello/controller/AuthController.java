@@ -2,6 +2,8 @@ package com.example.formacomtrello.controller;
 
 import com.example.formacomtrello.dto.UserRegistrationDto;
 import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
 import com.example.formacomtrello.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -23,6 +25,9 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CurrentUserService currentUserService;
+
 
 
     @GetMapping("/login")
@@ -61,11 +66,11 @@ public class AuthController {
     @GetMapping("/home-redirect")
     public String homeAfterLogin() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String email = auth.getName();
-        Optional<User> userOpt = userService.findByEmail(email);
+        // El rol viene en el principal creado en el login
+        Optional<AuthenticatedUser> userOpt = currentUserService.findPrincipal(auth.getName());
 
         if (userOpt.isPresent()) {
-            User user = userOpt.get();
+            AuthenticatedUser user = userOpt.get();
             // Eliminar esta condición:
             // if (user.isFirstLogin() && user.getRole() == Role.COLABORADOR) {
             //     return "redirect:/set-password";
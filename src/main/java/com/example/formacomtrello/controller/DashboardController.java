@@ -1,29 +1,33 @@
 package com.example.formacomtrello.controller;
 
-import com.example.formacomtrello.model.Project;
-import com.example.formacomtrello.model.Task;
-import com.example.formacomtrello.model.TaskStatus;
-import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.dto.KeysetCursor;
+import com.example.formacomtrello.dto.KeysetPage;
+import com.example.formacomtrello.dto.ProjectSummary;
+import com.example.formacomtrello.dto.TaskSummary;
+import com.example.formacomtrello.monitoring.QueryBudget;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.DashboardService;
 import com.example.formacomtrello.service.ProjectService;
 import com.example.formacomtrello.service.TaskService;
-import com.example.formacomtrello.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Optional;
-import java.util.List;
 
 @Controller
 @RequestMapping("/")
 public class DashboardController {
 
     @Autowired
-    private UserService userService;
+    private CurrentUserService currentUserService;
 
     @Autowired
     private ProjectService projectService;
@@ -31,18 +35,22 @@ public class DashboardController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private DashboardService dashboardService;
+
     /**
      * Muestra el dashboard del gestor
      */
     @GetMapping("/manager/dashboard")
     @PreAuthorize("hasAuthority('GESTOR')")
+    @QueryBudget(2)
     public String managerDashboard(Model model, Authentication auth) {
-        String email = auth.getName();
-        Optional<User> user = userService.findByEmail(email);
+        // El nombre viaja en el principal de la sesión: no hace falta consultar 'users'
+        Optional<AuthenticatedUser> user = currentUserService.findPrincipal(auth.getName());
 
-        // Aquí puedes añadir más datos al modelo como proyectos recientes, etc.
-        // model.addAttribute("projects", projectService.findProjectsByOwnerEmail(email));
         user.ifPresent(value -> model.addAttribute("userName", value.getNombre()));
+        // Dos consultas agregadas como mucho; cacheadas unos segundos por usuario
+        model.addAttribute("stats", dashboardService.getManagerDashboard(auth.getName()));
 
         return "manager/dashboard";
     }
@@ -52,13 +60,12 @@ public class DashboardController {
      */
     @GetMapping("/collaborator/dashboard")
     @PreAuthorize("hasAuthority('COLABORADOR')")
+    @QueryBudget(2)
     public String collaboratorDashboard(Model model, Authentication auth) {
-        String email = auth.getName();
-        Optional<User> user = userService.findByEmail(email);
+        Optional<AuthenticatedUser> user = currentUserService.findPrincipal(auth.getName());
 
-        // Aquí puedes añadir datos relevantes para colaboradores
-        // model.addAttribute("assignedTasks", taskService.findTasksByAssignedUserEmail(email));
         user.ifPresent(value -> model.addAttribute("userName", value.getNombre()));
+        model.addAttribute("stats", dashboardService.getCollaboratorDashboard(auth.getName()));
 
         return "collaborator/dashboard";
     }
@@ -68,21 +75,25 @@ public class DashboardController {
      */
     @GetMapping("/manager/project-list")
     @PreAuthorize("hasAuthority('GESTOR')")
-    public String managerProjectList(Model model, Authentication auth) {
+    @QueryBudget(2)
+    public String managerProjectList(@RequestParam(defaultValue = "0") int page, Model model, Authentication auth) {
         String email = auth.getName();
-        List<Project> projects = projectService.findProjectsByOwner(email);
-        model.addAttribute("projects", projects);
+        Page<ProjectSummary> projects = projectService.findProjectsByOwner(email, page);
+        model.addAttribute("projects", projects.getContent());
+        model.addAttribute("projectsPage", projects);
         return "manager/project-list";
     }
 
     //Redirige a la vista de tareas del colaborador
     @GetMapping("/collaborator/tasks")
     @PreAuthorize("hasAuthority('COLABORADOR')")
-    public String collaboratorTasks(Model model, Authentication auth) {
+    @QueryBudget(2)
+    public String collaboratorTasks(@RequestParam(required = false) String after, Model model, Authentication auth) {
         String userEmail = auth.getName();
-        List<Task> tasks = taskService.findTasksByAssignedUser(userEmail);
-        tasks.forEach(task -> task.setStatus(TaskStatus.valueOf(task.getStatus().name())));
-        model.addAttribute("tasks", tasks);
+        KeysetPage<TaskSummary> tasks = taskService.findTasksByAssignedUser(userEmail, KeysetCursor.decode(after));
+        model.addAttribute("tasks", tasks.getContent());
+        model.addAttribute("nextCursor", tasks.getNextCursor());
+        model.addAttribute("after", after);
         return "collaborator/task-list";
     }
 
@@ -1,7 +1,7 @@
 package com.example.formacomtrello.controller;
 
-import com.example.formacomtrello.model.User;
-import com.example.formacomtrello.service.UserService;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,7 +14,7 @@ import java.util.Optional;
 @Controller
 public class HomeController {
     @Autowired
-    private UserService userService;
+    private CurrentUserService currentUserService;
 
     // Método para la ruta raíz
     @GetMapping("/")
@@ -23,8 +23,7 @@ public class HomeController {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !(auth.getPrincipal() instanceof String && auth.getPrincipal().equals("anonymousUser"))) {
             // Si ya está logueado, añadimos información útil al modelo pero dejamos que la vista se encargue de la redirección
-            String email = auth.getName();
-            Optional<User> userOpt = userService.findByEmail(email);
+            Optional<AuthenticatedUser> userOpt = currentUserService.findPrincipal(auth.getName());
             userOpt.ifPresent(user -> model.addAttribute("userName", user.getNombre()));
         }
         // Mostrar directamente la página home
@@ -37,8 +36,7 @@ public class HomeController {
         // Mismo comportamiento que la ruta raíz
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !(auth.getPrincipal() instanceof String && auth.getPrincipal().equals("anonymousUser"))) {
-            String email = auth.getName();
-            Optional<User> userOpt = userService.findByEmail(email);
+            Optional<AuthenticatedUser> userOpt = currentUserService.findPrincipal(auth.getName());
             userOpt.ifPresent(user -> model.addAttribute("userName", user.getNombre()));
         }
         return "home";
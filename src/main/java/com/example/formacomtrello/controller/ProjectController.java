@@ -1,22 +1,34 @@
 package com.example.formacomtrello.controller;
 
+import com.example.formacomtrello.dto.KeysetCursor;
+import com.example.formacomtrello.dto.KeysetPage;
 import com.example.formacomtrello.dto.ProjectDto;
+import com.example.formacomtrello.dto.ProjectSummary;
+import com.example.formacomtrello.dto.TaskSummary;
 import com.example.formacomtrello.model.Project;
-import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.monitoring.QueryBudget;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize; // Para control fino
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.ui.Model;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import com.example.formacomtrello.service.BoardEventService;
+import com.example.formacomtrello.service.ProjectExportService;
 import com.example.formacomtrello.service.ProjectService;
 import com.example.formacomtrello.service.UserService;
 import com.example.formacomtrello.service.TaskService;
 
-import java.util.List;
 import java.util.Optional;
 // ... otros imports
 
@@ -30,6 +42,10 @@ public class ProjectController {
     private UserService userService;
     @Autowired
     private TaskService taskService;
+    @Autowired
+    private ProjectExportService projectExportService;
+    @Autowired
+    private BoardEventService boardEventService;
 
     // --- Rutas de Gestor ---
 
@@ -172,13 +188,16 @@ public class ProjectController {
 
     @GetMapping("/{projectId}")
     @PreAuthorize("isAuthenticated()") // Solo usuarios logueados
-    public String viewProjectDetails(@PathVariable Long projectId, Model model, Authentication auth) {
+    @QueryBudget(4)
+    public String viewProjectDetails(@PathVariable Long projectId,
+                                     @RequestParam(required = false) String after,
+                                     Model model, Authentication auth) {
         // 1. Obtener el usuario actual (email/id) y su rol.
         String userEmail = auth.getName();
         String userRole = auth.getAuthorities().iterator().next().getAuthority();
         
-        // 2. Cargar el proyecto 'projectId' y verificar acceso del usuario
-        Optional<Project> projectOpt = projectService.findProjectById(projectId, userEmail);
+        // 2. Cargar el proyecto 'projectId' (con propietario y colaboradores) y verificar acceso del usuario
+        Optional<Project> projectOpt = projectService.findProjectDetailsById(projectId, userEmail);
         
         // 3. Verificar si el usuario tiene acceso
         if (!projectOpt.isPresent()) {
@@ -192,9 +211,11 @@ public class ProjectController {
         model.addAttribute("userRole", userRole);
         model.addAttribute("isOwner", project.getOwner().getEmail().equals(userEmail));
         
-        // 5. Cargar tareas asociadas al proyecto y asegurarse de que estén ordenadas
-        List<Task> tasks = taskService.findTasksByProjectId(projectId, userEmail);
-        model.addAttribute("tasks", tasks);
+        // 5. Cargar la página de tareas del proyecto, ordenadas por fecha de creación
+        KeysetPage<TaskSummary> tasks = taskService.findTasksByProjectId(projectId, userEmail, KeysetCursor.decode(after));
+        model.addAttribute("tasks", tasks.getContent());
+        model.addAttribute("nextCursor", tasks.getNextCursor());
+        model.addAttribute("after", after);
 
         // 6. Los colaboradores ya están en el proyecto
         model.addAttribute("collaborators", project.getCollaborators());
@@ -207,29 +228,70 @@ public class ProjectController {
         }
     }
 
+    // Descarga de las tareas y comentarios del proyecto (csv, jsonl o zip). El acceso se comprueba aquí;
+    // el contenido se escribe después, en otro hilo, a medida que se lee de la base de datos
+    @GetMapping("/{projectId}/export")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportProject(@PathVariable Long projectId,
+                                                               @RequestParam(defaultValue = "zip") String format,
+                                                               Authentication auth) {
+        ProjectExportService.Format exportFormat;
+        try {
+            exportFormat = ProjectExportService.Format.fromExtension(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        projectExportService.verifyExportAccess(projectId, auth.getName());
+
+        String fileName = "proyecto-" + projectId + "." + exportFormat.getExtension();
+        StreamingResponseBody body = out -> projectExportService.writeExport(projectId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    // Cambios de las tareas del proyecto en directo (Server-Sent Events) para las páginas de proyecto y de tarea.
+    // La petición queda en modo asíncrono: no ocupa un hilo de Tomcat mientras la conexión está abierta
+    @GetMapping(value = "/{projectId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    @QueryBudget(1)
+    public SseEmitter projectEvents(@PathVariable Long projectId, Authentication auth) {
+        return boardEventService.subscribe(projectId, auth.getName());
+    }
+
     // Otros métodos para listar proyectos (uno para manager, otro para colaborador)
     @GetMapping("/manager/list")
     @PreAuthorize("hasAuthority('GESTOR')")
-    public String listManagerProjects(Model model, Authentication auth) {
+    @QueryBudget(2)
+    public String listManagerProjects(@RequestParam(defaultValue = "0") int page, Model model, Authentication auth) {
         String userEmail = auth.getName();
-        List<Project> projects = projectService.findProjectsByOwner(userEmail);
-        model.addAttribute("projects", projects);
+        Page<ProjectSummary> projects = projectService.findProjectsByOwner(userEmail, page);
+        model.addAttribute("projects", projects.getContent());
+        model.addAttribute("projectsPage", projects);
         return "manager/project-list";
     }
 
     // Método adicional para manejar la ruta utilizada en las vistas
     @GetMapping("/manager/project-list")
     @PreAuthorize("hasAuthority('GESTOR')")
-    public String managerProjectList(Model model, Authentication auth) {
-        return listManagerProjects(model, auth);
+    @QueryBudget(2)
+    public String managerProjectList(@RequestParam(defaultValue = "0") int page, Model model, Authentication auth) {
+        return listManagerProjects(page, model, auth);
     }
 
     @GetMapping("/collaborator/list")
     @PreAuthorize("hasAuthority('COLABORADOR')")
-    public String listCollaboratorProjects(Model model, Authentication auth) {
+    @QueryBudget(2)
+    public String listCollaboratorProjects(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(required = false) Boolean closed,
+                                           Model model, Authentication auth) {
         String userEmail = auth.getName();
-        List<Project> projects = projectService.findProjectsByCollaborator(userEmail);
-        model.addAttribute("projects", projects);
+        // Proyectos propios o en los que colabora, con filtro opcional por estado (null = todos)
+        Page<ProjectSummary> projects = projectService.findUserAccessibleProjects(userEmail, closed, page);
+        model.addAttribute("projects", projects.getContent());
+        model.addAttribute("projectsPage", projects);
+        model.addAttribute("closed", closed);
         return "collaborator/project-list";
     }
 
@@ -0,0 +1,35 @@
+package com.example.formacomtrello.controller;
+
+import com.example.formacomtrello.dto.SearchResult;
+import com.example.formacomtrello.monitoring.QueryBudget;
+import com.example.formacomtrello.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@Controller
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    /**
+     * Busca en las tareas y comentarios de los proyectos del usuario (propios o en los que colabora)
+     */
+    @GetMapping("/search")
+    @QueryBudget(2) // Proyectos accesibles y filas de la página de resultados; el resto lo resuelve el índice
+    public String search(@RequestParam(defaultValue = "") String q,
+                         @RequestParam(defaultValue = "0") int page,
+                         Model model, Authentication auth) {
+        model.addAttribute("q", q);
+        if (!q.isBlank()) {
+            Page<SearchResult> results = searchService.search(q, auth.getName(), page);
+            model.addAttribute("results", results);
+        }
+        return "search/results";
+    }
+}
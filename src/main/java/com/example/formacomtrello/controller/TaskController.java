@@ -1,23 +1,37 @@
 package com.example.formacomtrello.controller;
 
 import com.example.formacomtrello.dto.CommentDto;
+import com.example.formacomtrello.dto.KeysetCursor;
+import com.example.formacomtrello.dto.KeysetPage;
 import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.dto.TaskImportReport;
 import com.example.formacomtrello.exception.ResourceNotFoundException;
 import com.example.formacomtrello.exception.UnauthorizedAccessException;
 import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.monitoring.QueryBudget;
 import com.example.formacomtrello.service.ProjectService;
+import com.example.formacomtrello.service.TaskImportService;
 import com.example.formacomtrello.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 @Controller
 // Nota: Algunas rutas empiezan con /projects/{projectId}/tasks, otras con /tasks/{taskId}
@@ -30,24 +44,29 @@ public class TaskController {
     @Autowired
     private ProjectService projectService; // Necesario para obtener colaboradores, verificar acceso a proyecto
 
+    @Autowired
+    private Validator validator; // Valida cada tarea de un alta masiva con las reglas de TaskDto
+
+    @Autowired
+    private TaskImportService taskImportService;
+
     // --- Vista Detallada de Tarea ---
     @GetMapping("/tasks/{taskId}")
     @PreAuthorize("isAuthenticated()") // Acceso básico, el servicio verifica el acceso específico al proyecto
-    public String viewTaskDetails(@PathVariable Long taskId, Model model, Authentication authentication) {
+    @QueryBudget(4)
+    public String viewTaskDetails(@PathVariable Long taskId,
+                                  @RequestParam(required = false) String after,
+                                  Model model, Authentication authentication) {
         String userEmail = authentication.getName();
         try {
             // findTaskById ya verifica si el usuario (gestor o colaborador) tiene acceso al proyecto de la tarea
             Task task = taskService.findTaskById(taskId, userEmail)
                     .orElseThrow(() -> new ResourceNotFoundException("Tarea no encontrada o sin acceso: " + taskId));
 
-            List<Comment> comments = taskService.findCommentsByTaskId(taskId, userEmail); // El servicio también verifica acceso
+            // Página de comentarios; el servicio también verifica acceso
+            KeysetPage<Comment> comments = taskService.findCommentsByTaskId(taskId, userEmail, KeysetCursor.decode(after));
 
             // Determinar permisos para la vista
-            User currentUser = ((org.springframework.security.core.userdetails.User) authentication.getPrincipal()).getUsername().equals(userEmail) ?
-                    task.getProject().getOwner() : // Placeholder, necesitamos buscar el usuario real
-                    taskService.findTaskById(taskId, userEmail).get().getAssignedUser(); // Simplificado, buscar usuario real por email
-
-
             boolean canComment = projectService.canUserAccessProject(task.getProject().getId(), userEmail); // Gestor o Colaborador del proyecto
             boolean canComplete = userEmail.equals(task.getAssignedUser().getEmail())
                     && task.getStatus() != TaskStatus.COMPLETADA
@@ -57,7 +76,9 @@ public class TaskController {
 
 
             model.addAttribute("task", task);
-            model.addAttribute("comments", comments);
+            model.addAttribute("comments", comments.getContent());
+            model.addAttribute("nextCursor", comments.getNextCursor());
+            model.addAttribute("after", after);
             model.addAttribute("canComment", canComment);
             model.addAttribute("canComplete", canComplete);
             model.addAttribute("canEditDelete", canEditDelete); // Para mostrar botones editar/eliminar
@@ -161,6 +182,132 @@ public class TaskController {
     }
 
 
+    // --- Operaciones masivas (Gestor): una petición para muchas tareas del proyecto ---
+
+    // Alta masiva: un título por línea, mismo colaborador y fecha límite para todas
+    @PostMapping("/projects/{projectId}/tasks/bulk-create")
+    @PreAuthorize("hasAuthority('GESTOR')")
+    public String createTasks(@PathVariable Long projectId,
+                              @RequestParam String titles,
+                              @RequestParam String assignedUserEmail,
+                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
+                              Authentication authentication,
+                              RedirectAttributes redirectAttributes) {
+        List<TaskDto> taskDtos = new ArrayList<>();
+        for (String line : titles.split("\\R")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            TaskDto taskDto = new TaskDto();
+            taskDto.setTitle(line.strip());
+            taskDto.setAssignedUserEmail(assignedUserEmail);
+            taskDto.setDueDate(dueDate);
+            Set<ConstraintViolation<TaskDto>> violations = validator.validate(taskDto);
+            if (!violations.isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "Tarea '" + taskDto.getTitle() + "': " + violations.iterator().next().getMessage());
+                return "redirect:/projects/" + projectId;
+            }
+            taskDtos.add(taskDto);
+        }
+
+        try {
+            int created = taskService.createTasks(projectId, taskDtos, authentication.getName()).size();
+            redirectAttributes.addFlashAttribute("successMessage", created + " tareas creadas.");
+        } catch (ResourceNotFoundException | UnauthorizedAccessException | IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error al crear tareas: " + e.getMessage());
+        }
+        return "redirect:/projects/" + projectId;
+    }
+
+    // Acción sobre las tareas marcadas en project-detail: 'status', 'reassign' o 'delete'
+    @PostMapping("/projects/{projectId}/tasks/bulk")
+    @PreAuthorize("hasAuthority('GESTOR')")
+    public String bulkUpdateTasks(@PathVariable Long projectId,
+                                  @RequestParam(required = false) List<Long> taskIds,
+                                  @RequestParam String action,
+                                  @RequestParam(required = false) TaskStatus status,
+                                  @RequestParam(required = false) String assigneeEmail,
+                                  Authentication authentication,
+                                  RedirectAttributes redirectAttributes) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "No has seleccionado ninguna tarea.");
+            return "redirect:/projects/" + projectId;
+        }
+        String managerEmail = authentication.getName();
+
+        try {
+            String message;
+            switch (action) {
+                case "status" -> {
+                    if (status == null) {
+                        throw new IllegalArgumentException("Debes elegir un estado.");
+                    }
+                    message = taskService.changeTasksStatus(projectId, taskIds, status, managerEmail) + " tareas cambiadas a " + status.getDisplayName() + ".";
+                }
+                case "reassign" -> {
+                    if (assigneeEmail == null || assigneeEmail.isBlank()) {
+                        throw new IllegalArgumentException("Debes elegir un colaborador.");
+                    }
+                    message = taskService.reassignTasks(projectId, taskIds, assigneeEmail, managerEmail) + " tareas reasignadas.";
+                }
+                case "delete" -> message = taskService.deleteTasks(projectId, taskIds, managerEmail) + " tareas eliminadas.";
+                default -> throw new IllegalArgumentException("Acción desconocida: " + action);
+            }
+            redirectAttributes.addFlashAttribute("successMessage", message);
+        } catch (ResourceNotFoundException | UnauthorizedAccessException | IllegalArgumentException | IllegalStateException e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error en la operación masiva: " + e.getMessage());
+        }
+        return "redirect:/projects/" + projectId;
+    }
+
+
+    // --- Importar Tareas desde CSV o JSON Lines (Gestor) ---
+
+    @GetMapping("/projects/{projectId}/tasks/import")
+    @PreAuthorize("hasAuthority('GESTOR')")
+    public String showImportForm(@PathVariable Long projectId, Model model, Authentication authentication) {
+        String managerEmail = authentication.getName();
+        Project project = projectService.findProjectById(projectId, managerEmail)
+                .filter(p -> p.getOwner().getEmail().equals(managerEmail))
+                .orElse(null);
+        if (project == null) {
+            model.addAttribute("errorMessage", "No eres el gestor de este proyecto o no existe.");
+            return "error";
+        }
+        model.addAttribute("projectId", projectId);
+        model.addAttribute("projectTitle", project.getTitle());
+        return "manager/task-import";
+    }
+
+    @PostMapping("/projects/{projectId}/tasks/import")
+    @PreAuthorize("hasAuthority('GESTOR')")
+    public String importTasks(@PathVariable Long projectId,
+                              @RequestParam("file") MultipartFile file,
+                              @RequestParam(required = false) TaskImportService.Format format,
+                              Model model,
+                              Authentication authentication) {
+        model.addAttribute("projectId", projectId);
+        if (file.isEmpty()) {
+            model.addAttribute("errorMessage", "Selecciona un archivo CSV o JSON Lines.");
+            return "manager/task-import";
+        }
+        TaskImportService.Format fileFormat = format != null ? format : TaskImportService.Format.fromFileName(file.getOriginalFilename());
+
+        // El archivo se lee por flujo desde el temporal de multipart
+        try (InputStream input = file.getInputStream()) {
+            TaskImportReport report = taskImportService.importTasks(projectId, fileFormat, input, authentication.getName());
+            model.addAttribute("report", report);
+        } catch (ResourceNotFoundException | UnauthorizedAccessException | IllegalArgumentException | IllegalStateException e) {
+            model.addAttribute("errorMessage", "Error al importar tareas: " + e.getMessage());
+        } catch (IOException e) {
+            model.addAttribute("errorMessage", "No se pudo leer el archivo: " + e.getMessage());
+        }
+        model.addAttribute("fileName", file.getOriginalFilename());
+        return "manager/task-import";
+    }
+
+
     // --- Editar Tarea (Formulario y Proceso) ---
 
     @GetMapping("/tasks/{taskId}/edit")
@@ -0,0 +1,146 @@
+package com.example.formacomtrello.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sirve las fotos de perfil subidas (app.upload.dir) sin sesión ni contexto de seguridad
+ * (ver la cadena de filtros de /uploads/** en SecurityConfig).
+ * - Las miniaturas tienen el hash del contenido en el nombre: nunca cambian, así que se sirven
+ *   con Cache-Control immutable de larga duración y un ETag fuerte derivado del nombre.
+ * - Los archivos antiguos (nombre con UUID) se revalidan siempre (no-cache + ETag).
+ * - Soporta If-None-Match (304), peticiones Range de un solo rango (206) y HEAD.
+ * - El cuerpo se envía con sendfile de Tomcat si está disponible y el archivo es grande,
+ *   o con FileChannel.transferTo hacia la salida de la respuesta.
+ */
+@Controller
+public class UploadController {
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final Pattern CONTENT_ADDRESSED = Pattern.compile("([0-9a-f]{64}-\\d+)\\.\\w+");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    // Atributos de Tomcat para enviar el archivo con sendfile (como hace su DefaultServlet)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Value("${app.upload.dir:${user.home}/uploads/profiles}")
+    private String uploadDir;
+
+    @Value("${app.upload.cache.max-age:P365D}")
+    private Duration maxAge;
+
+    // Por debajo de este tamaño copiar es más barato que preparar sendfile
+    @Value("${app.upload.sendfile-min-size:48KB}")
+    private DataSize sendfileMinSize;
+
+    @RequestMapping(value = "/uploads/profiles/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path directory = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!SAFE_NAME.matcher(fileName).matches() || !file.startsWith(directory) || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        Matcher contentAddressed = CONTENT_ADDRESSED.matcher(fileName);
+        String etag;
+        if (contentAddressed.matches()) {
+            etag = "\"" + contentAddressed.group(1) + "\"";
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge.toSeconds() + ", immutable");
+        } else {
+            etag = "W/\"" + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "-" + Long.toHexString(length) + "\"";
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        // Escribe ETag y, si coincide con If-None-Match, deja la respuesta en 304
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range con otro ETag: el archivo cambió, se envía completo
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+            // Varios rangos o sintaxis desconocida: se permite responder con el archivo completo
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    start = Math.max(0, length - position(matcher.group(2))); // bytes=-N: los N últimos
+                } else {
+                    start = position(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(end, position(matcher.group(2)));
+                    }
+                }
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && count >= sendfileMinSize.toBytes()) {
+            // Tomcat envía el archivo directamente desde el sistema de ficheros al terminar la petición
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+    }
+
+    // Posición de un rango. Un número que no cabe en un long no es un error de sintaxis: se satura,
+    // así un inicio enorme acaba en 416 y un final o sufijo enorme cubre hasta el final del archivo
+    private static long position(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE; // El patrón solo admite dígitos: el único fallo posible es el desbordamiento
+        }
+    }
+}
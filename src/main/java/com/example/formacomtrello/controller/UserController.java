@@ -3,15 +3,15 @@ package com.example.formacomtrello.controller;
 import com.example.formacomtrello.dto.UserProfileDto;
 import com.example.formacomtrello.exception.ResourceNotFoundException;
 import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.ProfileImageService;
 import com.example.formacomtrello.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,11 +19,6 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
 
 @Controller
 @RequestMapping("/user") // Base path para las acciones de perfil de usuario
@@ -34,9 +29,12 @@ public class UserController {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CurrentUserService currentUserService;
     
-    @Value("${app.upload.dir:${user.home}/uploads/profiles}")
-    private String uploadDir;
+    @Autowired
+    private ProfileImageService profileImageService;
 
     /**
      * Muestra la página del perfil del usuario autenticado.
@@ -151,7 +149,7 @@ public class UserController {
             // Procesar la foto subida, si existe
             MultipartFile fotoFile = userProfileDto.getFotoFile();
             if (fotoFile != null && !fotoFile.isEmpty()) {
-                String fotoUrl = saveProfileImage(fotoFile, currentUser.getEmail());
+                String fotoUrl = profileImageService.store(fotoFile); // Miniaturas con nombre = hash del contenido
                 currentUser.setFotoUrl(fotoUrl);
             } else if (userProfileDto.getFotoUrl() != null && !userProfileDto.getFotoUrl().trim().isEmpty()) {
                 // Si no hay archivo subido pero sí hay URL, usar la URL
@@ -170,6 +168,8 @@ public class UserController {
 
             // 4. Guardar el usuario actualizado
             userService.save(currentUser);
+            // El principal de la sesión guarda nombre y apellidos: actualizarlo
+            currentUserService.refreshPrincipal(currentUser);
 
             redirectAttributes.addFlashAttribute("successMessage", "Perfil actualizado correctamente.");
             return "redirect:/user/profile"; // Redirigir a la misma página de perfil
@@ -195,34 +195,4 @@ public class UserController {
             return "user/profile";
         }
     }
-    
-    /**
-     * Guarda la imagen de perfil en el servidor y devuelve la URL relativa.
-     * 
-     * @param file El archivo de imagen subido
-     * @param email El email del usuario para nombrar el archivo
-     * @return La URL relativa de la imagen guardada
-     * @throws IOException Si hay problemas al guardar la imagen
-     */
-    private String saveProfileImage(MultipartFile file, String email) throws IOException {
-        // Crear el directorio si no existe
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-        
-        // Limpiar el nombre de archivo y asegurarse de que sea único
-        String fileName = StringUtils.cleanPath(file.getOriginalFilename());
-        // Generar un nombre único para evitar colisiones
-        String uniqueFileName = email.replaceAll("[^a-zA-Z0-9]", "_") + "_" 
-                + UUID.randomUUID().toString().substring(0, 8) + "_" 
-                + fileName;
-        
-        // Guardar el archivo
-        Path filePath = uploadPath.resolve(uniqueFileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-        
-        // Devolver la URL relativa para acceder desde la web
-        return "/uploads/profiles/" + uniqueFileName;
-    }
 }
@@ -0,0 +1,149 @@
+package com.example.formacomtrello.dto;
+
+import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.model.TaskStatus;
+import com.example.formacomtrello.model.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cambio en las tareas de un proyecto que se envía a las páginas abiertas del proyecto (SSE).
+ * Lleva solo lo necesario para actualizar la fila de la tarea; el resto se ve al recargar.
+ * Las operaciones masivas generan un único evento con todos los ids.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardEvent {
+
+    public enum Type {
+        TASK_CREATED, TASK_UPDATED, TASK_STATUS_CHANGED, TASK_REASSIGNED, TASK_DELETED, COMMENT_ADDED;
+
+        // Nombre del evento SSE (campo 'event:'), p. ej. "task-status-changed"
+        public String eventName() {
+            return name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    // Extracto máximo del comentario que viaja en el evento
+    private static final int EXCERPT_LENGTH = 200;
+
+    private final Type type;
+    private final Long projectId;
+    private final List<Long> taskIds;
+    private String title;
+    private TaskStatus status;
+    private String statusLabel;
+    private String assigneeEmail;
+    private String assigneeName;
+    private String commentAuthor;
+    private String commentExcerpt;
+
+    private BoardEvent(Type type, Long projectId, Collection<Long> taskIds) {
+        this.type = type;
+        this.projectId = projectId;
+        this.taskIds = List.copyOf(taskIds);
+    }
+
+    public static BoardEvent taskCreated(Task task) {
+        return single(Type.TASK_CREATED, task).withStatus(task.getStatus()).withAssignee(task.getAssignedUser());
+    }
+
+    public static BoardEvent tasksCreated(Long projectId, Collection<Long> taskIds) {
+        return new BoardEvent(Type.TASK_CREATED, projectId, taskIds).withStatus(TaskStatus.PENDIENTE);
+    }
+
+    // Título, descripción o fecha límite editados
+    public static BoardEvent taskUpdated(Task task) {
+        return single(Type.TASK_UPDATED, task);
+    }
+
+    public static BoardEvent statusChanged(Task task) {
+        return single(Type.TASK_STATUS_CHANGED, task).withStatus(task.getStatus());
+    }
+
+    public static BoardEvent statusChanged(Long projectId, Collection<Long> taskIds, TaskStatus status) {
+        return new BoardEvent(Type.TASK_STATUS_CHANGED, projectId, taskIds).withStatus(status);
+    }
+
+    public static BoardEvent reassigned(Task task) {
+        return single(Type.TASK_REASSIGNED, task).withAssignee(task.getAssignedUser());
+    }
+
+    public static BoardEvent reassigned(Long projectId, Collection<Long> taskIds, User assignee) {
+        return new BoardEvent(Type.TASK_REASSIGNED, projectId, taskIds).withAssignee(assignee);
+    }
+
+    public static BoardEvent deleted(Long projectId, Collection<Long> taskIds) {
+        return new BoardEvent(Type.TASK_DELETED, projectId, taskIds);
+    }
+
+    public static BoardEvent commentAdded(Task task, String authorName, String content) {
+        BoardEvent event = single(Type.COMMENT_ADDED, task);
+        event.commentAuthor = authorName;
+        event.commentExcerpt = content.length() > EXCERPT_LENGTH ? content.substring(0, EXCERPT_LENGTH) + "…" : content;
+        return event;
+    }
+
+    private static BoardEvent single(Type type, Task task) {
+        BoardEvent event = new BoardEvent(type, task.getProject().getId(), List.of(task.getId()));
+        event.title = task.getTitle();
+        return event;
+    }
+
+    private BoardEvent withStatus(TaskStatus status) {
+        this.status = status;
+        this.statusLabel = status.getDisplayName();
+        return this;
+    }
+
+    private BoardEvent withAssignee(User assignee) {
+        if (assignee != null) {
+            this.assigneeEmail = assignee.getEmail();
+            this.assigneeName = assignee.getNombre() + " " + assignee.getApellidos();
+        }
+        return this;
+    }
+
+    @JsonIgnore // Va en el nombre del evento SSE
+    public Type getType() {
+        return type;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public List<Long> getTaskIds() {
+        return taskIds;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public String getStatusLabel() {
+        return statusLabel;
+    }
+
+    public String getAssigneeEmail() {
+        return assigneeEmail;
+    }
+
+    public String getAssigneeName() {
+        return assigneeName;
+    }
+
+    public String getCommentAuthor() {
+        return commentAuthor;
+    }
+
+    public String getCommentExcerpt() {
+        return commentExcerpt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.formacomtrello.dto;
+
+import com.example.formacomtrello.model.TaskStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datos de los dashboards de gestor y colaborador. Inmutable: se comparte desde DashboardCache
+ * entre peticiones del mismo usuario.
+ * <ul>
+ *     <li>Tareas de proyectos abiertos por estado: todas las de sus proyectos para el gestor,
+ *     las asignadas para el colaborador.</li>
+ *     <li>Cuántas de ellas están vencidas (fecha límite pasada y sin completar).</li>
+ *     <li>Los proyectos con actividad más reciente.</li>
+ * </ul>
+ */
+public class DashboardStats {
+
+    private final Map<TaskStatus, Long> tasksByStatus;
+    private final long overdueTasks;
+    private final List<ProjectActivity> recentProjects;
+
+    public DashboardStats(Map<TaskStatus, Long> tasksByStatus, long overdueTasks, List<ProjectActivity> recentProjects) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, tasksByStatus.getOrDefault(status, 0L));
+        }
+        this.tasksByStatus = Collections.unmodifiableMap(counts);
+        this.overdueTasks = overdueTasks;
+        this.recentProjects = List.copyOf(recentProjects);
+    }
+
+    // Todos los estados, en el orden del enum (0 si no hay tareas en alguno)
+    public Map<TaskStatus, Long> getTasksByStatus() {
+        return tasksByStatus;
+    }
+
+    public long getOpenTasks() {
+        return tasksByStatus.get(TaskStatus.PENDIENTE) + tasksByStatus.get(TaskStatus.EN_PROGRESO);
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public List<ProjectActivity> getRecentProjects() {
+        return recentProjects;
+    }
+}
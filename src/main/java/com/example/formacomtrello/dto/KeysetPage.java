@@ -0,0 +1,48 @@
+package com.example.formacomtrello.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de un listado paginado por clave: los elementos y, si hay más, el cursor de la siguiente.
+ * A diferencia de una página por offset no sabe el total ni el número de página, así que
+ * la vista solo ofrece "siguiente" y "volver al principio".
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    // Token para pedir la página siguiente; null si esta es la última
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Construye la página a partir de una consulta que pidió size + 1 filas:
+     * la fila sobrante solo indica que hay más y no se muestra.
+     * @param rows Filas leídas (como mucho size + 1), ya ordenadas por la clave.
+     * @param size Tamaño de página.
+     * @param cursorOf Obtiene el cursor (createdAt, id) de una fila.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+}
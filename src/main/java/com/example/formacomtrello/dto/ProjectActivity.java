@@ -0,0 +1,19 @@
+package com.example.formacomtrello.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyecto con la fecha de su última actividad (tarjeta "proyectos recientes" de los dashboards).
+ * Proyección de solo lectura, sin entidades: se puede guardar en DashboardCache.
+ */
+public interface ProjectActivity {
+
+    Long getId();
+
+    String getTitle();
+
+    boolean isClosed();
+
+    // Creación de la tarea más reciente, o del proyecto si no tiene tareas
+    LocalDateTime getLastActivity();
+}
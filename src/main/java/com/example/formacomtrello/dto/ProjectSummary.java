@@ -0,0 +1,46 @@
+package com.example.formacomtrello.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de las listas de proyectos (manager/project-list y collaborator/project-list).
+ * Proyección de solo lectura: contiene únicamente las columnas que muestran las vistas,
+ * sin entidades gestionadas ni el texto completo de la descripción.
+ */
+public interface ProjectSummary {
+
+    // Longitud máxima del extracto de la descripción que se lee de la base de datos
+    int DESCRIPTION_PREVIEW_LENGTH = 200;
+
+    Long getId();
+
+    String getTitle();
+
+    // Extracto de la descripción (como mucho DESCRIPTION_PREVIEW_LENGTH caracteres)
+    String getDescription();
+
+    LocalDateTime getCreatedAt();
+
+    boolean isClosed();
+
+    String getOwnerNombre();
+
+    String getOwnerApellidos();
+
+    // Contadores de tareas por estado, guardados en la fila del proyecto (ver TaskCounterService)
+    int getPendingTasks();
+
+    int getInProgressTasks();
+
+    int getCompletedTasks();
+
+    default int getTotalTasks() {
+        return getPendingTasks() + getInProgressTasks() + getCompletedTasks();
+    }
+
+    // Porcentaje de tareas completadas, para la barra de progreso (0 si no hay tareas)
+    default int getCompletedPercent() {
+        int total = getTotalTasks();
+        return total == 0 ? 0 : getCompletedTasks() * 100 / total;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.formacomtrello.dto;
+
+import com.example.formacomtrello.model.TaskStatus;
+
+/**
+ * Resultado de la búsqueda de texto completo: una tarea que coincide por su título o descripción,
+ * o por uno de sus comentarios. El fragmento es HTML ya escapado con las coincidencias entre &lt;mark&gt;.
+ */
+public class SearchResult {
+
+    public enum Type {
+        TASK, COMMENT
+    }
+
+    private final Type type;
+    private final Long taskId;
+    private final String taskTitle;
+    private final TaskStatus taskStatus;
+    private final Long projectId;
+    private final String projectTitle;
+    private final String fragment;
+
+    public SearchResult(Type type, TaskSummary task, String fragment) {
+        this.type = type;
+        this.taskId = task.getId();
+        this.taskTitle = task.getTitle();
+        this.taskStatus = task.getStatus();
+        this.projectId = task.getProjectId();
+        this.projectTitle = task.getProjectTitle();
+        this.fragment = fragment;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getTaskTitle() {
+        return taskTitle;
+    }
+
+    public TaskStatus getTaskStatus() {
+        return taskStatus;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+
+    public String getFragment() {
+        return fragment;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.formacomtrello.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de una importación de tareas: filas leídas, tareas creadas y errores por fila.
+ * Solo se guardan los primeros errores (maxReportedErrors); el resto solo se cuenta.
+ */
+public class TaskImportReport {
+
+    private final int maxReportedErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private int rows;
+    private int imported;
+    private int errorCount;
+
+    public TaskImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void rowRead() {
+        rows++;
+    }
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void error(long line, String message) {
+        errorCount++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    // Hay más errores de los que se muestran
+    public boolean isTruncated() {
+        return errorCount > errors.size();
+    }
+
+    public static class RowError {
+
+        private final long line;
+        private final String message;
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        // Línea del archivo (1 = primera línea, la cabecera en CSV)
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.formacomtrello.dto;
+
+import com.example.formacomtrello.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de las listas de tareas (tabla de project-detail y collaborator/task-list).
+ * Proyección de solo lectura: no incluye la descripción ni los comentarios de la tarea.
+ */
+public interface TaskSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    TaskStatus getStatus();
+
+    LocalDate getDueDate();
+
+    // Clave de la paginación junto con el id
+    LocalDateTime getCreatedAt();
+
+    Long getProjectId();
+
+    String getProjectTitle();
+
+    // Datos del colaborador asignado; null si la tarea no tiene asignado
+    String getAssigneeEmail();
+
+    String getAssigneeNombre();
+
+    String getAssigneeApellidos();
+}
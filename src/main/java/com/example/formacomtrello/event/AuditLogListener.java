@@ -0,0 +1,31 @@
+package com.example.formacomtrello.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro de auditoría: una línea por cambio con el proyecto, el usuario y los ids afectados.
+ * Usa su propio logger para poder enviarlo a otro fichero (logging.level / appenders de
+ * com.example.formacomtrello.event.AuditLogListener).
+ */
+@Component
+public class AuditLogListener implements DomainEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogListener.class);
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event instanceof TaskCreated e) {
+            log.info("Proyecto {}: usuario {} crea las tareas {}", e.projectId(), e.actorId(), e.taskIds());
+        } else if (event instanceof TaskStatusChanged e) {
+            log.info("Proyecto {}: usuario {} pasa a {} las tareas {}", e.projectId(), e.actorId(), e.status(), e.taskIds());
+        } else if (event instanceof CommentAdded e) {
+            log.info("Proyecto {}: usuario {} comenta en la tarea {} (comentario {})", e.projectId(), e.actorId(), e.taskId(), e.commentId());
+        } else if (event instanceof CollaboratorAdded e) {
+            log.info("Proyecto {}: usuario {} añade al colaborador {}", e.projectId(), e.actorId(), e.userId());
+        } else if (event instanceof ProjectClosed e) {
+            log.info("Proyecto {}: usuario {} cierra el proyecto", e.projectId(), e.actorId());
+        }
+    }
+}
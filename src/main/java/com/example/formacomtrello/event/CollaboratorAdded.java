@@ -0,0 +1,7 @@
+package com.example.formacomtrello.event;
+
+/**
+ * Usuario añadido (o invitado) como colaborador de un proyecto por su gestor.
+ */
+public record CollaboratorAdded(Long projectId, Long userId, Long actorId) implements DomainEvent {
+}
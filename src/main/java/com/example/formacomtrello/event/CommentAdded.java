@@ -0,0 +1,7 @@
+package com.example.formacomtrello.event;
+
+/**
+ * Comentario nuevo en una tarea; el autor es actorId.
+ */
+public record CommentAdded(Long projectId, Long taskId, Long commentId, Long actorId) implements DomainEvent {
+}
@@ -0,0 +1,19 @@
+package com.example.formacomtrello.event;
+
+/**
+ * Cambio confirmado en un proyecto o en sus tareas. Los eventos se publican con DomainEventBus
+ * tras el commit y llevan solo ids y valores: los listeners los reciben en otro hilo, fuera de
+ * la transacción y de la sesión de Hibernate que los produjo.
+ */
+public sealed interface DomainEvent permits TaskCreated, TaskStatusChanged, CommentAdded, CollaboratorAdded, ProjectClosed {
+
+    /**
+     * Proyecto afectado. Los eventos de un mismo proyecto se entregan en el orden en que se publican.
+     */
+    Long projectId();
+
+    /**
+     * Usuario que hizo el cambio.
+     */
+    Long actorId();
+}
@@ -0,0 +1,14 @@
+package com.example.formacomtrello.event;
+
+/**
+ * Efecto secundario de los cambios (auditoría, notificaciones...) que no debe alargar la petición
+ * que los produce. Los beans que implementan esta interfaz reciben todos los eventos publicados, en
+ * el orden de @Order, desde un hilo de DomainEventBus. Los eventos de un mismo proyecto llegan en
+ * orden y de uno en uno; un listener lento retrasa los eventos de los proyectos de su carril, así
+ * que el trabajo pesado o bloqueante debería delegarse.
+ * Una excepción se registra y se cuenta en las estadísticas del listener; no se reintenta.
+ */
+public interface DomainEventListener {
+
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,7 @@
+package com.example.formacomtrello.event;
+
+/**
+ * Proyecto cerrado por su gestor: ya no admite cambios en tareas ni colaboradores.
+ */
+public record ProjectClosed(Long projectId, Long actorId) implements DomainEvent {
+}
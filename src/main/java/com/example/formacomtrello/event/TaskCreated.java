@@ -0,0 +1,13 @@
+package com.example.formacomtrello.event;
+
+import java.util.List;
+
+/**
+ * Tareas nuevas en un proyecto: una, o varias en las altas masivas y en cada lote de una importación.
+ */
+public record TaskCreated(Long projectId, List<Long> taskIds, Long actorId) implements DomainEvent {
+
+    public TaskCreated {
+        taskIds = List.copyOf(taskIds);
+    }
+}
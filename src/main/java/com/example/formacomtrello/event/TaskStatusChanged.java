@@ -0,0 +1,15 @@
+package com.example.formacomtrello.event;
+
+import com.example.formacomtrello.model.TaskStatus;
+
+import java.util.List;
+
+/**
+ * Tareas que han pasado a un estado (una, o varias en los cambios de estado masivos).
+ */
+public record TaskStatusChanged(Long projectId, List<Long> taskIds, TaskStatus status, Long actorId) implements DomainEvent {
+
+    public TaskStatusChanged {
+        taskIds = List.copyOf(taskIds);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.formacomtrello.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción para indicar que no se ha podido calcular un hash de contraseña porque el pool
+ * de hashing está saturado (cola llena o tiempo de espera agotado).
+ * La anotación @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) hace que Spring MVC
+ * devuelva un 503 si no se maneja: el cliente puede reintentar más tarde.
+ *
+ * En el login se lanza dentro de DaoAuthenticationProvider, fuera de Spring MVC: al ser una
+ * InternalAuthenticationServiceException, ProviderManager no prueba otros proveedores (no se
+ * repite el hash) y el formulario de login la entrega a LoginFailureHandler, que responde 503.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends InternalAuthenticationServiceException {
+
+    /**
+     * Constructor que acepta un mensaje descriptivo del error.
+     *
+     * @param message El mensaje detallando por qué se rechazó la operación.
+     */
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
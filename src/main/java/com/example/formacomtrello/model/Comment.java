@@ -14,11 +14,13 @@ import java.time.LocalDateTime;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comments_id")
+    @TableGenerator(name = "comments_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "comments", allocationSize = 50) // Ids en bloques: permite lotes JDBC
     private Long id;
 
     @Lob
-    @Column(nullable = false)
+    @Column(nullable = false, length = 65535)
     private String content;
 
     @Column(nullable = false)
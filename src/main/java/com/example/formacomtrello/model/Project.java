@@ -16,13 +16,16 @@ import java.util.Set;
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "projects_id")
+    @TableGenerator(name = "projects_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "projects", allocationSize = 50) // Ids en bloques: permite lotes JDBC
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
     @Lob // Para textos largos
+    @Column(length = 65535) // 'text' en MySQL; sin longitud Hibernate usa 'tinytext' (255)
     private String description;
 
     @Column(nullable = false)
@@ -30,6 +33,17 @@ public class Project {
 
     private boolean closed = false; // Para marcar si el proyecto está cerrado
 
+    // Contadores de tareas por estado (ver TaskCounterService). Solo lectura para Hibernate: se
+    // modifican con UPDATE atómicos, y guardar el proyecto no debe pisarlos con un valor antiguo
+    @Column(name = "pending_tasks", insertable = false, updatable = false)
+    private int pendingTasks;
+
+    @Column(name = "in_progress_tasks", insertable = false, updatable = false)
+    private int inProgressTasks;
+
+    @Column(name = "completed_tasks", insertable = false, updatable = false)
+    private int completedTasks;
+
     // Relación: Gestor propietario del proyecto
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
@@ -91,6 +105,18 @@ public class Project {
         this.closed = closed;
     }
 
+    public int getPendingTasks() {
+        return pendingTasks;
+    }
+
+    public int getInProgressTasks() {
+        return inProgressTasks;
+    }
+
+    public int getCompletedTasks() {
+        return completedTasks;
+    }
+
     public User getOwner() {
         return owner;
     }
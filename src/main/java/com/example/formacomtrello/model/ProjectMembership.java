@@ -0,0 +1,12 @@
+package com.example.formacomtrello.model;
+
+// Papel de un usuario dentro de un proyecto concreto
+public enum ProjectMembership {
+    OWNER,
+    COLLABORATOR,
+    NONE;
+
+    public boolean hasAccess() {
+        return this != NONE;
+    }
+}
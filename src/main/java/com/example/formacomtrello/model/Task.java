@@ -17,13 +17,16 @@ import java.util.List;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tasks_id")
+    @TableGenerator(name = "tasks_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = 50) // Ids en bloques: permite lotes JDBC
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
     @Lob
+    @Column(length = 65535) // 'text' en MySQL (ver V2__text_columns.sql)
     private String description;
 
     @Column(nullable = false)
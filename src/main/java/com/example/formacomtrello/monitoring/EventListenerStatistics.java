@@ -0,0 +1,75 @@
+package com.example.formacomtrello.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entregas de eventos de dominio a un listener desde el arranque: cuántas, cuántas fallaron, cuánto
+ * tardó el listener y cuánto esperó cada evento en cola desde que se publicó.
+ */
+public class EventListenerStatistics {
+
+    private final String listener;
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong handlingNanos = new AtomicLong();
+    private final AtomicLong maxHandlingNanos = new AtomicLong();
+    private final AtomicLong lagNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    public EventListenerStatistics(String listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @param lag      Desde la publicación hasta que el listener empezó con el evento.
+     * @param handling Lo que tardó el listener.
+     * @param success  false si el listener lanzó una excepción.
+     */
+    public void record(long lag, long handling, boolean success) {
+        delivered.incrementAndGet();
+        if (!success) {
+            failed.incrementAndGet();
+        }
+        handlingNanos.addAndGet(handling);
+        maxHandlingNanos.accumulateAndGet(handling, Math::max);
+        lagNanos.addAndGet(lag);
+        maxLagNanos.accumulateAndGet(lag, Math::max);
+    }
+
+    public String getListener() {
+        return listener;
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public double getAverageHandlingMillis() {
+        long count = delivered.get();
+        return count == 0 ? 0 : handlingNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxHandlingMillis() {
+        return maxHandlingNanos.get() / 1_000_000.0;
+    }
+
+    public double getAverageLagMillis() {
+        long count = delivered.get();
+        return count == 0 ? 0 : lagNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxLagMillis() {
+        return maxLagNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d eventos, %d fallidos, %.2f ms de media (máx. %.1f ms), espera en cola %.1f ms de media (máx. %.1f ms)",
+                listener, getDelivered(), getFailed(), getAverageHandlingMillis(), getMaxHandlingMillis(),
+                getAverageLagMillis(), getMaxLagMillis());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.formacomtrello.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de sentencias SQL que puede ejecutar una petición atendida por el método
+ * (incluido el pintado de la vista). Si se supera, SqlBudgetInterceptor lo registra con las
+ * sentencias ejecutadas. Sin anotación se aplica app.sql.budget.default.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
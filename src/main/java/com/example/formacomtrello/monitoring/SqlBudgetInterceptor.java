@@ -0,0 +1,68 @@
+package com.example.formacomtrello.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Mide las sentencias SQL de cada petición atendida por un controlador (también las del pintado
+ * de la vista) y deja el resultado en el atributo de petición {@link #STATISTICS_ATTRIBUTE}.
+ * Las peticiones que superan su presupuesto (@QueryBudget o app.sql.budget.default) se
+ * registran como WARN con las sentencias ejecutadas.
+ * En las respuestas asíncronas (p. ej. StreamingResponseBody) solo se mide la parte síncrona.
+ */
+@Component
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATISTICS_ATTRIBUTE = SqlStatistics.class.getName();
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetInterceptor.class);
+
+    @Value("${app.sql.budget.default:20}")
+    private int defaultBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            QueryBudget budget = method.getMethodAnnotation(QueryBudget.class);
+            String name = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+            request.setAttribute(STATISTICS_ATTRIBUTE, SqlStatementTracker.start(name, budget != null ? budget.value() : defaultBudget));
+        }
+        return true;
+    }
+
+    // La petición sigue en otro hilo: el contador no debe quedarse en el hilo de Tomcat, que se reutiliza
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            SqlStatementTracker.stop();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod)) {
+            return;
+        }
+        SqlStatistics statistics = SqlStatementTracker.stop();
+        if (statistics == null) {
+            return;
+        }
+        if (statistics.isOverBudget()) {
+            StringBuilder statements = new StringBuilder();
+            for (Map.Entry<String, Integer> entry : statistics.getStatementCounts().entrySet()) {
+                statements.append("\n  ").append(entry.getValue()).append(" x ").append(entry.getKey());
+            }
+            log.warn("{} {} supera el presupuesto de SQL. {}{}", request.getMethod(), request.getRequestURI(), statistics, statements);
+        } else {
+            log.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), statistics);
+        }
+    }
+}
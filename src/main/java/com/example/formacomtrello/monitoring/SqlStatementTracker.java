@@ -0,0 +1,156 @@
+package com.example.formacomtrello.monitoring;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Cuenta las sentencias JDBC del hilo actual mientras hay una petición en seguimiento.
+ * El DataSource se envuelve con proxies de Connection, Statement y ResultSet; fuera de
+ * una petición (arranque, tareas programadas) los proxies solo delegan.
+ */
+public final class SqlStatementTracker {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    public static SqlStatistics start(String handler, int budget) {
+        SqlStatistics statistics = new SqlStatistics(handler, budget);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static SqlStatistics stop() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static DataSource wrap(DataSource dataSource, Class<?>[] interfaces) {
+        return (DataSource) Proxy.newProxyInstance(SqlStatementTracker.class.getClassLoader(), interfaces,
+                new Delegating(dataSource) {
+                    @Override
+                    Object afterInvoke(Method method, Object[] args, Object result) {
+                        return result instanceof Connection connection ? connection(connection) : result;
+                    }
+                });
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, new Delegating(connection) {
+            @Override
+            Object afterInvoke(Method method, Object[] args, Object result) {
+                if (result instanceof CallableStatement call) {
+                    return statement(CallableStatement.class, call, (String) args[0]);
+                }
+                if (result instanceof PreparedStatement prepared) {
+                    return statement(PreparedStatement.class, prepared, (String) args[0]);
+                }
+                if (result instanceof Statement statement) {
+                    return statement(Statement.class, statement, null);
+                }
+                return result;
+            }
+        });
+    }
+
+    private static <S extends Statement> S statement(Class<S> type, S statement, String preparedSql) {
+        return proxy(type, new Delegating(statement) {
+            @Override
+            Object invoke(Method method, Object[] args) throws Throwable {
+                SqlStatistics statistics = CURRENT.get();
+                if (statistics == null || !method.getName().startsWith("execute")) {
+                    return super.invoke(method, args);
+                }
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long start = System.nanoTime();
+                try {
+                    return super.invoke(method, args);
+                } finally {
+                    statistics.recordStatement(sql, System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            Object afterInvoke(Method method, Object[] args, Object result) {
+                return result instanceof ResultSet resultSet ? resultSet(resultSet) : result;
+            }
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet resultSet) {
+        return proxy(ResultSet.class, new Delegating(resultSet) {
+            @Override
+            Object invoke(Method method, Object[] args) throws Throwable {
+                SqlStatistics statistics = CURRENT.get();
+                if (statistics == null || !method.getName().equals("next")) {
+                    return super.invoke(method, args);
+                }
+                long start = System.nanoTime();
+                Object hasRow = super.invoke(method, args);
+                statistics.recordTime(System.nanoTime() - start);
+                if (Boolean.TRUE.equals(hasRow)) {
+                    statistics.recordRow();
+                }
+                return hasRow;
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatementTracker.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    // Delega en el objeto real; unwrap/isWrapperFor también, para que el pool y el driver sigan viendo el original
+    private static class Delegating implements InvocationHandler {
+
+        private final Object target;
+
+        Delegating(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return target.toString();
+                    default:
+                        break;
+                }
+            }
+            return afterInvoke(method, args, invoke(method, args));
+        }
+
+        Object invoke(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        Object afterInvoke(Method method, Object[] args, Object result) {
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.formacomtrello.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sentencias JDBC, filas leídas y tiempo en base de datos de una petición HTTP,
+ * etiquetadas con el método del controlador que la atendió (p. ej. "TaskController.viewTaskDetails").
+ */
+public class SqlStatistics {
+
+    // Sentencias distintas que se guardan como máximo; las repetidas solo suman al contador
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private String handler;
+    private int budget;
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> statementCounts = new LinkedHashMap<>();
+
+    SqlStatistics(String handler, int budget) {
+        this.handler = handler;
+        this.budget = budget;
+    }
+
+    void recordStatement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        if (sql != null && (statementCounts.containsKey(sql) || statementCounts.size() < MAX_DISTINCT_STATEMENTS)) {
+            statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    void recordTime(long elapsedNanos) {
+        nanos += elapsedNanos;
+    }
+
+    public String getHandler() {
+        return handler;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDatabaseMillis() {
+        return nanos / 1_000_000;
+    }
+
+    public boolean isOverBudget() {
+        return statements > budget;
+    }
+
+    /**
+     * Sentencias ejecutadas, en orden de primera ejecución, con el número de veces de cada una.
+     * Una misma sentencia repetida muchas veces suele indicar un N+1.
+     */
+    public Map<String, Integer> getStatementCounts() {
+        return Collections.unmodifiableMap(statementCounts);
+    }
+
+    @Override
+    public String toString() {
+        return handler + ": " + statements + " sentencias (presupuesto " + budget + "), "
+                + rows + " filas, " + getDatabaseMillis() + " ms en base de datos";
+    }
+}
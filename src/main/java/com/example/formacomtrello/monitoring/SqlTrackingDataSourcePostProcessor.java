@@ -0,0 +1,37 @@
+package com.example.formacomtrello.monitoring;
+
+import com.example.formacomtrello.config.JdbcConcurrencyLimiter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource para que SqlStatementTracker vea todas las sentencias JDBC
+ * (Hibernate, Spring Data y JdbcTemplate). Se desactiva con app.sql.tracking.enabled=false.
+ * Se aplica después de JdbcConcurrencyLimiter: su proxy es el más externo y envuelve al del limitador,
+ * que queda junto al pool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql.tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTrackingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    public static final int ORDER = JdbcConcurrencyLimiter.ORDER + 10;
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            // Se conservan todas las interfaces del pool (p. ej. Closeable para cerrarlo al parar)
+            return SqlStatementTracker.wrap(dataSource, ClassUtils.getAllInterfaces(bean));
+        }
+        return bean;
+    }
+}
@@ -1,13 +1,76 @@
 package com.example.formacomtrello.repository;
 
 import com.example.formacomtrello.model.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 // Repositorio para la entidad Comment
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    // Busca todos los comentarios asociados a un ID de tarea específico,
-    // ordenados por fecha de creación ascendente (gracias a 'OrderByCreatedAtAsc')
-    List<Comment> findByTaskIdOrderByCreatedAtAsc(Long taskId);
-}
\ No newline at end of file
+    // Busca los comentarios de una tarea ordenados por fecha de creación ascendente (primera página).
+    // Paginado por clave sobre (createdAt, id): el Pageable solo limita el número de filas.
+    // El autor se trae en la misma consulta porque task-detail lo muestra en cada comentario
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByTaskIdOrderByCreatedAtAscIdAsc(Long taskId, Pageable limit);
+
+    // Páginas siguientes: comentarios posteriores al último mostrado, sin OFFSET
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Comment c where c.task.id = :taskId " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) " +
+            "order by c.createdAt, c.id")
+    List<Comment> findByTaskIdAfter(@Param("taskId") Long taskId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable limit);
+
+    // Exportación: comentarios de todas las tareas de un proyecto con su autor, agrupados por tarea
+    // (mismo orden de tareas que TaskRepository.streamByProjectId). Consumir dentro de una transacción y cerrar
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select c from Comment c join fetch c.author where c.task.project.id = :projectId order by c.task.id, c.createdAt, c.id")
+    Stream<Comment> streamByProjectId(@Param("projectId") Long projectId);
+
+    // Exportación por bloques (JSON Lines): comentarios de las tareas con id entre 'fromTaskId' y 'toTaskId',
+    // agrupados por tarea como TaskRepository.findExportBatch. Paginado por clave sobre (tarea, createdAt, id),
+    // el orden de idx_comments_task_created: el Pageable solo limita el número de filas
+    String EXPORT_BATCH = "select c from Comment c join fetch c.author where c.task.project.id = :projectId " +
+            "and c.task.id between :fromTaskId and :toTaskId ";
+    String EXPORT_ORDER = "order by c.task.id, c.createdAt, c.id";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(EXPORT_BATCH + EXPORT_ORDER)
+    List<Comment> findExportBatch(@Param("projectId") Long projectId, @Param("fromTaskId") Long fromTaskId,
+                                  @Param("toTaskId") Long toTaskId, Pageable limit);
+
+    // Páginas siguientes del bloque: comentarios posteriores al último escrito
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(EXPORT_BATCH + "and (c.task.id > :taskId or (c.task.id = :taskId " +
+            "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)))) " + EXPORT_ORDER)
+    List<Comment> findExportBatchAfter(@Param("projectId") Long projectId, @Param("fromTaskId") Long fromTaskId,
+                                       @Param("toTaskId") Long toTaskId, @Param("taskId") Long taskId,
+                                       @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable limit);
+
+    // Reconstrucción del índice de búsqueda: columnas indexadas de todos los comentarios, sin entidades.
+    // Filas [id, taskId, projectId, content]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    @Query("select c.id, t.id, t.project.id, c.content from Comment c join c.task t")
+    Stream<Object[]> streamSearchDocuments();
+
+    // Borra los comentarios de varias tareas con un único DELETE (antes de borrarlas en bloque)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.task.id in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
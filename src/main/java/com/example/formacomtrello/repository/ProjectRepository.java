@@ -1,22 +1,101 @@
 package com.example.formacomtrello.repository;
 
+import com.example.formacomtrello.dto.ProjectActivity;
+import com.example.formacomtrello.dto.ProjectSummary;
 import com.example.formacomtrello.model.Project;
-import com.example.formacomtrello.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 // Repositorio para la entidad Project
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
-    // Busca proyectos donde el ID del propietario coincide
-    List<Project> findByOwnerId(Long ownerId);
+    // Detalle del proyecto: propietario y colaboradores en la misma consulta (vista project-detail)
+    @EntityGraph(attributePaths = {"owner", "collaborators"})
+    Optional<Project> findDetailedById(Long id);
 
-    // Busca proyectos donde la colección 'collaborators' contiene al usuario especificado
-    List<Project> findByCollaboratorsContains(User collaborator);
+    // Papel del usuario en el proyecto ('OWNER', 'COLLABORATOR' o 'NONE') en una sola consulta.
+    // Vacío si el proyecto no existe. Ver ProjectMembership.
+    @Query("select case when p.owner.id = :userId then 'OWNER' " +
+            "when exists (select 1 from Project p2 join p2.collaborators c where p2.id = p.id and c.id = :userId) then 'COLLABORATOR' " +
+            "else 'NONE' end from Project p where p.id = :projectId")
+    Optional<String> findMembership(@Param("projectId") Long projectId, @Param("userId") Long userId);
 
-    // Busca proyectos donde el usuario es el propietario O es un colaborador
-    // Spring Data JPA entiende la convención 'Or' en el nombre del método
-    List<Project> findByOwnerIdOrCollaboratorsContains(Long ownerId, User collaborator);
+    // --- Listas de proyectos: proyecciones con las columnas de cada fila, sin hidratar entidades ---
+
+    // La descripción es @Lob: se recorta en la base de datos (el cast es necesario para aplicar substring)
+    String SUMMARY_SELECT = "select p.id as id, p.title as title, " +
+            "substring(cast(p.description as String), 1, " + ProjectSummary.DESCRIPTION_PREVIEW_LENGTH + ") as description, " +
+            "p.createdAt as createdAt, p.closed as closed, o.nombre as ownerNombre, o.apellidos as ownerApellidos, " +
+            "p.pendingTasks as pendingTasks, p.inProgressTasks as inProgressTasks, p.completedTasks as completedTasks " +
+            "from Project p join p.owner o ";
+
+    // Proyectos de un gestor (manager/project-list), paginados: los más recientes primero
+    @Query(value = SUMMARY_SELECT + "where o.id = :ownerId order by p.createdAt desc, p.id desc",
+            countQuery = "select count(p) from Project p where p.owner.id = :ownerId")
+    Page<ProjectSummary> findSummariesByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    // Proyectos donde el usuario es propietario O colaborador, en una sola consulta (collaborator/project-list).
+    // Una fila por proyecto (el EXISTS no multiplica filas como un join a 'collaborators'),
+    // orden estable y filtro opcional por estado: closed = null devuelve abiertos y cerrados
+    @Query(value = SUMMARY_SELECT + "where (o.id = :userId " +
+            "or exists (select 1 from Project p2 join p2.collaborators c where p2.id = p.id and c.id = :userId)) " +
+            "and (:closed is null or p.closed = :closed) " +
+            "order by p.createdAt desc, p.id desc",
+            countQuery = "select count(p) from Project p where (p.owner.id = :userId " +
+                    "or exists (select 1 from Project p2 join p2.collaborators c where p2.id = p.id and c.id = :userId)) " +
+                    "and (:closed is null or p.closed = :closed)")
+    Page<ProjectSummary> findSummariesAccessibleBy(@Param("userId") Long userId,
+                                                   @Param("closed") Boolean closed,
+                                                   Pageable pageable);
+
+    // Ids de los proyectos donde el usuario es propietario o colaborador (filtro de la búsqueda)
+    @Query("select p.id from Project p where p.owner.id = :userId " +
+            "or exists (select 1 from Project p2 join p2.collaborators c where p2.id = p.id and c.id = :userId)")
+    List<Long> findAccessibleProjectIds(@Param("userId") Long userId);
+
+    // --- Dashboards: proyectos del usuario con su última actividad, los más activos primero ---
+    // El Pageable solo limita el número de filas
+
+    String ACTIVITY_SELECT = "select p.id as id, p.title as title, p.closed as closed, " +
+            "coalesce(max(t.createdAt), p.createdAt) as lastActivity from Project p ";
+
+    String ACTIVITY_GROUP = "group by p.id, p.title, p.closed, p.createdAt order by lastActivity desc, p.id desc";
+
+    @Query(ACTIVITY_SELECT + "left join p.tasks t where p.owner.id = :userId " + ACTIVITY_GROUP)
+    List<ProjectActivity> findActivityByOwnerId(@Param("userId") Long userId, Pageable limit);
+
+    @Query(ACTIVITY_SELECT + "join p.collaborators c left join p.tasks t where c.id = :userId " + ACTIVITY_GROUP)
+    List<ProjectActivity> findActivityByCollaboratorId(@Param("userId") Long userId, Pageable limit);
+
+    // --- Contadores de tareas por estado (ver TaskCounterService) ---
+
+    // Suma atómica en la base de datos: dos transacciones concurrentes no se pisan el valor
+    @Modifying
+    @Query("update Project p set p.pendingTasks = p.pendingTasks + :pending, " +
+            "p.inProgressTasks = p.inProgressTasks + :inProgress, " +
+            "p.completedTasks = p.completedTasks + :completed where p.id = :projectId")
+    int adjustTaskCounters(@Param("projectId") Long projectId, @Param("pending") int pending,
+                           @Param("inProgress") int inProgress, @Param("completed") int completed);
+
+    // Contadores guardados de un bloque de proyectos, por id: filas [id, pendientes, en progreso, completadas]
+    @Query("select p.id, p.pendingTasks, p.inProgressTasks, p.completedTasks from Project p where p.id > :afterId order by p.id")
+    List<Object[]> findTaskCountersAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Vuelve a contar las tareas de un proyecto en una sola sentencia
+    @Modifying
+    @Query("update Project p set " +
+            "p.pendingTasks = (select count(t) from Task t where t.project.id = p.id and t.status = com.example.formacomtrello.model.TaskStatus.PENDIENTE), " +
+            "p.inProgressTasks = (select count(t) from Task t where t.project.id = p.id and t.status = com.example.formacomtrello.model.TaskStatus.EN_PROGRESO), " +
+            "p.completedTasks = (select count(t) from Task t where t.project.id = p.id and t.status = com.example.formacomtrello.model.TaskStatus.COMPLETADA) " +
+            "where p.id = :projectId")
+    int recountTasks(@Param("projectId") Long projectId);
 
     // Podrías añadir más métodos específicos si los necesitas, por ejemplo:
     // List<Project> findByOwnerAndClosed(User owner, boolean closed);
@@ -1,22 +1,140 @@
 package com.example.formacomtrello.repository;
 
+import com.example.formacomtrello.dto.TaskSummary;
 import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.model.TaskStatus;
 import com.example.formacomtrello.model.Project; // Import no estrictamente necesario aquí, pero sí en el modelo Task
 import com.example.formacomtrello.model.User; // Import no estrictamente necesario aquí, pero sí en el modelo Task
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // Repositorio para la entidad Task
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    // Busca todas las tareas pertenecientes a un ID de proyecto específico
-    List<Task> findByProjectId(Long projectId);
+    // --- Lecturas para las vistas: cargan en la misma consulta lo que cada plantilla recorre ---
 
-    // Busca todas las tareas asignadas a un ID de usuario específico
-    List<Task> findByAssignedUserId(Long userId);
+    // Tarea con proyecto, propietario y asignado (task-detail y formularios de edición)
+    @EntityGraph(attributePaths = {"project", "project.owner", "assignedUser"})
+    Optional<Task> findDetailedById(Long id);
 
-    // Busca todas las tareas de un proyecto específico asignadas a un usuario específico
-    List<Task> findByProjectIdAndAssignedUserId(Long projectId, Long userId);
+    // --- Listas de tareas: proyecciones sin descripción ni entidades gestionadas ---
+    // Paginadas por clave sobre (createdAt, id): el Pageable solo limita el número de filas
+    // y la página siguiente empieza después de la última fila mostrada, sin OFFSET.
+
+    String SUMMARY_SELECT = "select t.id as id, t.title as title, t.status as status, t.dueDate as dueDate, " +
+            "t.createdAt as createdAt, p.id as projectId, p.title as projectTitle, " +
+            "u.email as assigneeEmail, u.nombre as assigneeNombre, u.apellidos as assigneeApellidos " +
+            "from Task t join t.project p left join t.assignedUser u ";
+
+    String AFTER_CURSOR = "and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id)) ";
+
+    String KEYSET_ORDER = "order by t.createdAt, t.id";
+
+    // Filas de la tabla de tareas de un proyecto (project-detail): primera página
+    @Query(SUMMARY_SELECT + "where p.id = :projectId " + KEYSET_ORDER)
+    List<TaskSummary> findSummariesByProjectId(@Param("projectId") Long projectId, Pageable limit);
+
+    // Filas de la tabla de tareas de un proyecto: páginas siguientes
+    @Query(SUMMARY_SELECT + "where p.id = :projectId " + AFTER_CURSOR + KEYSET_ORDER)
+    List<TaskSummary> findSummariesByProjectIdAfter(@Param("projectId") Long projectId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable limit);
+
+    // Tareas asignadas a un usuario en todos sus proyectos (collaborator/task-list): primera página
+    @Query(SUMMARY_SELECT + "where u.id = :userId " + KEYSET_ORDER)
+    List<TaskSummary> findSummariesByAssignedUserId(@Param("userId") Long userId, Pageable limit);
+
+    // Tareas asignadas a un usuario: páginas siguientes
+    @Query(SUMMARY_SELECT + "where u.id = :userId " + AFTER_CURSOR + KEYSET_ORDER)
+    List<TaskSummary> findSummariesByAssignedUserIdAfter(@Param("userId") Long userId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable limit);
+
+    // Filas de los resultados de búsqueda: las tareas de una página de resultados, en cualquier orden
+    @Query(SUMMARY_SELECT + "where t.id in :ids")
+    List<TaskSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // --- Exportación: lectura por flujo (cursor con fetch size), sin cargar la lista entera ---
+
+    // Filas que el driver trae en cada viaje; también cada cuántas entidades se vacía el contexto de persistencia
+    String STREAM_FETCH_SIZE = "500";
+
+    // Tareas de un proyecto con su asignado, por id; hay que consumir el Stream dentro de una transacción y cerrarlo
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select t from Task t left join fetch t.assignedUser where t.project.id = :projectId order by t.id")
+    Stream<Task> streamByProjectId(@Param("projectId") Long projectId);
+
+    // Exportación por bloques (JSON Lines): las tareas siguientes a 'afterId', por id, con su asignado
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select t from Task t left join fetch t.assignedUser where t.project.id = :projectId and t.id > :afterId order by t.id")
+    List<Task> findExportBatch(@Param("projectId") Long projectId, @Param("afterId") Long afterId, Pageable limit);
+
+    // Reconstrucción del índice de búsqueda: columnas indexadas de todas las tareas, sin entidades.
+    // Filas [id, projectId, title, description]
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select t.id, t.project.id, t.title, t.description from Task t")
+    Stream<Object[]> streamSearchDocuments();
+
+    // --- Dashboards: tareas de proyectos abiertos agrupadas por estado, con las vencidas de cada uno ---
+    // Filas [TaskStatus, Long total, Long vencidas]; vencida = fecha límite anterior a 'today' y sin completar
+
+    String DASHBOARD_COUNTS = "select t.status, count(t), " +
+            "sum(case when t.dueDate < :today and t.status <> com.example.formacomtrello.model.TaskStatus.COMPLETADA then 1 else 0 end) " +
+            "from Task t join t.project p ";
+
+    // Todas las tareas de los proyectos de un gestor
+    @Query(DASHBOARD_COUNTS + "where p.owner.id = :userId and p.closed = false group by t.status")
+    List<Object[]> countOpenProjectTasksByOwner(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    // Las tareas asignadas a un colaborador
+    @Query(DASHBOARD_COUNTS + "where t.assignedUser.id = :userId and p.closed = false group by t.status")
+    List<Object[]> countOpenProjectTasksByAssignee(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    // --- Operaciones masivas: una sentencia para todas las tareas indicadas del proyecto ---
+
+    // Cuántas de las tareas indicadas pertenecen al proyecto (todas o ninguna se modifican)
+    long countByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    // Estado actual de las tareas indicadas, para descontarlas de los contadores: filas [TaskStatus, Long]
+    @Query("select t.status, count(t) from Task t where t.project.id = :projectId and t.id in :ids group by t.status")
+    List<Object[]> countByStatusForIds(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    // Recuento real por proyecto y estado (reconciliación de contadores): filas [Long, TaskStatus, Long]
+    @Query("select t.project.id, t.status, count(t) from Task t where t.project.id in :projectIds group by t.project.id, t.status")
+    List<Object[]> countByStatusForProjects(@Param("projectIds") Collection<Long> projectIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status where t.project.id = :projectId and t.id in :ids")
+    int updateStatusByProjectIdAndIdIn(@Param("projectId") Long projectId,
+                                       @Param("ids") Collection<Long> ids,
+                                       @Param("status") TaskStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.assignedUser = :assignee where t.project.id = :projectId and t.id in :ids")
+    int updateAssigneeByProjectIdAndIdIn(@Param("projectId") Long projectId,
+                                         @Param("ids") Collection<Long> ids,
+                                         @Param("assignee") User assignee);
+
+    // Los comentarios de estas tareas deben borrarse antes (CommentRepository.deleteByTaskIdIn)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Task t where t.project.id = :projectId and t.id in :ids")
+    int deleteByProjectIdAndIdIn(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
 
     // Podrías añadir métodos para buscar por estado, fecha de vencimiento, etc.
     // List<Task> findByProjectIdAndStatus(Long projectId, TaskStatus status);
@@ -2,6 +2,11 @@ package com.example.formacomtrello.repository;
 
 import com.example.formacomtrello.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 // Repositorio para la entidad User
@@ -12,4 +17,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Método para comprobar rápidamente si un email ya existe (más eficiente que findByEmail().isPresent())
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Sustituye el hash de la contraseña sin cargar la entidad (rehash tras el login)
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    // Todos los colaboradores de un proyecto, sin cargar el proyecto (importación de tareas)
+    @Query("select c from Project p join p.collaborators c where p.id = :projectId")
+    List<User> findCollaboratorsByProjectId(@Param("projectId") Long projectId);
+
+    // Colaboradores del proyecto cuyo email está en la lista (asignación de tareas en bloque)
+    @Query("select c from Project p join p.collaborators c where p.id = :projectId and c.email in :emails")
+    List<User> findCollaboratorsByProjectIdAndEmailIn(@Param("projectId") Long projectId,
+                                                      @Param("emails") Collection<String> emails);
+}
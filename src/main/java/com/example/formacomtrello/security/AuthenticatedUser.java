@@ -0,0 +1,125 @@
+package com.example.formacomtrello.security;
+
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.model.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Principal de Spring Security con los datos del usuario que se necesitan en casi todas
+ * las peticiones (id, rol, nombre y apellidos). Se construye una vez en el login y viaja
+ * en la sesión dentro del SecurityContext, así que no hace falta volver a consultar 'users'.
+ * Es inmutable: si cambia el perfil hay que sustituir la autenticación (ver {@link #from(User)}).
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final Long id;
+    private final String email;
+    private String password; // Se borra tras la autenticación (eraseCredentials)
+    private final Role role;
+    private final String nombre;
+    private final String apellidos;
+
+    public AuthenticatedUser(Long id, String email, String password, Role role, String nombre, String apellidos) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.nombre = nombre;
+        this.apellidos = apellidos;
+    }
+
+    /**
+     * Crea el principal a partir de la entidad, sin contraseña.
+     * @param user Entidad de usuario.
+     * @return Principal equivalente.
+     */
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), null, user.getRole(),
+                user.getNombre(), user.getApellidos());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public String getApellidos() {
+        return apellidos;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    // Igualdad por email, como org.springframework.security.core.userdetails.User (necesario para el registro de sesiones)
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AuthenticatedUser)) return false;
+        return Objects.equals(email, ((AuthenticatedUser) o).email);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(email);
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", email=" + email + ", role=" + role + "]";
+    }
+}
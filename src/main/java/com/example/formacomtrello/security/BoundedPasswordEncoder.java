@@ -0,0 +1,169 @@
+package com.example.formacomtrello.security;
+
+import com.example.formacomtrello.exception.PasswordHashingRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Codificador de contraseñas que hace el hash en un pool propio de tamaño fijo con cola acotada,
+ * para que una ráfaga de logins no ocupe todos los núcleos y deje sin CPU al pintado de páginas.
+ * El hilo de la petición espera el resultado; si la cola está llena o la espera supera el
+ * tiempo máximo, se lanza PasswordHashingRejectedException.
+ *
+ * Los hashes se guardan con prefijo de algoritmo ({bcrypt}, {pbkdf2}); los antiguos sin prefijo
+ * se leen como BCrypt. upgradeEncoding() indica si un hash usa otro algoritmo o un coste menor
+ * que el configurado, y DaoAuthenticationProvider lo vuelve a generar tras un login correcto.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final DelegatingPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+
+    /**
+     * @param algorithm     Algoritmo de los hashes nuevos: "bcrypt" o "pbkdf2".
+     * @param bcryptCost    Coste (log2 de rondas) de BCrypt, entre 4 y 31.
+     * @param threads       Hashes simultáneos como máximo.
+     * @param queueCapacity Operaciones que pueden esperar turno; las demás se rechazan.
+     * @param timeout       Espera máxima de la petición (cola + hash).
+     */
+    public BoundedPasswordEncoder(String algorithm, int bcryptCost, int threads, int queueCapacity, Duration timeout) {
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", new BCryptPasswordEncoder(bcryptCost),
+                "pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Algoritmo de contraseñas no soportado: " + algorithm);
+        }
+        this.delegate = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes guardados antes de usar prefijos: todos eran BCrypt
+        this.delegate.setDefaultPasswordEncoderForMatches(encoders.get("bcrypt"));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit("encode", () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Sin hash: solo compara el prefijo y el coste del hash guardado
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T submit(String operation, Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hashing.call();
+                } finally {
+                    record(started - submitted, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.incrementAndGet();
+            throw new PasswordHashingRejectedException("Demasiadas operaciones de contraseña en curso (" + executor.getQueue().size() + " en cola)");
+        }
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.incrementAndGet();
+            throw new PasswordHashingRejectedException("La operación " + operation + " de contraseña superó el tiempo máximo de espera");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Interrumpido esperando la operación " + operation + " de contraseña");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void record(long waited, long hashed) {
+        operations.incrementAndGet();
+        waitNanos.addAndGet(waited);
+        hashNanos.addAndGet(hashed);
+        maxHashNanos.accumulateAndGet(hashed, Math::max);
+        log.debug("Hash de contraseña: {} ms en cola, {} ms de cálculo", waited / 1_000_000, hashed / 1_000_000);
+    }
+
+    public long getOperations() {
+        return operations.get();
+    }
+
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = operations.get();
+        return count == 0 ? 0 : waitNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getAverageHashMillis() {
+        long count = operations.get();
+        return count == 0 ? 0 : hashNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxHashMillis() {
+        return maxHashNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d operaciones, %d rechazadas, %d en cola, espera media %.1f ms, hash medio %.1f ms (máx. %.1f ms)",
+                getOperations(), getRejections(), getQueued(), getAverageWaitMillis(), getAverageHashMillis(), getMaxHashMillis());
+    }
+}
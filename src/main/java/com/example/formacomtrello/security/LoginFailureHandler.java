@@ -0,0 +1,38 @@
+package com.example.formacomtrello.security;
+
+import com.example.formacomtrello.exception.PasswordHashingRejectedException;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Fallo del formulario de login. Si el pool de hashing está saturado no son credenciales
+ * incorrectas: se responde 503 con Retry-After para que el cliente vuelva a intentarlo.
+ * El resto de fallos redirigen a la página de login con el error, como hasta ahora.
+ */
+public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
+
+    private final long retryAfterSeconds;
+
+    public LoginFailureHandler(String failureUrl, Duration retryAfter) {
+        super(failureUrl);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        if (exception instanceof PasswordHashingRejectedException) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Servicio saturado, inténtalo de nuevo en unos segundos");
+            return;
+        }
+        super.onAuthenticationFailure(request, response, exception);
+    }
+}
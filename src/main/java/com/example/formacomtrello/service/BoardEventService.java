@@ -0,0 +1,37 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.BoardEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface BoardEventService {
+
+    /**
+     * Abre una conexión SSE con los cambios del proyecto. No ocupa un hilo mientras espera eventos:
+     * los escribe un pool pequeño compartido por todas las conexiones. Si el cliente no consume los
+     * eventos al ritmo que se producen (se llena su cola o una escritura no termina en el plazo) se le
+     * desconecta (EventSource vuelve a conectar).
+     * @param projectId ID del proyecto.
+     * @param userEmail Email del usuario (propietario o colaborador del proyecto).
+     * @return Emisor que el controlador devuelve como respuesta.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     * @throws UnauthorizedAccessException si el usuario no tiene acceso al proyecto.
+     */
+    SseEmitter subscribe(Long projectId, String userEmail);
+
+    /**
+     * Envía el evento a las conexiones abiertas del proyecto cuando se confirma la transacción
+     * actual (si no la hay, en el momento). El evento se serializa una sola vez para todas ellas.
+     * @param event Cambio de una o varias tareas del proyecto.
+     */
+    void publish(BoardEvent event);
+
+    /**
+     * Conexiones abiertas de un proyecto.
+     */
+    int getSubscriberCount(Long projectId);
+
+    /**
+     * Conexiones cerradas desde el arranque por no consumir los eventos a tiempo.
+     */
+    long getSlowDisconnects();
+}
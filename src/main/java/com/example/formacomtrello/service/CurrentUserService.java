@@ -0,0 +1,55 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.security.AuthenticatedUser;
+
+import java.util.Optional;
+
+/**
+ * Resuelve el usuario autenticado una sola vez por petición HTTP y lo comparte
+ * entre controladores, servicios e interceptores.
+ */
+public interface CurrentUserService {
+
+    /**
+     * Obtiene el usuario autenticado de la petición actual.
+     * La primera llamada consulta la base de datos; las siguientes reutilizan el resultado.
+     * @return Optional con el usuario, vacío si no hay usuario autenticado o no existe.
+     */
+    Optional<User> getCurrentUser();
+
+    /**
+     * Busca un usuario por email. Si el email es el del usuario autenticado se usa
+     * el usuario ya cargado en la petición; en otro caso se consulta el repositorio.
+     * @param email Email del usuario.
+     * @return Optional con el usuario si existe.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Obtiene el principal de la sesión (id, rol, nombre) sin consultar la base de datos.
+     * @return Optional con el principal, vacío si no hay usuario autenticado.
+     */
+    Optional<AuthenticatedUser> getPrincipal();
+
+    /**
+     * Obtiene id, rol y nombre de un usuario por email. Si es el usuario autenticado se
+     * devuelve el principal de la sesión sin tocar la base de datos.
+     * @param email Email del usuario.
+     * @return Optional con los datos del usuario si existe.
+     */
+    Optional<AuthenticatedUser> findPrincipal(String email);
+
+    /**
+     * Sustituye el principal de la sesión tras modificar los datos del usuario autenticado
+     * (por ejemplo al editar el perfil), para que no quede desactualizado.
+     * @param user Usuario ya guardado.
+     */
+    void refreshPrincipal(User user);
+
+    /**
+     * Número de búsquedas de usuario que la petición actual se ha ahorrado gracias a la caché.
+     * @return Consultas ahorradas, 0 si no hay petición en curso.
+     */
+    int getSavedLookups();
+}
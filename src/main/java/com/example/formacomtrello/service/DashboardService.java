@@ -0,0 +1,35 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.DashboardStats;
+
+public interface DashboardService {
+
+    /**
+     * Datos del dashboard del gestor: tareas de sus proyectos abiertos por estado, vencidas y
+     * proyectos más activos. Dos consultas agregadas, cacheadas por usuario durante unos segundos.
+     * @param managerEmail Email del gestor.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    DashboardStats getManagerDashboard(String managerEmail);
+
+    /**
+     * Datos del dashboard del colaborador: sus tareas asignadas en proyectos abiertos por estado,
+     * vencidas y los proyectos en los que colabora con actividad más reciente.
+     * @param collaboratorEmail Email del colaborador.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    DashboardStats getCollaboratorDashboard(String collaboratorEmail);
+
+    /**
+     * Descarta los dashboards cacheados que incluyen el proyecto. Se llama al crear, modificar o
+     * borrar tareas y al cerrar el proyecto; se repite al terminar la transacción en curso.
+     * @param projectId ID del proyecto.
+     */
+    void invalidateProject(Long projectId);
+
+    /**
+     * Descarta el dashboard cacheado de un usuario (p. ej. al crear un proyecto o al añadirlo como colaborador).
+     * @param userId ID del usuario.
+     */
+    void invalidateUser(Long userId);
+}
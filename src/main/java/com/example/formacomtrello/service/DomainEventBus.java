@@ -0,0 +1,33 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.event.DomainEvent;
+import com.example.formacomtrello.monitoring.EventListenerStatistics;
+
+import java.util.List;
+
+public interface DomainEventBus {
+
+    /**
+     * Entrega el evento a los DomainEventListener cuando se confirma la transacción actual (si no la
+     * hay, en el momento), en un hilo del bus. Los eventos de un mismo proyecto van al mismo carril
+     * y se entregan en orden. Si la cola del carril está llena, quien publica espera hasta
+     * app.events.publish-timeout; pasado ese tiempo el evento se descarta y se cuenta como rechazado.
+     * @param event Cambio confirmado (o a confirmar con la transacción actual).
+     */
+    void publish(DomainEvent event);
+
+    /**
+     * Estadísticas de cada listener desde el arranque, en el orden en que reciben los eventos.
+     */
+    List<EventListenerStatistics> getListenerStatistics();
+
+    /**
+     * Eventos en cola, a la espera de su entrega a los listeners.
+     */
+    int getPendingEvents();
+
+    /**
+     * Eventos descartados desde el arranque por tener la cola de su carril llena.
+     */
+    long getRejectedEvents();
+}
@@ -0,0 +1,31 @@
+package com.example.formacomtrello.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+/**
+ * Procesa las fotos de perfil subidas: las decodifica una vez, genera miniaturas cuadradas
+ * de tamaño fijo y las guarda con el hash de su contenido, de modo que una misma imagen
+ * subida varias veces (o por varios usuarios) solo se guarda una vez.
+ */
+public interface ProfileImageService {
+
+    /**
+     * Guarda una foto subida y sus miniaturas.
+     * @param file Imagen subida (JPEG, PNG, GIF o BMP).
+     * @return URL de la miniatura más grande, que se guarda como fotoUrl del usuario.
+     * @throws IOException Si el archivo no es una imagen válida o no se puede escribir en disco.
+     */
+    String store(MultipartFile file) throws IOException;
+
+    /**
+     * URL de la miniatura de un tamaño concreto. Las URLs que no son miniaturas generadas
+     * aquí (URLs externas, fotos subidas con la versión anterior) se devuelven tal cual.
+     * Uso en plantillas: ${@profileImageServiceImpl.url(user.fotoUrl, 64)}
+     * @param fotoUrl URL guardada en el usuario, puede ser null.
+     * @param size    Lado en píxeles; se usa la miniatura más pequeña que lo cubre.
+     * @return URL de la miniatura, o fotoUrl si no es una miniatura generada.
+     */
+    String url(String fotoUrl, int size);
+}
@@ -0,0 +1,54 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.model.Project;
+import com.example.formacomtrello.model.ProjectMembership;
+
+public interface ProjectAccessService {
+
+    /**
+     * Obtiene el papel del usuario en el proyecto. El resultado se cachea por (proyecto, usuario).
+     * @param projectId ID del proyecto.
+     * @param userId ID del usuario.
+     * @return OWNER, COLLABORATOR o NONE (también si el proyecto no existe).
+     */
+    ProjectMembership getMembership(Long projectId, Long userId);
+
+    /**
+     * Verifica si un usuario es propietario o colaborador de un proyecto con una única consulta,
+     * sin cargar el proyecto ni sus colaboradores.
+     * @param projectId ID del proyecto.
+     * @param userId ID del usuario.
+     * @return true si tiene acceso, false si no o si el proyecto no existe.
+     */
+    boolean hasAccess(Long projectId, Long userId);
+
+    /**
+     * Verifica si un usuario tiene acceso a un proyecto ya cargado. El propietario se comprueba
+     * en memoria y la pertenencia como colaborador con la caché o una consulta EXISTS.
+     * @param project Proyecto ya cargado.
+     * @param userId ID del usuario.
+     * @return true si es propietario o colaborador.
+     */
+    boolean hasAccess(Project project, Long userId);
+
+    /**
+     * Verifica si un usuario es colaborador de un proyecto.
+     * @param projectId ID del proyecto.
+     * @param userId ID del usuario.
+     * @return true si es colaborador del proyecto.
+     */
+    boolean isCollaborator(Long projectId, Long userId);
+
+    /**
+     * Invalida la pertenencia cacheada de un usuario en un proyecto (p. ej. al invitarlo).
+     * @param projectId ID del proyecto.
+     * @param userId ID del usuario.
+     */
+    void invalidate(Long projectId, Long userId);
+
+    /**
+     * Invalida todas las entradas cacheadas de un proyecto (p. ej. al cerrarlo).
+     * @param projectId ID del proyecto.
+     */
+    void invalidateProject(Long projectId);
+}
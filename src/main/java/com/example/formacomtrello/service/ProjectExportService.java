@@ -0,0 +1,69 @@
+package com.example.formacomtrello.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProjectExportService {
+
+    // Formatos de exportación, con su extensión y tipo de contenido
+    enum Format {
+        CSV("csv", "text/csv;charset=UTF-8"),
+        JSON_LINES("jsonl", "application/x-ndjson;charset=UTF-8"),
+        ZIP("zip", "application/zip");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * Formato a partir de su extensión (csv, jsonl o zip).
+         * @throws IllegalArgumentException si la extensión no es ninguna de ellas.
+         */
+        public static Format fromExtension(String extension) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(extension)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Formato de exportación desconocido: " + extension);
+        }
+    }
+
+    /**
+     * Verifica que el usuario puede exportar el proyecto (GESTOR propietario o COLABORADOR).
+     * Se llama antes de empezar a escribir la respuesta, para poder devolver 403/404.
+     * @param projectId ID del proyecto.
+     * @param userEmail Email del usuario.
+     * @throws ResourceNotFoundException si el proyecto o el usuario no existen.
+     * @throws UnauthorizedAccessException si el usuario no tiene acceso al proyecto.
+     */
+    void verifyExportAccess(Long projectId, String userEmail);
+
+    /**
+     * Escribe las tareas del proyecto y sus comentarios leyendo la base de datos por flujo, sin
+     * cargarlos en listas: la memoria usada no depende del tamaño del proyecto.
+     * <ul>
+     *     <li>CSV: una fila por tarea con las columnas de la importación (title, description, dueDate,
+     *     assignedUserEmail) más id, estado, fecha de creación y nombre del asignado. Sin comentarios.</li>
+     *     <li>JSON Lines: un objeto por tarea ("type": "task") seguido de sus comentarios ("type": "comment").</li>
+     *     <li>ZIP: tasks.csv y comments.csv.</li>
+     * </ul>
+     * @param projectId ID del proyecto (el acceso se verifica antes con verifyExportAccess).
+     * @param format Formato de salida.
+     * @param out Flujo de salida; se vacía pero no se cierra.
+     * @throws IOException si falla la escritura (p. ej. el cliente cancela la descarga).
+     */
+    void writeExport(Long projectId, Format format, OutputStream out) throws IOException;
+}
@@ -3,6 +3,8 @@ package com.example.formacomtrello.service;
 import com.example.formacomtrello.model.Project;
 import com.example.formacomtrello.model.User; // Asumiendo que quieres devolver/trabajar con entidades a veces
 import com.example.formacomtrello.dto.ProjectDto; // Asumiendo DTO para creación/edición
+import com.example.formacomtrello.dto.ProjectSummary;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,6 +28,15 @@ public interface ProjectService {
      */
     Optional<Project> findProjectById(Long projectId, String userEmail);
 
+    /**
+     * Igual que {@link #findProjectById(Long, String)} pero carga en la misma consulta el propietario
+     * y los colaboradores, para la vista de detalle.
+     * @param projectId ID del proyecto.
+     * @param userEmail Email del usuario que solicita (GESTOR o COLABORADOR).
+     * @return Optional con el proyecto si se encuentra y el usuario tiene acceso, Optional vacío en caso contrario.
+     */
+    Optional<Project> findProjectDetailsById(Long projectId, String userEmail);
+
     /**
      * Actualiza un proyecto existente. Solo el propietario puede editar.
      * @param projectId ID del proyecto a actualizar.
@@ -61,25 +72,22 @@ public interface ProjectService {
 
 
     /**
-     * Obtiene todos los proyectos propiedad de un GESTOR.
+     * Obtiene una página de los proyectos propiedad de un GESTOR, los más recientes primero.
      * @param ownerEmail Email del GESTOR.
-     * @return Lista de proyectos.
-     */
-    List<Project> findProjectsByOwner(String ownerEmail);
-
-    /**
-     * Obtiene todos los proyectos en los que un usuario es COLABORADOR.
-     * @param collaboratorEmail Email del COLABORADOR.
-     * @return Lista de proyectos.
+     * @param page Número de página (desde 0).
+     * @return Página de filas de proyecto (solo las columnas que muestra la lista).
      */
-    List<Project> findProjectsByCollaborator(String collaboratorEmail);
+    Page<ProjectSummary> findProjectsByOwner(String ownerEmail, int page);
 
     /**
-     * Obtiene todos los proyectos asociados a un usuario (propietario o colaborador).
+     * Obtiene una página de los proyectos asociados a un usuario (propietario o colaborador),
+     * los más recientes primero, con una sola consulta. Es la lista de proyectos del COLABORADOR.
      * @param userEmail Email del usuario.
-     * @return Lista de proyectos.
+     * @param closed true solo cerrados, false solo abiertos, null todos.
+     * @param page Número de página (desde 0).
+     * @return Página de filas de proyecto, sin duplicados.
      */
-    List<Project> findUserAccessibleProjects(String userEmail);
+    Page<ProjectSummary> findUserAccessibleProjects(String userEmail, Boolean closed, int page);
 
     /**
      * Verifica si un usuario tiene acceso a un proyecto (es propietario o colaborador).
@@ -0,0 +1,51 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.SearchResult;
+import com.example.formacomtrello.model.Comment;
+import com.example.formacomtrello.model.Task;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.util.Collection;
+
+public interface SearchService {
+
+    /**
+     * Busca en títulos y descripciones de tareas y en comentarios de los proyectos a los que el
+     * usuario tiene acceso. Resultados ordenados por relevancia (el título pesa más) y paginados.
+     * @param query Texto buscado; admite "frases", -exclusión, prefijo* y | (o).
+     * @param userEmail Email del usuario.
+     * @param page Número de página (desde 0); como mucho app.search.max-results resultados en total.
+     * @return Página de resultados; vacía si el texto está en blanco.
+     * @throws ResourceNotFoundException si el usuario no existe.
+     */
+    Page<SearchResult> search(String query, String userEmail, int page);
+
+    /**
+     * Indexa (o reindexa) tareas nuevas o modificadas. Los datos se copian ya, pero el índice se
+     * actualiza al confirmarse la transacción en curso: si se deshace, el índice no cambia.
+     * @param tasks Tareas con id asignado.
+     */
+    void indexTasks(Collection<Task> tasks);
+
+    /**
+     * Indexa un comentario nuevo, al confirmarse la transacción en curso.
+     * @param comment Comentario con id asignado.
+     */
+    void indexComment(Comment comment);
+
+    /**
+     * Quita del índice las tareas y sus comentarios, al confirmarse la transacción en curso.
+     * @param taskIds IDs de las tareas borradas.
+     */
+    void removeTasks(Collection<Long> taskIds);
+
+    /**
+     * Vacía el índice y lo vuelve a construir leyendo por flujo todas las tareas y comentarios.
+     * Mientras dura, las búsquedas siguen viendo el índice anterior. Se lanza al arrancar con
+     * app.search.rebuild-on-startup=true o si el índice está vacío y hay tareas.
+     * @return Número de documentos indexados.
+     * @throws IOException si falla la escritura del índice.
+     */
+    int rebuild() throws IOException;
+}
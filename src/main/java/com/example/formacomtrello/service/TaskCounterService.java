@@ -0,0 +1,40 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.model.TaskStatus;
+
+import java.util.Map;
+
+public interface TaskCounterService {
+
+    /**
+     * Suma (o resta, con count negativo) tareas a un estado en los contadores del proyecto.
+     * Debe llamarse dentro de la transacción que crea o borra las tareas.
+     * @param projectId ID del proyecto.
+     * @param status Estado de las tareas.
+     * @param count Número de tareas.
+     */
+    void add(Long projectId, TaskStatus status, int count);
+
+    /**
+     * Mueve una tarea de un estado a otro en los contadores del proyecto (no hace nada si son iguales).
+     * @param projectId ID del proyecto.
+     * @param from Estado anterior.
+     * @param to Estado nuevo.
+     */
+    void move(Long projectId, TaskStatus from, TaskStatus to);
+
+    /**
+     * Aplica varios cambios a la vez, con un único UPDATE.
+     * @param projectId ID del proyecto.
+     * @param deltas Tareas a sumar (o restar) por estado; los estados ausentes no cambian.
+     */
+    void apply(Long projectId, Map<TaskStatus, Integer> deltas);
+
+    /**
+     * Compara los contadores de todos los proyectos con un recuento real de 'tasks' y corrige los
+     * que se hayan desviado (filas insertadas fuera de la aplicación, carreras entre transacciones...).
+     * Recorre los proyectos por bloques, cada uno en su propia transacción.
+     * @return Número de proyectos corregidos.
+     */
+    int reconcile();
+}
@@ -0,0 +1,41 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.TaskImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface TaskImportService {
+
+    // Formatos admitidos: CSV con cabecera o JSON Lines (un objeto por línea)
+    enum Format {
+        CSV, JSON_LINES;
+
+        /**
+         * Deduce el formato por la extensión del archivo (.jsonl/.ndjson: JSON Lines; el resto, CSV).
+         */
+        public static Format fromFileName(String fileName) {
+            String name = fileName == null ? "" : fileName.toLowerCase();
+            return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON_LINES : CSV;
+        }
+    }
+
+    /**
+     * Importa tareas a un proyecto leyendo el archivo por flujo, sin cargarlo entero en memoria.
+     * Columnas/campos: title, description (opcional), dueDate (yyyy-MM-dd) y assignedUserEmail,
+     * que debe ser un colaborador del proyecto. Cada fila se valida con las reglas de TaskDto; las
+     * filas válidas se insertan en lotes, cada lote en su propia transacción, y las inválidas se
+     * anotan en el informe sin detener la importación.
+     * @param projectId ID del proyecto.
+     * @param format Formato del archivo.
+     * @param input Contenido del archivo (UTF-8); no se cierra.
+     * @param managerEmail Email del GESTOR del proyecto.
+     * @return Informe con las filas leídas, las tareas creadas y los errores por fila.
+     * @throws ResourceNotFoundException si el proyecto no existe.
+     * @throws UnauthorizedAccessException si el usuario no es GESTOR de ese proyecto.
+     * @throws IllegalStateException si el proyecto está cerrado.
+     * @throws IllegalArgumentException si la cabecera CSV no tiene las columnas obligatorias.
+     * @throws IOException si falla la lectura del archivo o no es JSON válido.
+     */
+    TaskImportReport importTasks(Long projectId, Format format, InputStream input, String managerEmail) throws IOException;
+}
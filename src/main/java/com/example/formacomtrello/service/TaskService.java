@@ -4,8 +4,12 @@ import com.example.formacomtrello.model.Task;
 import com.example.formacomtrello.model.Comment;
 import com.example.formacomtrello.model.TaskStatus;
 import com.example.formacomtrello.dto.TaskDto;     // Para crear/editar tareas
+import com.example.formacomtrello.dto.TaskSummary;
+import com.example.formacomtrello.dto.KeysetCursor;
+import com.example.formacomtrello.dto.KeysetPage;
 import com.example.formacomtrello.dto.CommentDto; // Para añadir comentarios
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +56,55 @@ public interface TaskService {
      */
     void deleteTask(Long taskId, String managerEmail);
 
+    /**
+     * Crea varias tareas en un proyecto con una sola comprobación de permisos. Los colaboradores asignados
+     * se resuelven con una consulta y las tareas se insertan en lotes JDBC.
+     * @param projectId ID del proyecto.
+     * @param taskDtos Datos de cada tarea.
+     * @param managerEmail Email del GESTOR del proyecto.
+     * @return Las tareas creadas, en el mismo orden.
+     * @throws ResourceNotFoundException si el proyecto no existe.
+     * @throws UnauthorizedAccessException si el usuario no es GESTOR de ese proyecto.
+     * @throws IllegalArgumentException si algún asignado no es colaborador del proyecto o se supera el máximo por operación.
+     */
+    List<Task> createTasks(Long projectId, List<TaskDto> taskDtos, String managerEmail);
+
+    /**
+     * Asigna varias tareas de un proyecto a un mismo colaborador con un único UPDATE.
+     * @param projectId ID del proyecto.
+     * @param taskIds IDs de las tareas; todas deben pertenecer al proyecto.
+     * @param assigneeEmail Email del nuevo colaborador asignado.
+     * @param managerEmail Email del GESTOR del proyecto.
+     * @return Número de tareas actualizadas.
+     * @throws ResourceNotFoundException si el proyecto o alguna tarea no existen.
+     * @throws UnauthorizedAccessException si el usuario no es GESTOR de ese proyecto.
+     * @throws IllegalArgumentException si el asignado no es colaborador del proyecto.
+     */
+    int reassignTasks(Long projectId, Collection<Long> taskIds, String assigneeEmail, String managerEmail);
+
+    /**
+     * Cambia el estado de varias tareas de un proyecto con un único UPDATE. Solo el GESTOR.
+     * @param projectId ID del proyecto.
+     * @param taskIds IDs de las tareas; todas deben pertenecer al proyecto.
+     * @param newStatus Nuevo estado.
+     * @param managerEmail Email del GESTOR del proyecto.
+     * @return Número de tareas actualizadas.
+     * @throws ResourceNotFoundException si el proyecto o alguna tarea no existen.
+     * @throws UnauthorizedAccessException si el usuario no es GESTOR de ese proyecto.
+     */
+    int changeTasksStatus(Long projectId, Collection<Long> taskIds, TaskStatus newStatus, String managerEmail);
+
+    /**
+     * Elimina varias tareas de un proyecto y sus comentarios con dos DELETE.
+     * @param projectId ID del proyecto.
+     * @param taskIds IDs de las tareas; todas deben pertenecer al proyecto.
+     * @param managerEmail Email del GESTOR del proyecto.
+     * @return Número de tareas eliminadas.
+     * @throws ResourceNotFoundException si el proyecto o alguna tarea no existen.
+     * @throws UnauthorizedAccessException si el usuario no es GESTOR de ese proyecto.
+     */
+    int deleteTasks(Long projectId, Collection<Long> taskIds, String managerEmail);
+
     /**
      * Cambia el estado de una tarea. El GESTOR puede cambiar a cualquier estado.
      * El COLABORADOR asignado solo puede marcarla como COMPLETADA.
@@ -97,29 +150,33 @@ public interface TaskService {
     Comment addCommentToTask(Long taskId, CommentDto commentDto, String userEmail);
 
     /**
-     * Obtiene todas las tareas de un proyecto específico. Verifica acceso del usuario.
+     * Obtiene una página de las tareas de un proyecto, ordenadas por fecha de creación. Verifica acceso del usuario.
+     * La paginación es por clave (createdAt, id): cada página empieza después del cursor recibido.
      * @param projectId ID del proyecto.
      * @param userEmail Email del usuario.
-     * @return Lista de tareas del proyecto.
+     * @param after Cursor de la última tarea mostrada, o null para la primera página.
+     * @return Página de filas de tarea del proyecto (sin descripción).
      * @throws UnauthorizedAccessException si el usuario no tiene acceso al proyecto.
      */
-    List<Task> findTasksByProjectId(Long projectId, String userEmail);
+    KeysetPage<TaskSummary> findTasksByProjectId(Long projectId, String userEmail, KeysetCursor after);
 
     /**
-     * Obtiene todas las tareas asignadas a un usuario específico en todos sus proyectos.
+     * Obtiene una página de las tareas asignadas a un usuario en todos sus proyectos, ordenadas por fecha de creación.
      * @param userEmail Email del usuario (COLABORADOR).
-     * @return Lista de tareas asignadas.
+     * @param after Cursor de la última tarea mostrada, o null para la primera página.
+     * @return Página de filas de las tareas asignadas (sin descripción).
      */
-    List<Task> findTasksByAssignedUser(String userEmail);
+    KeysetPage<TaskSummary> findTasksByAssignedUser(String userEmail, KeysetCursor after);
 
     /**
-     * Obtiene los comentarios de una tarea específica. Verifica acceso del usuario.
+     * Obtiene una página de los comentarios de una tarea, ordenados por fecha. Verifica acceso del usuario.
      * @param taskId ID de la tarea.
      * @param userEmail Email del usuario.
-     * @return Lista de comentarios ordenados por fecha.
+     * @param after Cursor del último comentario mostrado, o null para la primera página.
+     * @return Página de comentarios ordenados por fecha.
      * @throws UnauthorizedAccessException si el usuario no tiene acceso al proyecto de la tarea.
      */
-    List<Comment> findCommentsByTaskId(Long taskId, String userEmail);
+    KeysetPage<Comment> findCommentsByTaskId(Long taskId, String userEmail, KeysetCursor after);
 
 
 }
\ No newline at end of file
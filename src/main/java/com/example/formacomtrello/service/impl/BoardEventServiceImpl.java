@@ -0,0 +1,314 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.dto.BoardEvent;
+import com.example.formacomtrello.exception.ResourceNotFoundException;
+import com.example.formacomtrello.exception.UnauthorizedAccessException;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.BoardEventService;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.ProjectAccessService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Difusión de cambios de tareas por proyecto con Server-Sent Events. Cada conexión tiene una cola
+ * acotada; publicar solo encola el evento ya serializado en las colas del proyecto y un pool pequeño
+ * (app.live.dispatch-threads) las vacía escribiendo en las conexiones. Una conexión sin eventos
+ * pendientes no ocupa ningún hilo; una escritura sí ocupa un hilo del pool hasta que termina, y se
+ * bloquea si el cliente no lee y el búfer del socket está lleno.
+ *
+ * Si la cola de una conexión se llena o una escritura supera app.live.write-timeout, el cliente no está
+ * leyendo al ritmo de los eventos: se le desconecta en lugar de acumular memoria o retrasar al resto.
+ * La escritura bloqueada no se puede cancelar (dura hasta que el contenedor la da por perdida), así que
+ * mientras dure el pool tiene un hilo más (hasta app.live.max-stalled-writes) y las demás conexiones
+ * siguen recibiendo eventos.
+ */
+@Service
+public class BoardEventServiceImpl implements BoardEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardEventServiceImpl.class);
+
+    // Eventos que escribe un hilo del pool en una conexión antes de pasar a la siguiente
+    private static final int DRAIN_BURST = 16;
+
+    private static final MediaType TEXT_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private ProjectAccessService projectAccessService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.live.queue-capacity:64}")
+    private int queueCapacity; // Eventos pendientes por conexión antes de desconectarla
+
+    @Value("${app.live.dispatch-threads:2}")
+    private int dispatchThreads;
+
+    @Value("${app.live.write-timeout:PT10S}")
+    private Duration writeTimeout; // Plazo de cada escritura en una conexión
+
+    @Value("${app.live.max-stalled-writes:32}")
+    private int maxStalledWrites; // Hilos que el pool añade como máximo por escrituras fuera de plazo
+
+    @Value("${app.live.timeout:PT30M}")
+    private Duration timeout; // Duración máxima de una conexión; el navegador vuelve a conectar
+
+    @Value("${app.live.reconnect-delay:PT5S}")
+    private Duration reconnectDelay; // 'retry:' que se envía al cliente
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> writing = ConcurrentHashMap.newKeySet(); // Con una escritura en curso
+    private final AtomicLong slowDisconnects = new AtomicLong();
+    private ThreadPoolExecutor dispatcher;
+    private int stalledWrites; // Escrituras en curso que han superado el plazo; protegido por 'this'
+
+    @PostConstruct
+    void start() {
+        // El tamaño base es dispatch-threads; setCorePoolSize lo amplía mientras haya escrituras fuera de plazo
+        dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads + maxStalledWrites, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("board-events-"));
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long projectId, String userEmail) {
+        AuthenticatedUser user = currentUserService.findPrincipal(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + userEmail));
+        if (!projectAccessService.hasAccess(projectId, user.getId())) {
+            throw new UnauthorizedAccessException("Usuario " + userEmail + " no tiene acceso al proyecto " + projectId);
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        // Primer envío: confirma la conexión al cliente y fija el intervalo de reconexión. Se hace aquí y no
+        // desde el pool: Spring lo escribe al devolver el emisor, en el hilo de la petición, y la respuesta
+        // queda confirmada antes de que los filtros (cabeceras de Spring Security) terminen con ella
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("conectado"));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo abrir la conexión SSE", e);
+        }
+        Subscriber subscriber = new Subscriber(projectId, emitter);
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(e -> subscriber.remove());
+        // compute y no computeIfAbsent().add(): remove() puede quitar el conjunto vacío del mapa a la vez
+        subscribers.compute(projectId, (id, set) -> {
+            Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+        return emitter;
+    }
+
+    @Override
+    public void publish(BoardEvent event) {
+        Set<DataWithMediaType> payload;
+        try {
+            payload = frame(SseEmitter.event()
+                    .name(event.getType().eventName())
+                    .data(objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento " + event.getType(), e);
+        }
+        Runnable fanOut = () -> {
+            Set<Subscriber> targets = subscribers.get(event.getProjectId());
+            if (targets != null) {
+                targets.forEach(subscriber -> subscriber.offer(payload));
+            }
+        };
+        // Solo cambios confirmados: un rollback no debe llegar a las pantallas
+        TransactionCallbacks.afterCommit(fanOut);
+    }
+
+    @Override
+    public int getSubscriberCount(Long projectId) {
+        Set<Subscriber> set = subscribers.get(projectId);
+        return set == null ? 0 : set.size();
+    }
+
+    @Override
+    public long getSlowDisconnects() {
+        return slowDisconnects.get();
+    }
+
+    // Mantiene vivas las conexiones a través de proxies y detecta las que el cliente cerró sin avisar
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval:PT20S}")
+    void heartbeat() {
+        Set<DataWithMediaType> ping = frame(SseEmitter.event().comment("ping"));
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(ping)));
+    }
+
+    // Las escrituras que llevan más de write-timeout: se desconecta al cliente y el pool suma un hilo
+    // mientras la escritura siga bloqueada
+    @Scheduled(fixedDelayString = "${app.live.write-check-interval:PT1S}")
+    void checkWriteDeadlines() {
+        long now = System.nanoTime();
+        writing.forEach(subscriber -> subscriber.checkWriteDeadline(now));
+    }
+
+    private synchronized void stalledWritesChanged(int delta) {
+        stalledWrites += delta;
+        dispatcher.setCorePoolSize(dispatchThreads + Math.min(stalledWrites, maxStalledWrites));
+    }
+
+    // Une las partes del evento ("event:", datos, fin de evento) en un solo texto: cada parte se escribe
+    // con su propio flush, así es una escritura por conexión en lugar de tres
+    private static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder event) {
+        StringBuilder text = new StringBuilder();
+        event.build().forEach(part -> text.append(part.getData()));
+        return Set.of(new DataWithMediaType(text.toString(), TEXT_UTF8));
+    }
+
+    private class Subscriber {
+
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean(); // Hay una tarea de envío en el pool
+        private final AtomicBoolean disconnecting = new AtomicBoolean(); // Falta completar la respuesta
+        private volatile boolean closed;
+        private long writeStartedNanos; // Protegidos por 'this'
+        private boolean stalled; // La escritura en curso superó el plazo y el pool tiene un hilo más por ella
+
+        Subscriber(Long projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        // Lo llama quien publica: nunca escribe en la conexión ni espera por ella
+        void offer(Set<DataWithMediaType> payload) {
+            if (closed) {
+                return;
+            }
+            if (size.incrementAndGet() > queueCapacity) {
+                slowDisconnects.incrementAndGet();
+                log.debug("Conexión SSE del proyecto {} desconectada: {} eventos sin enviar", projectId, queueCapacity);
+                disconnect();
+                return;
+            }
+            queue.add(payload);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false); // Apagando la aplicación
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> payload;
+                for (int i = 0; i < DRAIN_BURST && !closed && (payload = queue.poll()) != null; i++) {
+                    size.decrementAndGet();
+                    send(payload);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado o emisor ya completado
+                remove();
+            } finally {
+                scheduled.set(false);
+                if (closed) {
+                    if (disconnecting.compareAndSet(true, false)) {
+                        emitter.complete();
+                    }
+                } else if (!queue.isEmpty()) {
+                    schedule(); // Al final de la cola del pool: las demás conexiones no esperan a esta
+                }
+            }
+        }
+
+        private void send(Set<DataWithMediaType> payload) throws IOException {
+            synchronized (this) {
+                writeStartedNanos = System.nanoTime();
+            }
+            writing.add(this);
+            try {
+                emitter.send(payload);
+            } finally {
+                writing.remove(this);
+                synchronized (this) {
+                    if (stalled) {
+                        stalled = false;
+                        stalledWritesChanged(-1);
+                    }
+                }
+            }
+        }
+
+        void checkWriteDeadline(long now) {
+            synchronized (this) {
+                if (stalled || !writing.contains(this) || now - writeStartedNanos < writeTimeout.toNanos()) {
+                    return;
+                }
+                stalled = true;
+                stalledWritesChanged(1);
+            }
+            if (!closed) { // Si la cola ya se había llenado, la desconexión ya está contada
+                slowDisconnects.incrementAndGet();
+                log.debug("Conexión SSE del proyecto {} desconectada: una escritura lleva más de {}", projectId, writeTimeout);
+                disconnect();
+            }
+        }
+
+        // La respuesta la completa la tarea de envío de esta conexión (la que está en curso o una nueva):
+        // si un envío está bloqueado porque el cliente no lee, solo ese hilo del pool espera por él
+        private void disconnect() {
+            disconnecting.set(true);
+            remove();
+            schedule();
+        }
+
+        void remove() {
+            closed = true;
+            queue.clear();
+            subscribers.computeIfPresent(projectId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.formacomtrello.service.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escritor de CSV (RFC 4180), el inverso de {@link CsvRecordReader}: los campos con coma, comillas
+ * o saltos de línea van entre comillas dobles y los null se escriben vacíos.
+ *
+ * Inyección de fórmulas: una hoja de cálculo evalúa como fórmula el campo que empieza por =, +, -, @,
+ * tabulador o retorno de carro. Esos campos se escriben con un apóstrofo delante y entre comillas,
+ * así que el texto se muestra tal cual. Al reimportar el archivo el apóstrofo forma parte del valor.
+ */
+class CsvRecordWriter {
+
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final Writer writer;
+
+    CsvRecordWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void writeRecord(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+        if (formula) {
+            value = "'" + value;
+        }
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
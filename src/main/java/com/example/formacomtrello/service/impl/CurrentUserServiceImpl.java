@@ -0,0 +1,131 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+/**
+ * Implementación con ámbito de petición: el estado se guarda como atributo de la
+ * petición HTTP actual, de modo que se descarta automáticamente al terminar.
+ * Fuera de una petición (tareas programadas, tests) delega siempre en el repositorio.
+ */
+@Service
+public class CurrentUserServiceImpl implements CurrentUserService {
+
+    private static final String STATE_ATTRIBUTE = CurrentUserServiceImpl.class.getName() + ".STATE";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
+
+    // Estado de la petición: usuario cargado y contador de consultas ahorradas
+    private static class RequestState {
+        private boolean loaded;
+        private User user;
+        private int savedLookups;
+    }
+
+    @Override
+    public Optional<User> getCurrentUser() {
+        String email = authenticatedEmail();
+        if (email == null) {
+            return Optional.empty();
+        }
+        return findByEmail(email);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        RequestState state = currentState();
+        if (state == null || email == null || !email.equals(authenticatedEmail())) {
+            return userRepository.findByEmail(email);
+        }
+        if (state.loaded) {
+            state.savedLookups++;
+        } else {
+            state.user = userRepository.findByEmail(email).orElse(null);
+            state.loaded = true;
+        }
+        return Optional.ofNullable(state.user);
+    }
+
+    @Override
+    public Optional<AuthenticatedUser> getPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return Optional.of(principal);
+        }
+        // Autenticación sin nuestro principal (p. ej. tests con usuarios simulados)
+        return getCurrentUser().map(AuthenticatedUser::from);
+    }
+
+    @Override
+    public Optional<AuthenticatedUser> findPrincipal(String email) {
+        if (email != null && email.equals(authenticatedEmail())) {
+            return getPrincipal();
+        }
+        return userRepository.findByEmail(email).map(AuthenticatedUser::from);
+    }
+
+    @Override
+    public void refreshPrincipal(User user) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !user.getEmail().equals(authenticatedEmail())) {
+            return;
+        }
+        AuthenticatedUser principal = AuthenticatedUser.from(user);
+        UsernamePasswordAuthenticationToken refreshed =
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        refreshed.setDetails(auth.getDetails());
+        SecurityContext context = SecurityContextHolder.getContext();
+        context.setAuthentication(refreshed);
+
+        // En Spring Security 6 el contexto no se guarda solo: lo persistimos en la sesión
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            securityContextRepository.saveContext(context, attributes.getRequest(), attributes.getResponse());
+        }
+    }
+
+    @Override
+    public int getSavedLookups() {
+        RequestState state = currentState();
+        return state != null ? state.savedLookups : 0;
+    }
+
+    private RequestState currentState() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        RequestState state = (RequestState) attributes.getAttribute(STATE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (state == null) {
+            state = new RequestState();
+            attributes.setAttribute(STATE_ATTRIBUTE, state, RequestAttributes.SCOPE_REQUEST);
+        }
+        return state;
+    }
+
+    private String authenticatedEmail() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() ||
+                (auth.getPrincipal() instanceof String && auth.getPrincipal().equals("anonymousUser"))) {
+            return null;
+        }
+        return auth.getName();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.cache.DashboardCache;
+import com.example.formacomtrello.dto.DashboardStats;
+import com.example.formacomtrello.dto.ProjectActivity;
+import com.example.formacomtrello.exception.ResourceNotFoundException;
+import com.example.formacomtrello.model.TaskStatus;
+import com.example.formacomtrello.repository.ProjectRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class DashboardServiceImpl implements DashboardService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService; // Usuario autenticado cacheado por petición
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Value("${app.dashboard.recent-projects:5}")
+    private int recentProjects; // Proyectos que muestra la tarjeta de actividad reciente
+
+    @Value("${app.dashboard.max-tracked-projects:500}")
+    private int maxTrackedProjects; // Proyectos leídos para invalidar el dashboard de un usuario
+
+    @Override
+    public DashboardStats getManagerDashboard(String managerEmail) {
+        return getDashboard(managerEmail, taskRepository::countOpenProjectTasksByOwner, projectRepository::findActivityByOwnerId);
+    }
+
+    @Override
+    public DashboardStats getCollaboratorDashboard(String collaboratorEmail) {
+        return getDashboard(collaboratorEmail, taskRepository::countOpenProjectTasksByAssignee,
+                projectRepository::findActivityByCollaboratorId);
+    }
+
+    @Override
+    public void invalidateProject(Long projectId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> dashboardCache.invalidateProject(projectId));
+    }
+
+    @Override
+    public void invalidateUser(Long userId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> dashboardCache.invalidateUser(userId));
+    }
+
+    private DashboardStats getDashboard(String email,
+                                        BiFunction<Long, LocalDate, List<Object[]>> countTasks,
+                                        BiFunction<Long, Pageable, List<ProjectActivity>> findActivity) {
+        AuthenticatedUser user = currentUserService.findPrincipal(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + email));
+        DashboardStats stats = dashboardCache.get(user.getId());
+        if (stats != null) {
+            return stats;
+        }
+
+        Map<TaskStatus, Long> tasksByStatus = new EnumMap<>(TaskStatus.class);
+        long overdue = 0;
+        for (Object[] row : countTasks.apply(user.getId(), LocalDate.now())) {
+            tasksByStatus.put((TaskStatus) row[0], (Long) row[1]);
+            overdue += ((Number) row[2]).longValue();
+        }
+        // Proyectos del usuario (ya ordenados): los primeros se muestran y los ids sirven para invalidar.
+        // Si llega al límite puede haber más, y la entrada se invalida con cualquier proyecto (null)
+        List<ProjectActivity> activity = findActivity.apply(user.getId(), PageRequest.ofSize(maxTrackedProjects));
+        Set<Long> projectIds = activity.size() < maxTrackedProjects
+                ? activity.stream().map(ProjectActivity::getId).collect(Collectors.toSet())
+                : null;
+
+        stats = new DashboardStats(tasksByStatus, overdue, activity.subList(0, Math.min(recentProjects, activity.size())));
+        dashboardCache.put(user.getId(), stats, projectIds);
+        return stats;
+    }
+}
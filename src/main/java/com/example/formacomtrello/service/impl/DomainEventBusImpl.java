@@ -0,0 +1,190 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.event.DomainEvent;
+import com.example.formacomtrello.event.DomainEventListener;
+import com.example.formacomtrello.monitoring.EventListenerStatistics;
+import com.example.formacomtrello.service.DomainEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bus de eventos de dominio. Los eventos se reparten por proyecto entre unos pocos carriles
+ * (app.events.lanes), cada uno con una cola acotada y un solo hilo que entrega cada evento a todos
+ * los listeners: los eventos de un proyecto siempre van al mismo carril y llegan en orden. Cuando
+ * los listeners no dan abasto la cola se llena y quien publica espera (tras el commit, sin retener
+ * la transacción) en lugar de acumular eventos sin límite. Al parar, los eventos que no se llegan a
+ * entregar se cuentan como descartados, también los que se encolan mientras tanto.
+ */
+@Service
+public class DomainEventBusImpl implements DomainEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventBusImpl.class);
+
+    // Marca de fin para los hilos de los carriles
+    private static final Delivery STOP = new Delivery(null, 0);
+
+    @Autowired
+    private List<DomainEventListener> listeners; // En el orden de @Order
+
+    @Value("${app.events.lanes:4}")
+    private int laneCount;
+
+    @Value("${app.events.queue-capacity:1000}")
+    private int queueCapacity; // Eventos pendientes por carril
+
+    @Value("${app.events.publish-timeout:PT5S}")
+    private Duration publishTimeout; // Espera máxima de quien publica con la cola llena
+
+    @Value("${app.events.shutdown-timeout:PT10S}")
+    private Duration shutdownTimeout; // Tiempo para entregar los eventos pendientes al parar
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<Lane> lanes = new ArrayList<>();
+    private List<EventListenerStatistics> statistics;
+    private volatile boolean stopping;
+
+    private record Delivery(DomainEvent event, long publishedNanos) {
+    }
+
+    @PostConstruct
+    void start() {
+        statistics = listeners.stream()
+                .map(listener -> new EventListenerStatistics(ClassUtils.getUserClass(listener).getSimpleName()))
+                .toList();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("domain-events-");
+        threadFactory.setDaemon(true); // Un listener colgado no impide que termine la JVM
+        for (int i = 0; i < laneCount; i++) {
+            Lane lane = new Lane(threadFactory);
+            lanes.add(lane);
+            lane.thread.start();
+        }
+    }
+
+    // Entrega lo que queda en las colas; lo que no dé tiempo a entregar se descarta (Lane.close)
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopping = true;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Lane lane : lanes) {
+            lane.queue.offer(STOP, Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        }
+        for (Lane lane : lanes) {
+            lane.thread.join(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1));
+            if (lane.thread.isAlive()) {
+                log.warn("{}: tiempo de parada agotado con un evento en entrega, se interrumpe", lane.thread.getName());
+                lane.thread.interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        // Solo cambios confirmados; los listeners no alargan la transacción
+        TransactionCallbacks.afterCommit(() -> enqueue(event));
+    }
+
+    @Override
+    public List<EventListenerStatistics> getListenerStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public int getPendingEvents() {
+        return lanes.stream().mapToInt(lane -> lane.queue.size()).sum();
+    }
+
+    @Override
+    public long getRejectedEvents() {
+        return rejected.get();
+    }
+
+    private void enqueue(DomainEvent event) {
+        Lane lane = lanes.get(Math.floorMod(event.projectId().hashCode(), lanes.size()));
+        Delivery delivery = new Delivery(event, System.nanoTime());
+        boolean queued;
+        try {
+            // Un listener que publica no espera por su propio carril: nadie más lo vaciaría
+            queued = !stopping && (Thread.currentThread() == lane.thread
+                    ? lane.queue.offer(delivery)
+                    : lane.queue.offer(delivery, publishTimeout.toNanos(), TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        // Se paró mientras esperaba sitio en la cola: si el carril ya no lo va a entregar, se saca y se descarta.
+        // Sacarlo aquí o en Lane.close() es excluyente, así que se cuenta una sola vez
+        if (queued && lane.closed && lane.queue.remove(delivery)) {
+            queued = false;
+        }
+        if (!queued) {
+            rejected.incrementAndGet();
+            log.warn("Evento descartado, {} eventos en la cola de su carril: {}", lane.queue.size(), event);
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        for (int i = 0; i < listeners.size(); i++) {
+            long started = System.nanoTime();
+            boolean success = true;
+            try {
+                listeners.get(i).onEvent(delivery.event());
+            } catch (RuntimeException e) {
+                success = false;
+                log.warn("El listener {} falló con el evento {}", statistics.get(i).getListener(), delivery.event(), e);
+            }
+            statistics.get(i).record(started - delivery.publishedNanos(), System.nanoTime() - started, success);
+        }
+    }
+
+    private class Lane implements Runnable {
+
+        private final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+        private volatile boolean closed; // El hilo ya no entrega más eventos
+
+        Lane(CustomizableThreadFactory threadFactory) {
+            this.thread = threadFactory.newThread(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Delivery delivery;
+                while ((delivery = queue.take()) != STOP) {
+                    deliver(delivery);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // Fin del tiempo de parada
+            } finally {
+                close();
+            }
+        }
+
+        // Lo que queda en la cola (p. ej. detrás de STOP) ya no se entrega
+        private void close() {
+            closed = true;
+            List<Delivery> undelivered = new ArrayList<>();
+            queue.drainTo(undelivered);
+            undelivered.remove(STOP);
+            if (!undelivered.isEmpty()) {
+                rejected.addAndGet(undelivered.size());
+                log.warn("{}: {} eventos sin entregar al parar", thread.getName(), undelivered.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.service.ProfileImageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Las miniaturas se guardan en app.upload.dir como {sha256 del original}-{lado}.jpg y se sirven
+ * desde /uploads/profiles/ (ver WebConfig). El original no se guarda: las páginas solo usan miniaturas.
+ */
+@Service
+public class ProfileImageServiceImpl implements ProfileImageService {
+
+    static final String URL_PREFIX = "/uploads/profiles/";
+    private static final String FORMAT = "jpg";
+
+    private static final Pattern VARIANT = Pattern.compile(Pattern.quote(URL_PREFIX) + "([0-9a-f]{64})-(\\d+)\\." + FORMAT);
+
+    @Value("${app.upload.dir:${user.home}/uploads/profiles}")
+    private String uploadDir;
+
+    // Lados de las miniaturas en píxeles, de menor a mayor
+    @Value("${app.upload.profile-image.sizes:32,64,256}")
+    private List<Integer> sizes;
+
+    // El límite de multipart es mayor por las importaciones de tareas; las fotos tienen el suyo
+    @Value("${app.upload.profile-image.max-size:5MB}")
+    private DataSize maxSize = DataSize.ofMegabytes(5);
+
+    // Un PNG de pocos KB puede declarar 50000x50000 píxeles: se comprueba la cabecera antes de decodificar
+    @Value("${app.upload.profile-image.max-pixels:40000000}")
+    private long maxPixels = 40_000_000L;
+
+    @Override
+    public String store(MultipartFile file) throws IOException {
+        if (file.getSize() > maxSize.toBytes()) {
+            throw new IOException("La imagen supera el tamaño máximo de " + maxSize.toMegabytes() + " MB");
+        }
+        byte[] content = file.getBytes();
+        String hash = sha256(content);
+        int largest = sizes.get(sizes.size() - 1);
+
+        Path directory = Paths.get(uploadDir);
+        Files.createDirectories(directory);
+        // Misma imagen ya subida: las miniaturas existen, no hace falta decodificarla
+        if (sizes.stream().allMatch(size -> Files.exists(directory.resolve(fileName(hash, size))))) {
+            return URL_PREFIX + fileName(hash, largest);
+        }
+
+        BufferedImage original = decode(content);
+        BufferedImage square = cropToSquare(original);
+        for (int size : sizes) {
+            write(resize(square, size), directory, fileName(hash, size));
+        }
+        return URL_PREFIX + fileName(hash, largest);
+    }
+
+    // Lee solo la cabecera para conocer las dimensiones y decodifica si no superan max-pixels
+    private BufferedImage decode(byte[] content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = input == null ? Collections.emptyIterator() : ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("El archivo no es una imagen válida (JPEG, PNG, GIF o BMP)");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("La imagen es demasiado grande (" + width + "x" + height + " píxeles, máximo "
+                            + maxPixels + " píxeles)");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    @Override
+    public String url(String fotoUrl, int size) {
+        if (fotoUrl == null) {
+            return null;
+        }
+        Matcher matcher = VARIANT.matcher(fotoUrl);
+        if (!matcher.matches()) {
+            return fotoUrl;
+        }
+        int variant = sizes.stream().filter(s -> s >= size).findFirst().orElse(sizes.get(sizes.size() - 1));
+        return URL_PREFIX + fileName(matcher.group(1), variant);
+    }
+
+    private static String fileName(String hash, int size) {
+        return hash + "-" + size + "." + FORMAT;
+    }
+
+    // Recorte centrado: las miniaturas se muestran en círculos y cuadrados
+    private static BufferedImage cropToSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        return image.getSubimage((image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+    }
+
+    private static BufferedImage resize(BufferedImage square, int size) {
+        // JPEG no tiene transparencia: fondo blanco para PNG/GIF con canal alfa
+        BufferedImage resized = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, size, size);
+            graphics.drawImage(square, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    // Escritura en un temporal y movimiento atómico: dos subidas simultáneas de la misma imagen no se pisan
+    private static void write(BufferedImage image, Path directory, String fileName) throws IOException {
+        Path temp = Files.createTempFile(directory, fileName, ".tmp");
+        try {
+            ImageIO.write(image, FORMAT, temp.toFile());
+            Files.move(temp, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.cache.ProjectMembershipCache;
+import com.example.formacomtrello.model.Project;
+import com.example.formacomtrello.model.ProjectMembership;
+import com.example.formacomtrello.repository.ProjectRepository;
+import com.example.formacomtrello.service.ProjectAccessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+public class ProjectAccessServiceImpl implements ProjectAccessService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectMembershipCache membershipCache;
+
+    @Override
+    public ProjectMembership getMembership(Long projectId, Long userId) {
+        if (projectId == null || userId == null) return ProjectMembership.NONE;
+
+        ProjectMembership membership = membershipCache.get(projectId, userId);
+        if (membership == null) {
+            membership = projectRepository.findMembership(projectId, userId)
+                    .map(ProjectMembership::valueOf)
+                    .orElse(ProjectMembership.NONE);
+            membershipCache.put(projectId, userId, membership);
+        }
+        return membership;
+    }
+
+    @Override
+    public boolean hasAccess(Long projectId, Long userId) {
+        return getMembership(projectId, userId).hasAccess();
+    }
+
+    @Override
+    public boolean hasAccess(Project project, Long userId) {
+        if (project == null || userId == null) return false;
+        // getOwner().getId() no inicializa el proxy LAZY del propietario
+        if (project.getOwner().getId().equals(userId)) {
+            return true;
+        }
+        return hasAccess(project.getId(), userId);
+    }
+
+    @Override
+    public boolean isCollaborator(Long projectId, Long userId) {
+        return getMembership(projectId, userId) == ProjectMembership.COLLABORATOR;
+    }
+
+    @Override
+    public void invalidate(Long projectId, Long userId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> membershipCache.invalidate(projectId, userId));
+    }
+
+    @Override
+    public void invalidateProject(Long projectId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> membershipCache.invalidateProject(projectId));
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.exception.ResourceNotFoundException;
+import com.example.formacomtrello.exception.UnauthorizedAccessException;
+import com.example.formacomtrello.model.Comment;
+import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.repository.CommentRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.ProjectAccessService;
+import com.example.formacomtrello.service.ProjectExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Exporta un proyecto sin cargarlo entero en memoria. Los CSV leen tareas y comentarios con consultas
+ * Stream (cursor con fetch size), una detrás de otra, vaciando el contexto de persistencia cada
+ * TaskRepository.STREAM_FETCH_SIZE entidades. JSON Lines intercala cada tarea con sus comentarios:
+ * lee bloques de app.export.batch-size tareas por id y, para cada bloque, los comentarios de ese rango
+ * de ids en páginas del mismo tamaño. Nunca hay dos resultados abiertos a la vez en la conexión, algo
+ * que Connector/J no admite con resultados por streaming. Se ejecuta fuera del hilo de la petición
+ * (StreamingResponseBody), por eso el acceso se comprueba antes en verifyExportAccess.
+ */
+@Service
+public class ProjectExportServiceImpl implements ProjectExportService {
+
+    private static final int CLEAR_INTERVAL = Integer.parseInt(TaskRepository.STREAM_FETCH_SIZE);
+
+    private static final String[] TASK_COLUMNS = {"id", "title", "description", "status", "dueDate", "createdAt",
+            "assignedUserEmail", "assigneeName"};
+    private static final String[] COMMENT_COLUMNS = {"id", "taskId", "createdAt", "authorEmail", "authorName", "content"};
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private ProjectAccessService projectAccessService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Tareas por bloque en JSON Lines (cada bloque: una consulta de tareas y otra de sus comentarios)
+    @Value("${app.export.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void verifyExportAccess(Long projectId, String userEmail) {
+        AuthenticatedUser user = currentUserService.findPrincipal(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + userEmail));
+        if (!projectAccessService.hasAccess(projectId, user.getId())) {
+            throw new UnauthorizedAccessException("Usuario " + userEmail + " no tiene acceso al proyecto " + projectId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeExport(Long projectId, Format format, OutputStream out) throws IOException {
+        switch (format) {
+            case CSV -> {
+                Writer writer = writer(out);
+                writeTasksCsv(projectId, writer);
+                writer.flush();
+            }
+            case JSON_LINES -> writeJsonLines(projectId, out);
+            case ZIP -> writeZip(projectId, out);
+        }
+        out.flush();
+    }
+
+    private void writeTasksCsv(Long projectId, Writer writer) throws IOException {
+        CsvRecordWriter csv = new CsvRecordWriter(writer);
+        csv.writeRecord((Object[]) TASK_COLUMNS);
+        try (Stream<Task> tasks = taskRepository.streamByProjectId(projectId)) {
+            int count = 0;
+            for (Iterator<Task> it = tasks.iterator(); it.hasNext(); ) {
+                Task task = it.next();
+                User assignee = task.getAssignedUser();
+                csv.writeRecord(task.getId(), task.getTitle(), task.getDescription(), task.getStatus().name(), task.getDueDate(),
+                        task.getCreatedAt(), assignee != null ? assignee.getEmail() : null, fullName(assignee));
+                clearPeriodically(++count);
+            }
+        }
+    }
+
+    private void writeCommentsCsv(Long projectId, Writer writer) throws IOException {
+        CsvRecordWriter csv = new CsvRecordWriter(writer);
+        csv.writeRecord((Object[]) COMMENT_COLUMNS);
+        try (Stream<Comment> comments = commentRepository.streamByProjectId(projectId)) {
+            int count = 0;
+            for (Iterator<Comment> it = comments.iterator(); it.hasNext(); ) {
+                Comment comment = it.next();
+                csv.writeRecord(comment.getId(), comment.getTask().getId(), comment.getCreatedAt(),
+                        comment.getAuthor().getEmail(), fullName(comment.getAuthor()), comment.getContent());
+                clearPeriodically(++count);
+            }
+        }
+    }
+
+    // Bloques de tareas por id y los comentarios de cada bloque: cada tarea seguida de sus comentarios
+    private void writeJsonLines(Long projectId, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null); // Cada objeto termina con su propio salto de línea
+        Long afterId = 0L;
+        List<Task> tasks;
+        do {
+            tasks = taskRepository.findExportBatch(projectId, afterId, PageRequest.of(0, batchSize));
+            if (tasks.isEmpty()) {
+                break;
+            }
+            afterId = tasks.get(tasks.size() - 1).getId();
+            CommentPages comments = new CommentPages(projectId, tasks.get(0).getId(), afterId);
+            for (Task task : tasks) {
+                writeTask(json, task);
+                for (Comment comment; (comment = comments.nextOf(task.getId())) != null; ) {
+                    writeComment(json, comment);
+                }
+            }
+            json.flush();
+            entityManager.clear(); // Las entidades del bloque ya están escritas
+        } while (tasks.size() == batchSize);
+        json.flush();
+    }
+
+    // Comentarios de un bloque de tareas en páginas de batchSize: una tarea con miles de comentarios
+    // no los carga todos a la vez. Las tareas del bloque ya están cargadas (con su asignado), así que
+    // el contexto de persistencia se vacía antes de cada página
+    private class CommentPages {
+
+        private final Long projectId;
+        private final Long fromTaskId;
+        private final Long toTaskId;
+        private List<Comment> page;
+        private int index;
+
+        CommentPages(Long projectId, Long fromTaskId, Long toTaskId) {
+            this.projectId = projectId;
+            this.fromTaskId = fromTaskId;
+            this.toTaskId = toTaskId;
+        }
+
+        // El siguiente comentario si es de la tarea; null cuando no quedan más suyos
+        Comment nextOf(Long taskId) {
+            if (page == null) {
+                page = commentRepository.findExportBatch(projectId, fromTaskId, toTaskId, PageRequest.of(0, batchSize));
+            } else if (index == page.size() && page.size() == batchSize) {
+                Comment last = page.get(index - 1);
+                entityManager.clear();
+                page = commentRepository.findExportBatchAfter(projectId, fromTaskId, toTaskId, last.getTask().getId(),
+                        last.getCreatedAt(), last.getId(), PageRequest.of(0, batchSize));
+                index = 0;
+            }
+            if (index < page.size() && page.get(index).getTask().getId().equals(taskId)) {
+                return page.get(index++);
+            }
+            return null;
+        }
+    }
+
+    private void writeZip(Long projectId, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out); // finish() sin close(): el flujo de la respuesta lo cierra el contenedor
+        Writer writer = writer(zip);
+        zip.putNextEntry(new ZipEntry("tasks.csv"));
+        writeTasksCsv(projectId, writer);
+        writer.flush();
+        zip.closeEntry();
+        zip.putNextEntry(new ZipEntry("comments.csv"));
+        writeCommentsCsv(projectId, writer);
+        writer.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private static void writeTask(JsonGenerator json, Task task) throws IOException {
+        User assignee = task.getAssignedUser();
+        json.writeStartObject();
+        json.writeStringField("type", "task");
+        json.writeNumberField("id", task.getId());
+        json.writeStringField("title", task.getTitle());
+        json.writeStringField("description", task.getDescription());
+        json.writeStringField("status", task.getStatus().name());
+        json.writeStringField("dueDate", task.getDueDate() != null ? task.getDueDate().toString() : null);
+        json.writeStringField("createdAt", task.getCreatedAt() != null ? task.getCreatedAt().toString() : null);
+        json.writeStringField("assignedUserEmail", assignee != null ? assignee.getEmail() : null);
+        json.writeStringField("assigneeName", fullName(assignee));
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeComment(JsonGenerator json, Comment comment) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "comment");
+        json.writeNumberField("id", comment.getId());
+        json.writeNumberField("taskId", comment.getTask().getId());
+        json.writeStringField("createdAt", comment.getCreatedAt() != null ? comment.getCreatedAt().toString() : null);
+        json.writeStringField("authorEmail", comment.getAuthor().getEmail());
+        json.writeStringField("authorName", fullName(comment.getAuthor()));
+        json.writeStringField("content", comment.getContent());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    // Las entidades ya escritas no se vuelven a usar: se sueltan del contexto de persistencia
+    private void clearPeriodically(int count) {
+        if (count % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private static String fullName(User user) {
+        return user == null ? null : user.getNombre() + " " + user.getApellidos();
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+}
@@ -1,23 +1,31 @@
 package com.example.formacomtrello.service.impl;
 
+import com.example.formacomtrello.event.CollaboratorAdded;
+import com.example.formacomtrello.event.ProjectClosed;
 import com.example.formacomtrello.model.*;
 import com.example.formacomtrello.repository.ProjectRepository;
 import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.DashboardService;
+import com.example.formacomtrello.service.DomainEventBus;
+import com.example.formacomtrello.service.ProjectAccessService;
 import com.example.formacomtrello.service.ProjectService;
 import com.example.formacomtrello.service.UserService; // Para invitar/crear colaboradores
 import com.example.formacomtrello.dto.ProjectDto;
+import com.example.formacomtrello.dto.ProjectSummary;
 import com.example.formacomtrello.exception.ResourceNotFoundException;
 import com.example.formacomtrello.exception.UnauthorizedAccessException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -27,16 +35,30 @@ public class ProjectServiceImpl implements ProjectService {
     private ProjectRepository projectRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserRepository userRepository; // Referencias a usuarios sin cargarlos
 
     @Autowired
     private UserService userService; // Inyectamos UserService
 
+    @Autowired
+    private CurrentUserService currentUserService; // Usuario autenticado cacheado por petición
+
+    @Autowired
+    private ProjectAccessService projectAccessService; // Pertenencia al proyecto sin cargar colaboradores
+
+    @Autowired
+    private DashboardService dashboardService; // Dashboards cacheados de los usuarios del proyecto
+
+    @Autowired
+    private DomainEventBus domainEventBus; // Efectos secundarios asíncronos de los cambios (auditoría...)
+
+    @Value("${app.pagination.page-size:20}")
+    private int pageSize; // Proyectos por página en las listas
+
     @Override
     @Transactional
     public Project createProject(ProjectDto projectDto, String ownerEmail) {
-        User owner = userRepository.findByEmail(ownerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + ownerEmail));
+        AuthenticatedUser owner = findPrincipalOrThrow(ownerEmail);
 
         if (owner.getRole() != Role.GESTOR) {
             throw new UnauthorizedAccessException("Solo los GESTORES pueden crear proyectos.");
@@ -45,26 +67,34 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = new Project();
         project.setTitle(projectDto.getTitle());
         project.setDescription(projectDto.getDescription());
-        project.setOwner(owner);
+        project.setOwner(userRepository.getReferenceById(owner.getId()));
         project.setCreatedAt(LocalDateTime.now());
         project.setClosed(false);
         // Inicialmente sin colaboradores ni tareas
 
+        dashboardService.invalidateUser(owner.getId());
         return projectRepository.save(project);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Project> findProjectById(Long projectId, String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + userEmail));
+        return findAccessibleProject(projectRepository.findById(projectId), userEmail);
+    }
 
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Project> findProjectDetailsById(Long projectId, String userEmail) {
+        return findAccessibleProject(projectRepository.findDetailedById(projectId), userEmail);
+    }
+
+    private Optional<Project> findAccessibleProject(Optional<Project> projectOpt, String userEmail) {
+        AuthenticatedUser user = findPrincipalOrThrow(userEmail);
 
         if (projectOpt.isPresent()) {
             Project project = projectOpt.get();
             // Verificar si es propietario o colaborador
-            if (project.getOwner().equals(user) || project.getCollaborators().contains(user)) {
+            if (projectAccessService.hasAccess(project, user.getId())) {
                 return projectOpt;
             } else {
                 // El usuario existe pero no tiene acceso a este proyecto
@@ -74,9 +104,15 @@ public class ProjectServiceImpl implements ProjectService {
         return Optional.empty(); // Proyecto no encontrado
     }
 
+    // Id, rol y nombre del usuario; para el usuario autenticado sale de la sesión sin consultar 'users'
+    private AuthenticatedUser findPrincipalOrThrow(String email) {
+        return currentUserService.findPrincipal(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + email));
+    }
+
     // Helper method para verificación de propietario
     private Project findProjectAndVerifyOwnership(Long projectId, String ownerEmail) {
-        User owner = userRepository.findByEmail(ownerEmail)
+        AuthenticatedUser owner = currentUserService.findPrincipal(ownerEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario GESTOR no encontrado con email: " + ownerEmail));
         if (owner.getRole() != Role.GESTOR) {
             throw new UnauthorizedAccessException("La acción requiere rol GESTOR.");
@@ -85,7 +121,7 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado con ID: " + projectId));
 
-        if (!project.getOwner().equals(owner)) {
+        if (!project.getOwner().getId().equals(owner.getId())) {
             throw new UnauthorizedAccessException("El usuario " + ownerEmail + " no es el propietario del proyecto " + projectId);
         }
         return project;
@@ -114,6 +150,9 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = findProjectAndVerifyOwnership(projectId, ownerEmail);
         project.setClosed(true);
         projectRepository.save(project);
+        projectAccessService.invalidateProject(projectId);
+        dashboardService.invalidateProject(projectId);
+        domainEventBus.publish(new ProjectClosed(projectId, project.getOwner().getId()));
     }
 
     @Override
@@ -134,7 +173,7 @@ public class ProjectServiceImpl implements ProjectService {
                 throw new IllegalArgumentException("No se puede añadir un GESTOR como colaborador.");
             }
             // Verificar si ya es colaborador de este proyecto
-            if (project.getCollaborators().contains(collaborator)){
+            if (projectAccessService.isCollaborator(projectId, collaborator.getId())){
                 // Ya es colaborador, no hacemos nada o podrías devolverlo directamente
                 System.out.println("Usuario " + collaboratorEmail + " ya es colaborador del proyecto " + projectId);
                 return collaborator; // O lanzar excepción si prefieres un error en este caso
@@ -159,53 +198,35 @@ public class ProjectServiceImpl implements ProjectService {
         // collaborator.getProjectsCollaborating().add(project); // Ojo si la relación es bidireccional gestionada
 
         projectRepository.save(project); // Guardamos el proyecto con el nuevo colaborador
+        projectAccessService.invalidate(projectId, collaborator.getId());
+        dashboardService.invalidateUser(collaborator.getId());
+        domainEventBus.publish(new CollaboratorAdded(projectId, collaborator.getId(), project.getOwner().getId()));
         return collaborator;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Project> findProjectsByOwner(String ownerEmail) {
-        User owner = userRepository.findByEmail(ownerEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + ownerEmail));
-        return projectRepository.findByOwnerId(owner.getId());
+    public Page<ProjectSummary> findProjectsByOwner(String ownerEmail, int page) {
+        AuthenticatedUser owner = findPrincipalOrThrow(ownerEmail);
+        return projectRepository.findSummariesByOwnerId(owner.getId(), PageRequest.of(Math.max(page, 0), pageSize));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Project> findProjectsByCollaborator(String collaboratorEmail) {
-        User collaborator = userRepository.findByEmail(collaboratorEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + collaboratorEmail));
-        return projectRepository.findByCollaboratorsContains(collaborator);
-    }
-
-    @Override
-    @Transactional(readOnly = true)
-    public List<Project> findUserAccessibleProjects(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + userEmail));
-
-        // Combina ambas listas sin duplicados
-        List<Project> owned = projectRepository.findByOwnerId(user.getId());
-        List<Project> collaborating = projectRepository.findByCollaboratorsContains(user);
-
-        // Usamos un Stream para combinar y eliminar duplicados por ID
-        return Stream.concat(owned.stream(), collaborating.stream())
-                .distinct() // Asegura que no haya proyectos duplicados si alguien es owner y colaborador (aunque no debería pasar por diseño)
-                .collect(Collectors.toList());
+    public Page<ProjectSummary> findUserAccessibleProjects(String userEmail, Boolean closed, int page) {
+        AuthenticatedUser user = findPrincipalOrThrow(userEmail);
+        return projectRepository.findSummariesAccessibleBy(user.getId(), closed, PageRequest.of(Math.max(page, 0), pageSize));
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean canUserAccessProject(Long projectId, String userEmail) {
-        Optional<User> userOpt = userRepository.findByEmail(userEmail);
+        Optional<AuthenticatedUser> userOpt = currentUserService.findPrincipal(userEmail);
         if (!userOpt.isPresent()) return false;
-        User user = userOpt.get();
-
-        Optional<Project> projectOpt = projectRepository.findById(projectId);
-        if (!projectOpt.isPresent()) return false;
-        Project project = projectOpt.get();
+        AuthenticatedUser user = userOpt.get();
 
-        return project.getOwner().equals(user) || project.getCollaborators().contains(user);
+        // Una sola consulta: no carga el proyecto ni la lista de colaboradores
+        return projectAccessService.hasAccess(projectId, user.getId());
     }
 
     @Override
@@ -219,7 +240,7 @@ public class ProjectServiceImpl implements ProjectService {
                 throw new IllegalStateException("No se puede añadir colaboradores a un proyecto cerrado.");
             }
             
-            User user = userRepository.findByEmail(email)
+            User user = currentUserService.findByEmail(email)
                     .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado con email: " + email));
             
             if (user.getRole() == Role.GESTOR) {
@@ -227,13 +248,17 @@ public class ProjectServiceImpl implements ProjectService {
             }
             
             // Verificar si ya es colaborador de este proyecto
-            if (project.getCollaborators().contains(user)) {
+            if (projectAccessService.isCollaborator(projectId, user.getId())) {
                 return true; // Ya es colaborador, consideramos exitosa la operación
             }
             
             // Añadir el colaborador al proyecto
             project.getCollaborators().add(user);
             projectRepository.save(project);
+            projectAccessService.invalidate(projectId, user.getId());
+            dashboardService.invalidateUser(user.getId());
+            // Solo el gestor invita (lo comprueba ProjectController): el propietario es quien hace el cambio
+            domainEventBus.publish(new CollaboratorAdded(projectId, user.getId(), project.getOwner().getId()));
             
             return true;
         } catch (Exception e) {
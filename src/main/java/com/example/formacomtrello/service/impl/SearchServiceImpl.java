@@ -0,0 +1,452 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.dto.SearchResult;
+import com.example.formacomtrello.dto.TaskSummary;
+import com.example.formacomtrello.exception.ResourceNotFoundException;
+import com.example.formacomtrello.model.Comment;
+import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.repository.CommentRepository;
+import com.example.formacomtrello.repository.ProjectRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.SearchService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.KeywordField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Búsqueda de texto completo con un índice Lucene embebido: un documento por tarea (título y
+ * descripción) y otro por comentario, ambos con el id de su tarea y de su proyecto. Las escrituras
+ * de TaskServiceImpl actualizan el índice al confirmarse su transacción y refrescan el lector
+ * (near real-time); los commit del índice a disco son periódicos. Lo que se pierda en una caída
+ * se recupera con rebuild(), que no publica el índice hasta terminar: mientras tanto las búsquedas ven
+ * el índice anterior y las actualizaciones esperan en cola.
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    // Campos del índice
+    private static final String KEY = "key"; // "task-<id>" o "comment-<id>": para reemplazar el documento
+    private static final String TYPE = "type";
+    private static final String TASK_ID = "taskId"; // También en los comentarios: borrar una tarea borra sus comentarios
+    private static final String PROJECT_ID = "projectId"; // Filtro por proyectos accesibles
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String CONTENT = "content";
+
+    private static final String[] HIGHLIGHT_FIELDS = {TITLE, DESCRIPTION, CONTENT};
+
+    // Texto guardado y con offsets en el índice: el resaltado no tiene que volver a analizarlo
+    private static final FieldType TEXT_TYPE = new FieldType(TextField.TYPE_STORED);
+
+    static {
+        TEXT_TYPE.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT_TYPE.freeze();
+    }
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(TITLE, 3f, DESCRIPTION, 1f, CONTENT, 1f);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.search.index-dir:}")
+    private String indexDir; // Vacío: índice en memoria (tests)
+
+    @Value("${app.search.max-results:1000}")
+    private int maxResults; // Resultados que se pueden recorrer paginando
+
+    @Value("${app.pagination.page-size:20}")
+    private int pageSize;
+
+    @Value("${app.search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private Directory directory;
+    private Analyzer analyzer;
+    private volatile IndexWriter writer; // Se sustituyen si falla una reconstrucción
+    private volatile SearcherManager searcherManager;
+    private final Object rebuildLock = new Object();
+
+    // Lectura: actualizaciones tras el commit y commits periódicos; escritura: inicio y final de rebuild()
+    private final ReadWriteLock updateLock = new ReentrantReadWriteLock();
+    private Queue<IndexUpdate> deferredUpdates; // No es null mientras se reconstruye el índice
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        analyzer = new SearchAnalyzer();
+        writer = newWriter();
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    private IndexWriter newWriter() throws IOException {
+        return new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(64)); // Menos segmentos que fusionar al reconstruir
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        writer.close(); // Hace commit de lo pendiente
+        directory.close();
+    }
+
+    // Índice nuevo o vacío con datos en la base de datos (p. ej. primer arranque tras desplegar la búsqueda)
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildIfNeeded() throws IOException {
+        if (rebuildOnStartup || (writer.getDocStats().numDocs == 0 && taskRepository.count() > 0)) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commit-interval:PT30S}")
+    void commit() throws IOException {
+        updateLock.readLock().lock();
+        try {
+            // Durante una reconstrucción no: el último commit es el punto al que volver si falla
+            if (deferredUpdates == null && writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } finally {
+            updateLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<SearchResult> search(String text, String userEmail, int page) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize);
+        if (text == null || text.isBlank()) {
+            return Page.empty(pageable);
+        }
+        AuthenticatedUser user = currentUserService.findPrincipal(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + userEmail));
+        List<Long> projectIds = projectRepository.findAccessibleProjectIds(user.getId());
+        int offset = (int) pageable.getOffset();
+        if (projectIds.isEmpty() || offset >= maxResults) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        List<BytesRef> projectTerms = projectIds.stream().map(id -> new BytesRef(id.toString())).toList();
+        Query textQuery = parse(text);
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                // Con una búsqueda selectiva el filtro comprueba los doc values de cada coincidencia en lugar de
+                // recorrer los documentos de todos los proyectos del usuario
+                .add(KeywordField.newSetQuery(PROJECT_ID, projectTerms), BooleanClause.Occur.FILTER)
+                .build();
+
+        List<Hit> hits = new ArrayList<>();
+        long total;
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Solo se puntúan y ordenan los documentos hasta el final de la página pedida
+                TopDocs topDocs = searcher.search(query,
+                        new TopScoreDocCollectorManager(Math.min(offset + pageSize, maxResults), null, maxResults));
+                total = Math.min(topDocs.totalHits.value, maxResults);
+                ScoreDoc[] pageHits = Arrays.copyOfRange(topDocs.scoreDocs, Math.min(offset, topDocs.scoreDocs.length),
+                        topDocs.scoreDocs.length);
+                TopDocs pageDocs = new TopDocs(topDocs.totalHits, pageHits);
+                // El resaltador solo necesita los términos buscados, no el filtro de proyectos
+                Map<String, String[]> highlights = highlighter(searcher).highlightFields(HIGHLIGHT_FIELDS, textQuery, pageDocs,
+                        new int[]{1, 1, 1});
+                StoredFields storedFields = searcher.storedFields();
+                for (int i = 0; i < pageDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = pageDocs.scoreDocs[i];
+                    Document document = storedFields.document(scoreDoc.doc);
+                    SearchResult.Type type = SearchResult.Type.valueOf(document.get(TYPE));
+                    String fragment = type == SearchResult.Type.COMMENT
+                            ? highlights.get(CONTENT)[i]
+                            : bestFragment(highlights.get(DESCRIPTION)[i], highlights.get(TITLE)[i]);
+                    hits.add(new Hit(type, Long.valueOf(document.get(TASK_ID)), fragment));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al consultar el índice de búsqueda", e);
+        }
+
+        // Título, estado y proyecto actuales de las tareas de la página, en una consulta
+        Map<Long, TaskSummary> tasks = hits.isEmpty() ? Map.of()
+                : taskRepository.findSummariesByIdIn(hits.stream().map(Hit::taskId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(TaskSummary::getId, Function.identity()));
+        List<SearchResult> results = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            TaskSummary task = tasks.get(hit.taskId());
+            if (task != null) { // Borrada después de refrescar el lector: se omite
+                results.add(new SearchResult(hit.type(), task, hit.fragment()));
+            }
+        }
+        return new PageImpl<>(results, pageable, total);
+    }
+
+    @Override
+    public void indexTasks(Collection<Task> tasks) {
+        List<Document> documents = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            documents.add(taskDocument(task.getId(), task.getProject().getId(), task.getTitle(), task.getDescription()));
+        }
+        afterCommit(writer -> {
+            for (Document document : documents) {
+                writer.updateDocument(new Term(KEY, document.get(KEY)), document);
+            }
+        });
+    }
+
+    @Override
+    public void indexComment(Comment comment) {
+        Task task = comment.getTask();
+        Document document = commentDocument(comment.getId(), task.getId(), task.getProject().getId(), comment.getContent());
+        afterCommit(writer -> writer.updateDocument(new Term(KEY, document.get(KEY)), document));
+    }
+
+    @Override
+    public void removeTasks(Collection<Long> taskIds) {
+        Term[] terms = taskIds.stream().map(id -> new Term(TASK_ID, id.toString())).toArray(Term[]::new);
+        afterCommit(writer -> writer.deleteDocuments(terms));
+    }
+
+    @Override
+    public int rebuild() throws IOException {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            // Desde aquí nada refresca el lector: las búsquedas siguen viendo el índice anterior completo y las
+            // actualizaciones confirmadas mientras tanto se aplican al final, encima de las filas leídas
+            Queue<IndexUpdate> deferred = new ConcurrentLinkedQueue<>();
+            exclusively(() -> {
+                writer.commit(); // Punto al que volver si la reconstrucción falla
+                deferredUpdates = deferred;
+            });
+            int documents;
+            try {
+                writer.deleteAll();
+                documents = indexDatabase();
+            } catch (IOException | RuntimeException e) {
+                exclusively(() -> {
+                    deferredUpdates = null;
+                    reopenAtLastCommit();
+                    replay(deferred);
+                    searcherManager.maybeRefreshBlocking();
+                });
+                throw e;
+            }
+            exclusively(() -> {
+                deferredUpdates = null;
+                replay(deferred);
+                writer.commit();
+                searcherManager.maybeRefreshBlocking();
+            });
+            log.info("Índice de búsqueda reconstruido: {} documentos en {} ms", documents, (System.nanoTime() - start) / 1_000_000);
+            return documents;
+        }
+    }
+
+    private int indexDatabase() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> {
+            int count = 0;
+            // Uno detrás de otro, como en la exportación: con resultados por streaming (sin useCursorFetch)
+            // Connector/J no deja ejecutar otra sentencia en la conexión hasta cerrar el primero; con cursores
+            // de servidor (useCursorFetch y fetch size, la configuración de producción) sí lo admitiría
+            try (Stream<Object[]> tasks = taskRepository.streamSearchDocuments()) {
+                for (Iterator<Object[]> it = tasks.iterator(); it.hasNext(); count++) {
+                    Object[] row = it.next();
+                    writer.addDocument(taskDocument((Long) row[0], (Long) row[1], (String) row[2], (String) row[3]));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error al reconstruir el índice de búsqueda", e);
+            }
+            try (Stream<Object[]> comments = commentRepository.streamSearchDocuments()) {
+                for (Iterator<Object[]> it = comments.iterator(); it.hasNext(); count++) {
+                    Object[] row = it.next();
+                    writer.addDocument(commentDocument((Long) row[0], (Long) row[1], (Long) row[2], (String) row[3]));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error al reconstruir el índice de búsqueda", e);
+            }
+            return count;
+        });
+    }
+
+    // Las actualizaciones reemplazan o borran por clave: aplicarlas tras las filas leídas no duplica documentos
+    private void replay(Queue<IndexUpdate> deferred) throws IOException {
+        for (IndexUpdate update : deferred) {
+            update.apply(writer);
+        }
+    }
+
+    // Descarta lo escrito desde el último commit con un escritor y un lector nuevos (rollback() cierra el escritor)
+    private void reopenAtLastCommit() throws IOException {
+        writer.rollback();
+        SearcherManager previous = searcherManager;
+        writer = newWriter();
+        searcherManager = new SearcherManager(writer, null);
+        previous.close();
+    }
+
+    private void exclusively(IndexAction action) throws IOException {
+        updateLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            updateLock.writeLock().unlock();
+        }
+    }
+
+    private Query parse(String text) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST); // Todas las palabras, salvo que se use |
+        Query query = parser.parse(text);
+        return query != null ? query : new BooleanQuery.Builder().build(); // Solo palabras vacías: sin resultados
+    }
+
+    private UnifiedHighlighter highlighter(IndexSearcher searcher) {
+        return UnifiedHighlighter.builder(searcher, analyzer)
+                .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", "… ", true)) // Escapa el HTML del texto
+                .withMaxLength(10_000)
+                .build();
+    }
+
+    // La descripción si contiene la coincidencia; si no, el título (el resaltador devuelve el principio del texto)
+    private static String bestFragment(String description, String title) {
+        if (description != null && description.contains("<mark>")) {
+            return description;
+        }
+        return title != null && title.contains("<mark>") ? title : description;
+    }
+
+    private static Document taskDocument(Long id, Long projectId, String title, String description) {
+        Document document = baseDocument("task-" + id, SearchResult.Type.TASK, id, projectId);
+        document.add(new Field(TITLE, title, TEXT_TYPE));
+        if (description != null) {
+            document.add(new Field(DESCRIPTION, description, TEXT_TYPE));
+        }
+        return document;
+    }
+
+    private static Document commentDocument(Long id, Long taskId, Long projectId, String content) {
+        Document document = baseDocument("comment-" + id, SearchResult.Type.COMMENT, taskId, projectId);
+        document.add(new Field(CONTENT, content, TEXT_TYPE));
+        return document;
+    }
+
+    private static Document baseDocument(String key, SearchResult.Type type, Long taskId, Long projectId) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key, Field.Store.YES));
+        document.add(new StringField(TYPE, type.name(), Field.Store.YES));
+        document.add(new StringField(TASK_ID, taskId.toString(), Field.Store.YES));
+        document.add(new KeywordField(PROJECT_ID, projectId.toString(), Field.Store.YES)); // Término y doc values
+        return document;
+    }
+
+    // Se aplica tras el commit de la base de datos (o ya, fuera de una transacción) y refresca el lector;
+    // durante una reconstrucción queda en cola hasta que termina.
+    // Si falla, el índice queda atrasado respecto a la base de datos hasta el próximo rebuild()
+    private void afterCommit(IndexUpdate update) {
+        TransactionCallbacks.afterCommit(() -> apply(update));
+    }
+
+    private void apply(IndexUpdate update) {
+        updateLock.readLock().lock();
+        try {
+            if (deferredUpdates != null) {
+                deferredUpdates.add(update);
+                return;
+            }
+            update.apply(writer);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            log.error("No se pudo actualizar el índice de búsqueda", e);
+        } finally {
+            updateLock.readLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexUpdate {
+        void apply(IndexWriter writer) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IndexAction {
+        void run() throws IOException;
+    }
+
+    private record Hit(SearchResult.Type type, Long taskId, String fragment) {
+    }
+}
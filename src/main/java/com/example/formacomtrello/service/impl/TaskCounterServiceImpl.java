@@ -0,0 +1,123 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.model.TaskStatus;
+import com.example.formacomtrello.repository.ProjectRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.service.TaskCounterService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores de tareas por estado en la fila de cada proyecto. Cada cambio es un UPDATE con suma
+ * en la base de datos (nunca leer, sumar y escribir), en la transacción de la operación sobre las
+ * tareas: si esta se deshace, el contador también. Lo que pueda desviarse igualmente lo corrige
+ * la reconciliación periódica.
+ */
+@Service
+public class TaskCounterServiceImpl implements TaskCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterServiceImpl.class);
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.tasks.counters.reconcile-batch-size:500}")
+    private int reconcileBatchSize; // Proyectos por transacción en la reconciliación
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Long projectId, TaskStatus status, int count) {
+        if (count != 0) {
+            apply(projectId, Map.of(status, count));
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(Long projectId, TaskStatus from, TaskStatus to) {
+        if (from != to) {
+            Map<TaskStatus, Integer> deltas = new EnumMap<>(TaskStatus.class);
+            deltas.put(from, -1);
+            deltas.put(to, 1);
+            apply(projectId, deltas);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long projectId, Map<TaskStatus, Integer> deltas) {
+        projectRepository.adjustTaskCounters(projectId,
+                deltas.getOrDefault(TaskStatus.PENDIENTE, 0),
+                deltas.getOrDefault(TaskStatus.EN_PROGRESO, 0),
+                deltas.getOrDefault(TaskStatus.COMPLETADA, 0));
+    }
+
+    @Override
+    @Scheduled(cron = "${app.tasks.counters.reconcile-cron:0 30 3 * * *}")
+    public int reconcile() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int repaired = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<Object[]> counters = transaction.execute(status ->
+                    projectRepository.findTaskCountersAfter(from, Pageable.ofSize(reconcileBatchSize)));
+            if (counters.isEmpty()) {
+                break;
+            }
+            repaired += transaction.execute(status -> repairBatch(counters));
+            afterId = (Long) counters.get(counters.size() - 1)[0];
+        }
+        if (repaired > 0) {
+            log.warn("Reconciliación de contadores de tareas: {} proyectos corregidos", repaired);
+        }
+        return repaired;
+    }
+
+    // Un GROUP BY para todo el bloque; solo los proyectos desviados se vuelven a contar
+    private int repairBatch(List<Object[]> counters) {
+        List<Long> projectIds = new ArrayList<>(counters.size());
+        for (Object[] row : counters) {
+            projectIds.add((Long) row[0]);
+        }
+        Map<Long, int[]> actual = new HashMap<>();
+        for (Object[] row : taskRepository.countByStatusForProjects(projectIds)) {
+            int[] counts = actual.computeIfAbsent((Long) row[0], id -> new int[3]);
+            counts[((TaskStatus) row[1]).ordinal()] = ((Long) row[2]).intValue();
+        }
+
+        int repaired = 0;
+        for (Object[] row : counters) {
+            int[] counts = actual.getOrDefault((Long) row[0], new int[3]);
+            if (counts[TaskStatus.PENDIENTE.ordinal()] != (Integer) row[1]
+                    || counts[TaskStatus.EN_PROGRESO.ordinal()] != (Integer) row[2]
+                    || counts[TaskStatus.COMPLETADA.ordinal()] != (Integer) row[3]) {
+                // Recuento y escritura en la misma sentencia: no se pierden cambios hechos entretanto
+                projectRepository.recountTasks((Long) row[0]);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.formacomtrello.service.impl;
+
+import com.example.formacomtrello.dto.BoardEvent;
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.dto.TaskImportReport;
+import com.example.formacomtrello.exception.ResourceNotFoundException;
+import com.example.formacomtrello.event.TaskCreated;
+import com.example.formacomtrello.exception.UnauthorizedAccessException;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.repository.ProjectRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.BoardEventService;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.DashboardService;
+import com.example.formacomtrello.service.DomainEventBus;
+import com.example.formacomtrello.service.SearchService;
+import com.example.formacomtrello.service.TaskCounterService;
+import com.example.formacomtrello.service.TaskImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importa tareas por flujo: en memoria solo están la fila actual, el lote pendiente de insertar
+ * y los colaboradores del proyecto. Cada lote se inserta en su propia transacción y después se
+ * vacía el contexto de persistencia (con open-in-view el EntityManager dura toda la petición).
+ * Si el archivo no se puede leer a mitad (p. ej. comillas sin cerrar), los lotes anteriores ya están
+ * confirmados y no se deshacen: el error indica la línea y cuántas tareas se habían guardado.
+ */
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportServiceImpl.class);
+
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String DUE_DATE = "dueDate";
+    private static final String ASSIGNED_USER_EMAIL = "assignedUserEmail";
+    private static final List<String> REQUIRED_COLUMNS = List.of(TITLE, DUE_DATE, ASSIGNED_USER_EMAIL);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private BoardEventService boardEventService;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private Validator validator; // Mismas reglas que el formulario de tareas (TaskDto)
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.tasks.import.batch-size:500}")
+    private int batchSize; // Filas insertadas por transacción
+
+    @Value("${app.tasks.import.max-reported-errors:200}")
+    private int maxReportedErrors;
+
+    @Override
+    public TaskImportReport importTasks(Long projectId, Format format, InputStream input, String managerEmail) throws IOException {
+        AuthenticatedUser manager = currentUserService.findPrincipal(managerEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + managerEmail));
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado: " + projectId));
+        if (!project.getOwner().getId().equals(manager.getId()) || manager.getRole() != Role.GESTOR) {
+            throw new UnauthorizedAccessException("Usuario " + managerEmail + " no es el gestor del proyecto " + projectId);
+        }
+        if (project.isClosed()) {
+            throw new IllegalStateException("El proyecto " + projectId + " está cerrado.");
+        }
+
+        // Colaboradores del proyecto (email -> id) con una consulta: las filas se resuelven contra este mapa
+        Map<String, Long> collaborators = userRepository.findCollaboratorsByProjectId(projectId).stream()
+                .filter(u -> u.getRole() == Role.COLABORADOR)
+                .collect(Collectors.toMap(User::getEmail, User::getId));
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(projectId, manager.getId(), collaborators, new TaskImportReport(maxReportedErrors));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        skipByteOrderMark(reader);
+        if (format == Format.JSON_LINES) {
+            readJsonLines(reader, run);
+        } else {
+            readCsv(reader, run);
+        }
+        run.flush();
+
+        TaskImportReport report = run.report;
+        log.info("Importación en el proyecto {}: {} filas, {} tareas creadas, {} errores en {} ms", projectId,
+                report.getRows(), report.getImported(), report.getErrorCount(), (System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).strip(), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Faltan columnas en la cabecera del CSV: " + String.join(", ", missing));
+        }
+
+        List<String> record;
+        while ((record = readRecord(csv, run)) != null) {
+            run.row(csv.getRecordLine(), field(record, columns.get(TITLE)), field(record, columns.get(DESCRIPTION)),
+                    field(record, columns.get(DUE_DATE)), field(record, columns.get(ASSIGNED_USER_EMAIL)));
+        }
+    }
+
+    private static List<String> readRecord(CsvRecordReader csv, ImportRun run) throws IOException {
+        try {
+            return csv.readRecord();
+        } catch (IOException e) {
+            throw run.readFailed(csv.getRecordLine(), e);
+        }
+    }
+
+    private void readJsonLines(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = readLine(reader, lineNumber + 1, run)) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                run.report.rowRead();
+                run.report.error(lineNumber, "JSON no válido: " + e.getOriginalMessage());
+                continue;
+            }
+            run.row(lineNumber, text(node, TITLE), text(node, DESCRIPTION), text(node, DUE_DATE), text(node, ASSIGNED_USER_EMAIL));
+        }
+    }
+
+    private static String readLine(BufferedReader reader, long lineNumber, ImportRun run) throws IOException {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw run.readFailed(lineNumber, e);
+        }
+    }
+
+    private static String field(List<String> record, Integer index) {
+        return index == null || index >= record.size() ? null : record.get(index);
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static void skipByteOrderMark(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    // Estado de una importación: filas válidas pendientes de insertar e informe
+    private class ImportRun {
+
+        private final Long projectId;
+        private final Long managerId;
+        private final Map<String, Long> collaborators;
+        private final TaskImportReport report;
+        private final List<TaskDto> pending = new ArrayList<>();
+        private final List<Long> pendingAssignees = new ArrayList<>();
+
+        ImportRun(Long projectId, Long managerId, Map<String, Long> collaborators, TaskImportReport report) {
+            this.projectId = projectId;
+            this.managerId = managerId;
+            this.collaborators = collaborators;
+            this.report = report;
+        }
+
+        void row(long line, String title, String description, String dueDate, String assignedUserEmail) {
+            report.rowRead();
+            TaskDto taskDto = new TaskDto();
+            taskDto.setTitle(title == null ? null : title.strip());
+            taskDto.setDescription(description == null || description.isBlank() ? null : description);
+            taskDto.setAssignedUserEmail(assignedUserEmail == null ? null : assignedUserEmail.strip());
+            if (dueDate != null && !dueDate.isBlank()) {
+                try {
+                    taskDto.setDueDate(LocalDate.parse(dueDate.strip()));
+                } catch (DateTimeParseException e) {
+                    report.error(line, "Fecha límite no válida (formato yyyy-MM-dd): " + dueDate);
+                    return;
+                }
+            }
+
+            Set<ConstraintViolation<TaskDto>> violations = validator.validate(taskDto);
+            if (!violations.isEmpty()) {
+                report.error(line, violations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining(" ")));
+                return;
+            }
+            Long assigneeId = collaborators.get(taskDto.getAssignedUserEmail());
+            if (assigneeId == null) {
+                report.error(line, "El usuario " + taskDto.getAssignedUserEmail() + " no es colaborador de este proyecto.");
+                return;
+            }
+
+            pending.add(taskDto);
+            pendingAssignees.add(assigneeId);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Project project = projectRepository.getReferenceById(projectId); // Solo las FK, sin SELECT
+                LocalDateTime now = LocalDateTime.now();
+                List<Task> tasks = new ArrayList<>(pending.size());
+                for (int i = 0; i < pending.size(); i++) {
+                    TaskDto taskDto = pending.get(i);
+                    Task task = new Task();
+                    task.setProject(project);
+                    task.setTitle(taskDto.getTitle());
+                    task.setDescription(taskDto.getDescription());
+                    task.setDueDate(taskDto.getDueDate());
+                    task.setAssignedUser(userRepository.getReferenceById(pendingAssignees.get(i)));
+                    task.setStatus(TaskStatus.PENDIENTE);
+                    task.setCreatedAt(now);
+                    tasks.add(task);
+                }
+                taskRepository.saveAll(tasks); // Inserts en lotes JDBC
+                taskCounterService.add(projectId, TaskStatus.PENDIENTE, tasks.size());
+                dashboardService.invalidateProject(projectId);
+                searchService.indexTasks(tasks); // Documentos creados ya; se añaden al índice tras el commit
+                List<Long> ids = tasks.stream().map(Task::getId).toList();
+                boardEventService.publish(BoardEvent.tasksCreated(projectId, ids));
+                domainEventBus.publish(new TaskCreated(projectId, ids, managerId));
+                entityManager.flush();
+                entityManager.clear();
+            });
+            report.imported(pending.size());
+            pending.clear();
+            pendingAssignees.clear();
+        }
+
+        // La importación se detiene: lo ya confirmado se queda y el lote pendiente no se guarda
+        IOException readFailed(long line, IOException cause) {
+            log.warn("Importación en el proyecto {} detenida en la línea {}: {} tareas ya creadas, {} filas válidas sin guardar",
+                    projectId, line, report.getImported(), pending.size());
+            return new IOException("error en la línea " + line + " (" + cause.getMessage() + "). Ya se habían importado "
+                    + report.getImported() + " tareas de las líneas anteriores; no se han guardado las filas válidas "
+                    + "pendientes del último lote (" + pending.size() + ").", cause);
+        }
+    }
+}
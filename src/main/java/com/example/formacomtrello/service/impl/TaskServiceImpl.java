@@ -1,24 +1,49 @@
 package com.example.formacomtrello.service.impl;
 
+import com.example.formacomtrello.event.CommentAdded;
+import com.example.formacomtrello.event.TaskCreated;
+import com.example.formacomtrello.event.TaskStatusChanged;
 import com.example.formacomtrello.model.*;
 import com.example.formacomtrello.repository.TaskRepository;
 import com.example.formacomtrello.repository.ProjectRepository;
-import com.example.formacomtrello.repository.UserRepository;
 import com.example.formacomtrello.repository.CommentRepository;
+import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.BoardEventService;
+import com.example.formacomtrello.service.CurrentUserService;
+import com.example.formacomtrello.service.DashboardService;
+import com.example.formacomtrello.service.DomainEventBus;
+import com.example.formacomtrello.service.ProjectAccessService;
+import com.example.formacomtrello.service.TaskCounterService;
+import com.example.formacomtrello.service.SearchService;
 import com.example.formacomtrello.service.TaskService;
+import com.example.formacomtrello.dto.BoardEvent;
 import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.dto.TaskSummary;
+import com.example.formacomtrello.dto.KeysetCursor;
+import com.example.formacomtrello.dto.KeysetPage;
 import com.example.formacomtrello.dto.CommentDto;
 import com.example.formacomtrello.exception.ResourceNotFoundException;
 import com.example.formacomtrello.exception.UnauthorizedAccessException;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -30,18 +55,60 @@ public class TaskServiceImpl implements TaskService {
     private ProjectRepository projectRepository; // Para verificar proyecto y acceso
 
     @Autowired
-    private UserRepository userRepository; // Para buscar gestor y colaborador
+    private UserRepository userRepository; // Referencias a usuarios sin cargarlos
 
     @Autowired
     private CommentRepository commentRepository; // Para guardar comentarios
 
+    @Autowired
+    private CurrentUserService currentUserService; // Usuario autenticado cacheado por petición
+
+    @Autowired
+    private ProjectAccessService projectAccessService; // Pertenencia al proyecto sin cargar colaboradores
+
+    @Autowired
+    private TaskCounterService taskCounterService; // Contadores por estado en la fila del proyecto
+
+    @Autowired
+    private DashboardService dashboardService; // Dashboards cacheados de los usuarios del proyecto
+
+    @Autowired
+    private SearchService searchService; // Índice de texto completo de tareas y comentarios
+
+    @Autowired
+    private BoardEventService boardEventService; // Cambios en directo para las páginas abiertas del proyecto
+
+    @Autowired
+    private DomainEventBus domainEventBus; // Efectos secundarios asíncronos de los cambios (auditoría...)
+
+    @Value("${app.pagination.page-size:20}")
+    private int pageSize; // Filas por página en tablas de tareas e hilos de comentarios
+
+    @Value("${app.tasks.bulk.max-size:500}")
+    private int bulkMaxSize; // Máximo de tareas por operación masiva (tamaño de la lista IN)
+
     // --- Helper Methods ---
 
     private User findUserOrThrow(String email) {
-        return userRepository.findByEmail(email)
+        return currentUserService.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + email));
     }
 
+    // Id, rol y nombre del usuario; para el usuario autenticado sale de la sesión sin consultar 'users'
+    private AuthenticatedUser findPrincipalOrThrow(String email) {
+        return currentUserService.findPrincipal(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + email));
+    }
+
+    private boolean isOwner(Project project, AuthenticatedUser user) {
+        // getOwner().getId() no inicializa el proxy LAZY del propietario
+        return project.getOwner().getId().equals(user.getId());
+    }
+
+    private boolean isAssignedUser(Task task, AuthenticatedUser user) {
+        return task.getAssignedUser() != null && task.getAssignedUser().getId().equals(user.getId());
+    }
+
     private Project findProjectOrThrow(Long projectId) {
         return projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado: " + projectId));
@@ -53,8 +120,8 @@ public class TaskServiceImpl implements TaskService {
     }
 
     // Verifica si un usuario es el GESTOR de un proyecto
-    private void verifyProjectManager(Project project, User manager) {
-        if (!project.getOwner().equals(manager) || manager.getRole() != Role.GESTOR) {
+    private void verifyProjectManager(Project project, AuthenticatedUser manager) {
+        if (!isOwner(project, manager) || manager.getRole() != Role.GESTOR) {
             throw new UnauthorizedAccessException("Usuario " + manager.getEmail() + " no es el gestor del proyecto " + project.getId());
         }
         if (project.isClosed()) {
@@ -62,9 +129,35 @@ public class TaskServiceImpl implements TaskService {
         }
     }
 
+    // Operaciones masivas: ids sin repetir, dentro del máximo y todos del proyecto (si no, no se toca ninguno)
+    private Set<Long> verifyBulkTargets(Long projectId, Collection<Long> taskIds) {
+        Set<Long> ids = new LinkedHashSet<>(taskIds);
+        ids.remove(null);
+        verifyBulkSize(ids.size());
+        if (!ids.isEmpty() && taskRepository.countByProjectIdAndIdIn(projectId, ids) != ids.size()) {
+            throw new ResourceNotFoundException("Alguna de las tareas no existe o no pertenece al proyecto " + projectId);
+        }
+        return ids;
+    }
+
+    // Tareas indicadas por estado actual, con signo negativo: lo que hay que descontar de los contadores
+    private Map<TaskStatus, Integer> negatedStatusCounts(Long projectId, Set<Long> ids) {
+        Map<TaskStatus, Integer> deltas = new EnumMap<>(TaskStatus.class);
+        for (Object[] row : taskRepository.countByStatusForIds(projectId, ids)) {
+            deltas.put((TaskStatus) row[0], -((Long) row[1]).intValue());
+        }
+        return deltas;
+    }
+
+    private void verifyBulkSize(int size) {
+        if (size > bulkMaxSize) {
+            throw new IllegalArgumentException("Como máximo se pueden modificar " + bulkMaxSize + " tareas a la vez.");
+        }
+    }
+
     // Verifica si un usuario tiene acceso general a un proyecto (Gestor o Colaborador)
-    private void verifyProjectAccess(Project project, User user) {
-        if (!project.getOwner().equals(user) && !project.getCollaborators().contains(user)) {
+    private void verifyProjectAccess(Project project, AuthenticatedUser user) {
+        if (!projectAccessService.hasAccess(project, user.getId())) {
             throw new UnauthorizedAccessException("Usuario " + user.getEmail() + " no tiene acceso al proyecto " + project.getId());
         }
     }
@@ -75,7 +168,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     @Transactional
     public Task createTask(Long projectId, TaskDto taskDto, String managerEmail) {
-        User manager = findUserOrThrow(managerEmail);
+        AuthenticatedUser manager = findPrincipalOrThrow(managerEmail);
         Project project = findProjectOrThrow(projectId);
         verifyProjectManager(project, manager); // Verifica que es el gestor y el proyecto no está cerrado
 
@@ -84,7 +177,7 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalArgumentException("Solo se pueden asignar tareas a COLABORADORES.");
         }
         // Verificar que el colaborador asignado pertenece a ESTE proyecto
-        if (!project.getCollaborators().contains(assignedUser)) {
+        if (!projectAccessService.isCollaborator(project.getId(), assignedUser.getId())) {
             throw new IllegalArgumentException("El usuario " + assignedUser.getEmail() + " no es colaborador de este proyecto.");
         }
 
@@ -97,14 +190,20 @@ public class TaskServiceImpl implements TaskService {
         task.setStatus(TaskStatus.PENDIENTE); // Estado inicial por defecto
         task.setCreatedAt(LocalDateTime.now());
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskCounterService.add(projectId, TaskStatus.PENDIENTE, 1);
+        dashboardService.invalidateProject(projectId);
+        searchService.indexTasks(List.of(saved));
+        boardEventService.publish(BoardEvent.taskCreated(saved));
+        domainEventBus.publish(new TaskCreated(projectId, List.of(saved.getId()), manager.getId()));
+        return saved;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<Task> findTaskById(Long taskId, String userEmail) {
-        User user = findUserOrThrow(userEmail);
-        Optional<Task> taskOpt = taskRepository.findById(taskId);
+        AuthenticatedUser user = findPrincipalOrThrow(userEmail);
+        Optional<Task> taskOpt = taskRepository.findDetailedById(taskId); // Con proyecto, propietario y asignado
 
         if (taskOpt.isPresent()) {
             Task task = taskOpt.get();
@@ -122,7 +221,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     @Transactional
     public Task updateTask(Long taskId, TaskDto taskDto, String managerEmail) {
-        User manager = findUserOrThrow(managerEmail);
+        AuthenticatedUser manager = findPrincipalOrThrow(managerEmail);
         Task task = findTaskOrThrow(taskId);
         Project project = task.getProject(); // Ya tenemos el proyecto desde la tarea
         verifyProjectManager(project, manager); // Verifica gestor y que proyecto no esté cerrado
@@ -131,10 +230,12 @@ public class TaskServiceImpl implements TaskService {
         if (newAssignedUser.getRole() != Role.COLABORADOR) {
             throw new IllegalArgumentException("Solo se pueden asignar tareas a COLABORADORES.");
         }
-        if (!project.getCollaborators().contains(newAssignedUser)) {
+        if (!projectAccessService.isCollaborator(project.getId(), newAssignedUser.getId())) {
             throw new IllegalArgumentException("El usuario " + newAssignedUser.getEmail() + " no es colaborador de este proyecto.");
         }
 
+        boolean reassigned = task.getAssignedUser() == null || !task.getAssignedUser().getId().equals(newAssignedUser.getId());
+
         // Actualizar campos
         task.setTitle(taskDto.getTitle());
         task.setDescription(taskDto.getDescription());
@@ -143,24 +244,139 @@ public class TaskServiceImpl implements TaskService {
         // El estado se cambia con changeTaskStatus, no aquí directamente por edición general
         // task.setStatus(taskDto.getStatus()); // Podría incluirse si el DTO lo trae y se permite
 
+        dashboardService.invalidateProject(project.getId()); // Fecha límite o asignado pueden cambiar
+        searchService.indexTasks(List.of(task));
+        boardEventService.publish(reassigned ? BoardEvent.reassigned(task) : BoardEvent.taskUpdated(task));
         return taskRepository.save(task);
     }
 
     @Override
     @Transactional
     public void deleteTask(Long taskId, String managerEmail) {
-        User manager = findUserOrThrow(managerEmail);
+        AuthenticatedUser manager = findPrincipalOrThrow(managerEmail);
         Task task = findTaskOrThrow(taskId);
         Project project = task.getProject();
         verifyProjectManager(project, manager); // Verifica gestor y que proyecto no esté cerrado
 
         taskRepository.deleteById(taskId);
+        taskCounterService.add(project.getId(), task.getStatus(), -1);
+        dashboardService.invalidateProject(project.getId());
+        searchService.removeTasks(List.of(taskId)); // Con sus comentarios
+        boardEventService.publish(BoardEvent.deleted(project.getId(), List.of(taskId)));
+    }
+
+    @Override
+    @Transactional
+    public List<Task> createTasks(Long projectId, List<TaskDto> taskDtos, String managerEmail) {
+        verifyBulkSize(taskDtos.size());
+        AuthenticatedUser manager = findPrincipalOrThrow(managerEmail);
+        Project project = findProjectOrThrow(projectId);
+        verifyProjectManager(project, manager); // Una sola comprobación para todas las tareas
+
+        // Todos los asignados en una consulta, que ya filtra por pertenencia al proyecto
+        Set<String> emails = taskDtos.stream().map(TaskDto::getAssignedUserEmail).collect(Collectors.toSet());
+        Map<String, User> collaborators = userRepository.findCollaboratorsByProjectIdAndEmailIn(projectId, emails).stream()
+                .filter(u -> u.getRole() == Role.COLABORADOR)
+                .collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(taskDtos.size());
+        for (TaskDto taskDto : taskDtos) {
+            User assignedUser = collaborators.get(taskDto.getAssignedUserEmail());
+            if (assignedUser == null) {
+                throw new IllegalArgumentException("El usuario " + taskDto.getAssignedUserEmail() + " no es colaborador de este proyecto.");
+            }
+            Task task = new Task();
+            task.setProject(project);
+            task.setTitle(taskDto.getTitle());
+            task.setDescription(taskDto.getDescription());
+            task.setDueDate(taskDto.getDueDate());
+            task.setAssignedUser(assignedUser);
+            task.setStatus(TaskStatus.PENDIENTE);
+            task.setCreatedAt(now);
+            tasks.add(task);
+        }
+        List<Task> saved = taskRepository.saveAll(tasks); // Inserts en lotes JDBC
+        taskCounterService.add(projectId, TaskStatus.PENDIENTE, saved.size());
+        dashboardService.invalidateProject(projectId);
+        searchService.indexTasks(saved);
+        List<Long> ids = saved.stream().map(Task::getId).toList();
+        boardEventService.publish(BoardEvent.tasksCreated(projectId, ids));
+        domainEventBus.publish(new TaskCreated(projectId, ids, manager.getId()));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public int reassignTasks(Long projectId, Collection<Long> taskIds, String assigneeEmail, String managerEmail) {
+        AuthenticatedUser manager = findPrincipalOrThrow(managerEmail);
+        Project project = findProjectOrThrow(projectId);
+        verifyProjectManager(project, manager);
+
+        User assignee = findUserOrThrow(assigneeEmail);
+        if (assignee.getRole() != Role.COLABORADOR) {
+            throw new IllegalArgumentException("Solo se pueden asignar tareas a COLABORADORES.");
+        }
+        if (!projectAccessService.isCollaborator(projectId, assignee.getId())) {
+            throw new IllegalArgumentException("El usuario " + assignee.getEmail() + " no es colaborador de este proyecto.");
+        }
+
+        Set<Long> ids = verifyBulkTargets(projectId, taskIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        dashboardService.invalidateProject(projectId);
+        boardEventService.publish(BoardEvent.reassigned(projectId, ids, assignee));
+        return taskRepository.updateAssigneeByProjectIdAndIdIn(projectId, ids, assignee);
+    }
+
+    @Override
+    @Transactional
+    public int changeTasksStatus(Long projectId, Collection<Long> taskIds, TaskStatus newStatus, String managerEmail) {
+        AuthenticatedUser manager = findPrincipalOrThrow(managerEmail);
+        Project project = findProjectOrThrow(projectId);
+        verifyProjectManager(project, manager); // En bloque solo el gestor: el colaborador completa sus tareas de una en una
+
+        Set<Long> ids = verifyBulkTargets(projectId, taskIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<TaskStatus, Integer> deltas = negatedStatusCounts(projectId, ids);
+        deltas.merge(newStatus, ids.size(), Integer::sum);
+        int updated = taskRepository.updateStatusByProjectIdAndIdIn(projectId, ids, newStatus);
+        taskCounterService.apply(projectId, deltas);
+        dashboardService.invalidateProject(projectId);
+        boardEventService.publish(BoardEvent.statusChanged(projectId, ids, newStatus));
+        domainEventBus.publish(new TaskStatusChanged(projectId, List.copyOf(ids), newStatus, manager.getId()));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int deleteTasks(Long projectId, Collection<Long> taskIds, String managerEmail) {
+        AuthenticatedUser manager = findPrincipalOrThrow(managerEmail);
+        Project project = findProjectOrThrow(projectId);
+        verifyProjectManager(project, manager);
+
+        Set<Long> ids = verifyBulkTargets(projectId, taskIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<TaskStatus, Integer> deltas = negatedStatusCounts(projectId, ids);
+        // El DELETE en bloque no aplica la cascada de Task.comments: se borran antes
+        commentRepository.deleteByTaskIdIn(ids);
+        int deleted = taskRepository.deleteByProjectIdAndIdIn(projectId, ids);
+        taskCounterService.apply(projectId, deltas);
+        dashboardService.invalidateProject(projectId);
+        searchService.removeTasks(ids);
+        boardEventService.publish(BoardEvent.deleted(projectId, ids));
+        return deleted;
     }
 
     @Override
     @Transactional
     public Task changeTaskStatus(Long taskId, TaskStatus newStatus, String userEmail) {
-        User user = findUserOrThrow(userEmail);
+        AuthenticatedUser user = findPrincipalOrThrow(userEmail);
         Task task = findTaskOrThrow(taskId);
         Project project = task.getProject();
         if (project.isClosed()){
@@ -171,8 +387,9 @@ public class TaskServiceImpl implements TaskService {
         // 1. El Gestor del proyecto puede cambiar a cualquier estado
         // 2. El Colaborador asignado SOLO puede cambiar a COMPLETADA
 
-        boolean isManager = project.getOwner().equals(user) && user.getRole() == Role.GESTOR;
-        boolean isAssignedCollaborator = task.getAssignedUser().equals(user) && user.getRole() == Role.COLABORADOR;
+        TaskStatus previousStatus = task.getStatus();
+        boolean isManager = isOwner(project, user) && user.getRole() == Role.GESTOR;
+        boolean isAssignedCollaborator = isAssignedUser(task, user) && user.getRole() == Role.COLABORADOR;
 
         if (isManager) {
             // El gestor puede poner cualquier estado
@@ -189,13 +406,19 @@ public class TaskServiceImpl implements TaskService {
             throw new UnauthorizedAccessException("No tienes permisos para cambiar el estado de esta tarea.");
         }
 
+        taskCounterService.move(project.getId(), previousStatus, task.getStatus());
+        dashboardService.invalidateProject(project.getId());
+        if (previousStatus != task.getStatus()) {
+            boardEventService.publish(BoardEvent.statusChanged(task));
+            domainEventBus.publish(new TaskStatusChanged(project.getId(), List.of(taskId), task.getStatus(), user.getId()));
+        }
         return taskRepository.save(task);
     }
 
     @Override
     @Transactional
     public Task markTaskAsCompleted(Long taskId, String collaboratorEmail) {
-        User collaborator = findUserOrThrow(collaboratorEmail);
+        AuthenticatedUser collaborator = findPrincipalOrThrow(collaboratorEmail);
         if (collaborator.getRole() != Role.COLABORADOR) {
             throw new UnauthorizedAccessException("Solo colaboradores pueden completar tareas.");
         }
@@ -204,18 +427,26 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalStateException("El proyecto de esta tarea está cerrado.");
         }
 
-        if (!task.getAssignedUser().equals(collaborator)) {
+        if (!isAssignedUser(task, collaborator)) {
             throw new UnauthorizedAccessException("No eres el usuario asignado para completar esta tarea.");
         }
 
+        TaskStatus previousStatus = task.getStatus();
+        taskCounterService.move(task.getProject().getId(), previousStatus, TaskStatus.COMPLETADA);
+        dashboardService.invalidateProject(task.getProject().getId());
         task.setStatus(TaskStatus.COMPLETADA);
+        // Sin cambio (p. ej. completar otra vez una tarea completada): no se avisa a las pantallas
+        if (previousStatus != task.getStatus()) {
+            boardEventService.publish(BoardEvent.statusChanged(task));
+            domainEventBus.publish(new TaskStatusChanged(task.getProject().getId(), List.of(taskId), TaskStatus.COMPLETADA, collaborator.getId()));
+        }
         return taskRepository.save(task);
     }
 
     @Override
     @Transactional
     public Task markTaskAsAccepted(Long taskId, String collaboratorEmail) {
-        User collaborator = findUserOrThrow(collaboratorEmail);
+        AuthenticatedUser collaborator = findPrincipalOrThrow(collaboratorEmail);
         if (collaborator.getRole() != Role.COLABORADOR) {
             throw new UnauthorizedAccessException("Solo colaboradores pueden aceptar tareas.");
         }
@@ -224,11 +455,18 @@ public class TaskServiceImpl implements TaskService {
             throw new IllegalStateException("El proyecto de esta tarea está cerrado.");
         }
 
-        if (!task.getAssignedUser().equals(collaborator)) {
+        if (!isAssignedUser(task, collaborator)) {
             throw new UnauthorizedAccessException("No eres el usuario asignado para completar esta tarea.");
         }
 
+        TaskStatus previousStatus = task.getStatus();
+        taskCounterService.move(task.getProject().getId(), previousStatus, TaskStatus.EN_PROGRESO);
+        dashboardService.invalidateProject(task.getProject().getId());
         task.setStatus(TaskStatus.EN_PROGRESO);
+        if (previousStatus != task.getStatus()) {
+            boardEventService.publish(BoardEvent.statusChanged(task));
+            domainEventBus.publish(new TaskStatusChanged(task.getProject().getId(), List.of(taskId), TaskStatus.EN_PROGRESO, collaborator.getId()));
+        }
         return taskRepository.save(task);
     }
 
@@ -240,16 +478,14 @@ public class TaskServiceImpl implements TaskService {
                 .orElseThrow(() -> new ResourceNotFoundException("Tarea no encontrada"));
 
         // Buscar usuario
-        User user = userRepository.findByEmail(userEmail)
+        AuthenticatedUser user = currentUserService.findPrincipal(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
 
         // Verificar que el usuario es colaborador o gestor del proyecto
         Project project = task.getProject();
-        boolean isCollaborator = project.getCollaborators().stream()
-                .anyMatch(c -> c.getEmail().equals(userEmail));
-        boolean isManager = project.getOwner().getEmail().equals(userEmail);
-
-        if (!isCollaborator && !isManager) {
+        try {
+            verifyProjectAccess(project, user);
+        } catch (UnauthorizedAccessException e) {
             throw new UnauthorizedAccessException("No puedes comentar en esta tarea");
         }
 
@@ -262,42 +498,58 @@ public class TaskServiceImpl implements TaskService {
         Comment comment = new Comment();
         comment.setContent(commentDto.getContent());
         comment.setTask(task);
-        comment.setAuthor(user);
+        comment.setAuthor(userRepository.getReferenceById(user.getId())); // Sin SELECT, solo la FK
         comment.setCreatedAt(LocalDateTime.now());
 
         commentRepository.save(comment);
+        searchService.indexComment(comment);
+        boardEventService.publish(BoardEvent.commentAdded(task, user.getNombre() + " " + user.getApellidos(), comment.getContent()));
+        domainEventBus.publish(new CommentAdded(project.getId(), taskId, comment.getId(), user.getId()));
         return comment;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> findTasksByProjectId(Long projectId, String userEmail) {
-        User user = findUserOrThrow(userEmail);
+    public KeysetPage<TaskSummary> findTasksByProjectId(Long projectId, String userEmail, KeysetCursor after) {
+        AuthenticatedUser user = findPrincipalOrThrow(userEmail);
         Project project = findProjectOrThrow(projectId);
         verifyProjectAccess(project, user); // Asegura que el usuario puede ver el proyecto
 
-        return taskRepository.findByProjectId(projectId);
+        // Se pide una fila de más para saber si existe página siguiente
+        Pageable limit = Pageable.ofSize(pageSize + 1);
+        List<TaskSummary> rows = after == null
+                ? taskRepository.findSummariesByProjectId(projectId, limit)
+                : taskRepository.findSummariesByProjectIdAfter(projectId, after.getCreatedAt(), after.getId(), limit);
+        return KeysetPage.of(rows, pageSize, t -> new KeysetCursor(t.getCreatedAt(), t.getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Task> findTasksByAssignedUser(String userEmail) {
-        User user = findUserOrThrow(userEmail);
-        // No se requiere verificación de proyecto aquí, trae todas las tareas asignadas al usuario
-        return taskRepository.findByAssignedUserId(user.getId());
+    public KeysetPage<TaskSummary> findTasksByAssignedUser(String userEmail, KeysetCursor after) {
+        AuthenticatedUser user = findPrincipalOrThrow(userEmail);
+        // No se requiere verificación de proyecto aquí, trae las tareas asignadas al usuario
+        Pageable limit = Pageable.ofSize(pageSize + 1);
+        List<TaskSummary> rows = after == null
+                ? taskRepository.findSummariesByAssignedUserId(user.getId(), limit)
+                : taskRepository.findSummariesByAssignedUserIdAfter(user.getId(), after.getCreatedAt(), after.getId(), limit);
+        return KeysetPage.of(rows, pageSize, t -> new KeysetCursor(t.getCreatedAt(), t.getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Comment> findCommentsByTaskId(Long taskId, String userEmail) {
-        User user = findUserOrThrow(userEmail);
+    public KeysetPage<Comment> findCommentsByTaskId(Long taskId, String userEmail, KeysetCursor after) {
+        AuthenticatedUser user = findPrincipalOrThrow(userEmail);
         Task task = findTaskOrThrow(taskId);
         Project project = task.getProject();
         // Verificar acceso al proyecto antes de devolver comentarios
         verifyProjectAccess(project, user);
 
         // El repositorio ya los devuelve ordenados por fecha ASC
-        return commentRepository.findByTaskIdOrderByCreatedAtAsc(taskId);
+        Pageable limit = Pageable.ofSize(pageSize + 1);
+        List<Comment> rows = after == null
+                ? commentRepository.findByTaskIdOrderByCreatedAtAscIdAsc(taskId, limit)
+                : commentRepository.findByTaskIdAfter(taskId, after.getCreatedAt(), after.getId(), limit);
+        return KeysetPage.of(rows, pageSize, c -> new KeysetCursor(c.getCreatedAt(), c.getId()));
     }
 
 
@@ -2,20 +2,17 @@ package com.example.formacomtrello.service.impl;
 
 import com.example.formacomtrello.model.User;
 import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.Set;
-
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -26,9 +23,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado con email: " + email));
 
-        Set<GrantedAuthority> grantedAuthorities = new HashSet<>();
-        grantedAuthorities.add(new SimpleGrantedAuthority(user.getRole().name()));
-
         // Manejo especial si la contraseña es null (colaborador primera vez)
         // Spring Security espera una contraseña no nula. Puedes poner un placeholder
         // o manejar esto de forma diferente en tu lógica de login/set-password.
@@ -36,11 +30,26 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         // Si intentan hacer login normal sin password, fallará aquí o en la comparación.
         String password = user.getPassword() != null ? user.getPassword() : "PLACEHOLDER_PASSWORD_NEEDS_SETTING";
 
-
-        return new org.springframework.security.core.userdetails.User(
+        // Principal propio: guarda id, rol y nombre en la sesión para no volver a consultar 'users'
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getEmail(),
-                password, // Ojo: Si es null, esto dará error. Manejar el flujo de primera vez.
-                grantedAuthorities
+                password,
+                user.getRole(),
+                user.getNombre(),
+                user.getApellidos()
         );
     }
-}
\ No newline at end of file
+
+    // Spring Security la llama tras un login correcto si el hash guardado usa otro algoritmo o menos coste
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        if (user instanceof AuthenticatedUser principal) {
+            return new AuthenticatedUser(principal.getId(), principal.getEmail(), newPassword,
+                    principal.getRole(), principal.getNombre(), principal.getApellidos());
+        }
+        return user;
+    }
+}
@@ -4,6 +4,7 @@ import com.example.formacomtrello.dto.UserRegistrationDto;
 import com.example.formacomtrello.model.Role;
 import com.example.formacomtrello.model.User;
 import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.service.CurrentUserService;
 import com.example.formacomtrello.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,6 +22,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CurrentUserService currentUserService; // Reutiliza el usuario ya cargado en la petición
+
     @Override
     @Transactional
     public User registerManager(UserRegistrationDto dto) {
@@ -95,7 +99,7 @@ public class UserServiceImpl implements UserService {
     // Implementar findByEmail, save, updateProfile...
     @Override
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return currentUserService.findByEmail(email);
     }
 
     @Override
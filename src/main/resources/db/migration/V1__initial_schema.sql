@@ -0,0 +1,59 @@
+-- Esquema inicial: el que generaba Hibernate con ddl-auto=update.
+-- En bases de datos ya existentes esta versión no se ejecuta (spring.flyway.baseline-on-migrate).
+
+create table users (
+    id bigint not null auto_increment,
+    apellidos varchar(255) not null,
+    email varchar(255) not null,
+    foto_url varchar(255),
+    nombre varchar(255) not null,
+    password varchar(255),
+    telefono varchar(255),
+    role enum ('GESTOR','COLABORADOR') not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table projects (
+    id bigint not null auto_increment,
+    closed bit not null,
+    created_at datetime(6) not null,
+    owner_id bigint not null,
+    title varchar(255) not null,
+    description text,
+    primary key (id),
+    constraint fk_projects_owner foreign key (owner_id) references users (id)
+);
+
+create table project_collaborators (
+    project_id bigint not null,
+    user_id bigint not null,
+    primary key (project_id, user_id),
+    constraint fk_project_collaborators_project foreign key (project_id) references projects (id),
+    constraint fk_project_collaborators_user foreign key (user_id) references users (id)
+);
+
+create table tasks (
+    id bigint not null auto_increment,
+    due_date date,
+    assigned_user_id bigint,
+    created_at datetime(6) not null,
+    project_id bigint not null,
+    title varchar(255) not null,
+    description text,
+    status enum ('PENDIENTE','EN_PROGRESO','COMPLETADA') not null,
+    primary key (id),
+    constraint fk_tasks_assigned_user foreign key (assigned_user_id) references users (id),
+    constraint fk_tasks_project foreign key (project_id) references projects (id)
+);
+
+create table comments (
+    id bigint not null auto_increment,
+    author_id bigint not null,
+    created_at datetime(6) not null,
+    task_id bigint not null,
+    content text not null,
+    primary key (id),
+    constraint fk_comments_author foreign key (author_id) references users (id),
+    constraint fk_comments_task foreign key (task_id) references tasks (id)
+);
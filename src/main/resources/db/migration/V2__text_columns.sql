@@ -0,0 +1,7 @@
+-- ddl-auto=update creaba los @Lob como 'tinytext' (255 caracteres) y truncaba descripciones
+-- y comentarios de hasta 1000 caracteres que los formularios sí permiten.
+-- En esquemas nuevos (V1) las columnas ya son 'text' y estas sentencias no cambian nada.
+
+alter table projects modify description text;
+alter table tasks modify description text;
+alter table comments modify content text not null;
@@ -0,0 +1,19 @@
+-- Índices compuestos para las consultas de las vistas. Cualquier cambio aquí debe
+-- reflejarse en SchemaIndexVerifier, que comprueba el plan al arrancar.
+
+-- Tareas de un proyecto: filtro por estado y tabla paginada por (created_at, id)
+create index idx_tasks_project_status on tasks (project_id, status);
+create index idx_tasks_project_created on tasks (project_id, created_at, id);
+
+-- Tareas asignadas a un colaborador: filtro por estado y lista paginada por (created_at, id)
+create index idx_tasks_assignee_status on tasks (assigned_user_id, status);
+create index idx_tasks_assignee_created on tasks (assigned_user_id, created_at, id);
+
+-- Hilo de comentarios de una tarea, paginado por (created_at, id)
+create index idx_comments_task_created on comments (task_id, created_at, id);
+
+-- Proyectos en los que colabora un usuario (la clave primaria empieza por project_id)
+create index idx_project_collaborators_user on project_collaborators (user_id, project_id);
+
+-- Proyectos de un gestor, los más recientes primero
+create index idx_projects_owner_created on projects (owner_id, created_at);
@@ -0,0 +1,17 @@
+-- Identificadores asignados por Hibernate en bloques (optimizador 'pooled') en lugar de
+-- auto_increment: sin el id generado por la base de datos, los inserts se pueden agrupar en lotes JDBC.
+-- Cada fila guarda el extremo superior del siguiente bloque de ids; el tamaño de bloque (50)
+-- debe coincidir con el allocationSize de @TableGenerator en las entidades.
+create table id_generators (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+);
+
+-- Datos existentes: el primer bloque empieza después del id más alto de cada tabla.
+-- Las columnas conservan auto_increment; quien inserte filas fuera de Hibernate debe
+-- actualizar después la fila correspondiente con el mismo cálculo.
+insert into id_generators (sequence_name, next_val) select 'users', coalesce(max(id), 0) + 51 from users;
+insert into id_generators (sequence_name, next_val) select 'projects', coalesce(max(id), 0) + 51 from projects;
+insert into id_generators (sequence_name, next_val) select 'tasks', coalesce(max(id), 0) + 51 from tasks;
+insert into id_generators (sequence_name, next_val) select 'comments', coalesce(max(id), 0) + 51 from comments;
@@ -0,0 +1,11 @@
+-- Contadores de tareas por estado en cada proyecto, para las barras de progreso de las listas
+-- sin contar filas de 'tasks'. Los mantiene TaskCounterService en la misma transacción que cada
+-- alta, baja o cambio de estado; su tarea de reconciliación corrige cualquier desviación.
+alter table projects add column pending_tasks int not null default 0;
+alter table projects add column in_progress_tasks int not null default 0;
+alter table projects add column completed_tasks int not null default 0;
+
+update projects p set
+    pending_tasks = (select count(*) from tasks t where t.project_id = p.id and t.status = 'PENDIENTE'),
+    in_progress_tasks = (select count(*) from tasks t where t.project_id = p.id and t.status = 'EN_PROGRESO'),
+    completed_tasks = (select count(*) from tasks t where t.project_id = p.id and t.status = 'COMPLETADA');
@@ -0,0 +1,180 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.FormacomTrelloApplication;
+import com.example.formacomtrello.service.TaskCounterService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aplicación arrancada sobre H2 (perfil 'test') con un proyecto de 'tasksPerProject' tareas.
+ * Cada tamaño usa su propia base de datos en memoria; los datos se insertan con JDBC por lotes.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkData {
+
+    static final String MANAGER = "bench-gestor@test.com";
+    static final String COLLABORATOR = "bench-colab0@test.com";
+    static final String CANDIDATE = "bench-candidato@test.com";
+
+    private static final int COLLABORATORS = 5;
+    private static final int OTHER_PROJECTS = 50;
+    private static final int COMMENTS = 50;
+    private static final int BATCH_SIZE = 5000;
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    @Param({"10", "1000", "100000"})
+    public int tasksPerProject;
+
+    ConfigurableApplicationContext context;
+    JdbcTemplate jdbcTemplate;
+
+    long projectId;
+    long taskId;
+    long candidateId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        start("benchmark-" + tasksPerProject);
+    }
+
+    // También la usan las pruebas de carga, con propiedades adicionales (p. ej. el modo de hilos)
+    void start(String database, String... properties) {
+        context = new SpringApplicationBuilder(FormacomTrelloApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.formacomtrello.benchmark=INFO")
+                .properties(properties)
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    // Login por formulario (con token CSRF) en la aplicación arrancada; la cookie de sesión queda en el
+    // CookieManager del cliente. La contraseña tiene que estar codificada con el PasswordEncoder de la aplicación
+    HttpClient login(String email, String password) throws Exception {
+        String base = "http://localhost:" + port();
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        String form = client.send(HttpRequest.newBuilder(URI.create(base + "/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF.matcher(form);
+        assertThat(csrf.find()).as("token CSRF en la página de login").isTrue();
+
+        String body = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(password, StandardCharsets.UTF_8)
+                + "&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(base + "/perform_login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(response.headers().firstValue("Location")).as("login correcto").hasValueSatisfying(
+                location -> assertThat(location).doesNotContain("error"));
+        return client;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed() {
+        long managerId = insertUser(MANAGER, "GESTOR");
+        List<Long> collaborators = new ArrayList<>();
+        for (int i = 0; i < COLLABORATORS; i++) {
+            collaborators.add(insertUser("bench-colab" + i + "@test.com", "COLABORADOR"));
+        }
+        candidateId = insertUser(CANDIDATE, "COLABORADOR");
+
+        // Proyectos adicionales del gestor para las consultas de listados
+        for (int i = 0; i < OTHER_PROJECTS; i++) {
+            insertProject(managerId, "Proyecto " + i);
+        }
+        projectId = insertProject(managerId, "Proyecto medido");
+        for (Long collaborator : collaborators) {
+            jdbcTemplate.update("insert into project_collaborators (project_id, user_id) values (?, ?)", projectId, collaborator);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < tasksPerProject; i++) {
+            rows.add(new Object[]{projectId, collaborators.get(i % COLLABORATORS), "Tarea " + i, "Descripción de la tarea " + i,
+                    i % 3 == 0 ? "COMPLETADA" : "PENDIENTE", Timestamp.valueOf(now.minusSeconds(tasksPerProject - i)),
+                    Date.valueOf(LocalDate.now().plusDays(i % 30))});
+            if (rows.size() == BATCH_SIZE || i == tasksPerProject - 1) {
+                jdbcTemplate.batchUpdate("insert into tasks (project_id, assigned_user_id, title, description, status, created_at, due_date)"
+                        + " values (?, ?, ?, ?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        taskId = jdbcTemplate.queryForObject("select min(id) from tasks where project_id = ?", Long.class, projectId);
+
+        for (int i = 0; i < COMMENTS; i++) {
+            rows.add(new Object[]{taskId, i % 2 == 0 ? managerId : collaborators.get(0), "Comentario " + i,
+                    Timestamp.valueOf(now.minusSeconds(COMMENTS - i))});
+        }
+        jdbcTemplate.batchUpdate("insert into comments (task_id, author_id, content, created_at) values (?, ?, ?, ?)", rows);
+        syncIdGenerators();
+        bean(TaskCounterService.class).reconcile(); // Las tareas insertadas con JDBC no pasan por los contadores
+    }
+
+    // Las filas insertadas con JDBC toman el id de auto_increment: los bloques de Hibernate empiezan detrás
+    private void syncIdGenerators() {
+        for (String table : List.of("users", "projects", "tasks", "comments")) {
+            jdbcTemplate.update("update id_generators set next_val = (select coalesce(max(id), 0) + 51 from " + table
+                    + ") where sequence_name = ?", table);
+        }
+    }
+
+    private long insertUser(String email, String role) {
+        jdbcTemplate.update("insert into users (email, password, nombre, apellidos, role) values (?, '{noop}secret', 'Bench', 'Mark', ?)",
+                email, role);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, email);
+    }
+
+    private long insertProject(long ownerId, String title) {
+        jdbcTemplate.update("insert into projects (closed, created_at, owner_id, title, description) values (false, ?, ?, ?, 'Descripción')",
+                Timestamp.valueOf(LocalDateTime.now()), ownerId, title);
+        return jdbcTemplate.queryForObject("select max(id) from projects where owner_id = ?", Long.class, ownerId);
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.dto.BoardEvent;
+import com.example.formacomtrello.service.BoardEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.OutputStream;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Difusión de eventos SSE: 1000 conexiones abiertas al mismo proyecto reciben 40 eventos y se registra
+ * la latencia desde publish() hasta que llega cada uno (servidor y clientes comparten la máquina). Después, con un cliente que nunca lee, se
+ * comprueba que se le desconecta sin que los demás dejen de recibir. Los clientes son asíncronos
+ * (HttpClient con suscriptores de líneas), sin un hilo por conexión tampoco en este lado.
+ * Solo se ejecuta con el perfil de Maven 'benchmark': mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class BoardEventsLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardEventsLoadTests.class);
+
+    private static final int SUBSCRIBERS = 1000;
+    private static final int EVENTS = 40;
+    private static final long EVENT_INTERVAL_MILLIS = 250; // Cada evento llega a todos antes del siguiente
+    private static final int FAST_SUBSCRIBERS = 10;
+    private static final int LARGE_EVENTS = 3000;
+    private static final int LARGE_EVENT_TASKS = 500; // ~3,5 KB por evento
+
+    private static final Pattern FIRST_TASK_ID = Pattern.compile("\"taskIds\":\\[(\\d+)");
+
+    private final BenchmarkData data = new BenchmarkData();
+    private final List<StreamClient> clients = new ArrayList<>();
+    private HttpClient http;
+    private BoardEventService boardEventService;
+
+    @BeforeEach
+    void start() throws Exception {
+        data.tasksPerProject = 10;
+        data.start("live-load");
+        String password = data.bean(PasswordEncoder.class).encode("secret");
+        data.jdbcTemplate.update("update users set password = ?", password);
+        http = data.login(BenchmarkData.MANAGER, "secret");
+        boardEventService = data.bean(BoardEventService.class);
+    }
+
+    @AfterEach
+    void stop() {
+        clients.forEach(StreamClient::cancel);
+        data.stop();
+    }
+
+    @Test
+    void fansOutToOneThousandSubscribersAndDropsSlowOnes() throws Exception {
+        // 1. Latencia de difusión con 1000 conexiones
+        AtomicLongArray publishedAt = new AtomicLongArray(EVENTS);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            clients.add(subscribe(data.projectId, publishedAt, latencies));
+        }
+        await(() -> boardEventService.getSubscriberCount(data.projectId) == SUBSCRIBERS, 30_000);
+
+        for (int seq = 0; seq < EVENTS; seq++) {
+            publishedAt.set(seq, System.nanoTime());
+            boardEventService.publish(BoardEvent.deleted(data.projectId, List.of((long) seq)));
+            Thread.sleep(EVENT_INTERVAL_MILLIS);
+        }
+        await(() -> latencies.size() == SUBSCRIBERS * EVENTS, 30_000);
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        log.info("{} conexiones x {} eventos: {} entregas, latencia p50 {} ms, p99 {} ms, máxima {} ms",
+                SUBSCRIBERS, EVENTS, sorted.size(), millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(sorted.get(sorted.size() - 1)));
+        assertThat(sorted).hasSize(SUBSCRIBERS * EVENTS);
+        assertThat(boardEventService.getSlowDisconnects()).isZero();
+        clients.forEach(StreamClient::cancel);
+        clients.clear();
+
+        // 2. Un cliente que no lee en otro proyecto, con pocos clientes normales
+        Long otherProject = data.jdbcTemplate.queryForObject("select min(id) from projects where id <> ?", Long.class, data.projectId);
+        List<StreamClient> fast = new ArrayList<>();
+        for (int i = 0; i < FAST_SUBSCRIBERS; i++) {
+            fast.add(subscribe(otherProject, null, null));
+        }
+        clients.addAll(fast);
+        try (Socket slow = openWithoutReading(otherProject)) {
+            await(() -> boardEventService.getSubscriberCount(otherProject) == FAST_SUBSCRIBERS + 1, 10_000);
+
+            List<Long> ids = LongStream.range(0, LARGE_EVENT_TASKS).boxed().toList();
+            long start = System.nanoTime();
+            for (int i = 0; i < LARGE_EVENTS; i++) {
+                boardEventService.publish(BoardEvent.deleted(otherProject, ids));
+                Thread.sleep(1); // ~3,5 MB/s por conexión: los clientes que leen no se quedan atrás
+            }
+            await(() -> fast.stream().allMatch(client -> client.received.get() == LARGE_EVENTS), 60_000);
+            log.info("Cliente que no lee: desconectado tras {} eventos de ~3,5 KB; los {} restantes recibieron {} eventos en {} ms",
+                    LARGE_EVENTS, FAST_SUBSCRIBERS, fast.get(0).received.get(), millis(System.nanoTime() - start));
+            assertThat(boardEventService.getSlowDisconnects()).isEqualTo(1);
+            assertThat(boardEventService.getSubscriberCount(otherProject)).isEqualTo(FAST_SUBSCRIBERS);
+        }
+    }
+
+    private StreamClient subscribe(Long projectId, AtomicLongArray publishedAt, ConcurrentLinkedQueue<Long> latencies) {
+        StreamClient client = new StreamClient(publishedAt, latencies);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + data.port() + "/projects/" + projectId + "/events"))
+                .header("Accept", "text/event-stream")
+                .GET().build();
+        http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(client));
+        return client;
+    }
+
+    // Petición SSE con la cookie de sesión y un búfer de recepción mínimo; no se lee nunca la respuesta
+    private Socket openWithoutReading(Long projectId) throws Exception {
+        HttpCookie session = ((CookieManager) http.cookieHandler().orElseThrow()).getCookieStore().getCookies().stream()
+                .filter(cookie -> cookie.getName().equals("JSESSIONID"))
+                .findFirst().orElseThrow();
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", data.port()));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /projects/" + projectId + "/events HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n"
+                + "Cookie: JSESSIONID=" + session.getValue() + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private static void await(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("tiempo de espera agotado").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        return sorted.get((int) Math.ceil(sorted.size() * p) - 1);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+
+    // Lee la respuesta línea a línea según llega; por cada 'data:' anota la latencia del evento
+    private static class StreamClient implements Flow.Subscriber<String> {
+
+        private final AtomicLongArray publishedAt;
+        private final ConcurrentLinkedQueue<Long> latencies;
+        private final AtomicInteger received = new AtomicInteger();
+        private volatile Flow.Subscription subscription;
+
+        StreamClient(AtomicLongArray publishedAt, ConcurrentLinkedQueue<Long> latencies) {
+            this.publishedAt = publishedAt;
+            this.latencies = latencies;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            received.incrementAndGet();
+            if (latencies != null) {
+                long now = System.nanoTime();
+                Matcher seq = FIRST_TASK_ID.matcher(line);
+                if (seq.find()) {
+                    latencies.add(now - publishedAt.get(Integer.parseInt(seq.group(1))));
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void cancel() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins por segundo según el coste de BCrypt, con varios usuarios entrando a la vez
+ * y el hash limitado al pool de BoundedPasswordEncoder (2 hilos, como en la configuración por defecto).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class PasswordHashingBenchmark {
+
+    private static final String EMAIL = "bench-login@test.com";
+    private static final String PASSWORD = "secret-password";
+
+    @Param({"8", "10", "12"})
+    public int bcryptCost;
+
+    private BoundedPasswordEncoder encoder;
+    private DaoAuthenticationProvider provider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new BoundedPasswordEncoder("bcrypt", bcryptCost, 2, 1000, Duration.ofMinutes(1));
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(
+                User.withUsername(EMAIL).password(encoder.encode(PASSWORD)).authorities("GESTOR").build());
+        provider = new DaoAuthenticationProvider(encoder);
+        provider.setUserDetailsService(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoder.close();
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, PASSWORD));
+    }
+}
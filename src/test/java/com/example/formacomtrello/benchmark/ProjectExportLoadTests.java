@@ -0,0 +1,79 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.service.ProjectExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exporta un proyecto de 100.000 tareas a un flujo que solo cuenta bytes y registra el tiempo
+ * y el pico de heap de cada formato. Solo se ejecuta con el perfil de Maven 'benchmark':
+ * mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class ProjectExportLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectExportLoadTests.class);
+
+    private static final int TASKS = 100_000;
+
+    private final BenchmarkData data = new BenchmarkData();
+
+    @BeforeEach
+    void start() {
+        data.tasksPerProject = TASKS;
+        data.start("export-load");
+    }
+
+    @AfterEach
+    void stop() {
+        data.stop();
+    }
+
+    @Test
+    void exportsOneHundredThousandTasksInBoundedMemory() throws Exception {
+        ProjectExportService exportService = data.bean(ProjectExportService.class);
+        for (ProjectExportService.Format format : ProjectExportService.Format.values()) {
+            System.gc();
+            ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+            CountingOutputStream out = new CountingOutputStream();
+            long start = System.nanoTime();
+            exportService.writeExport(data.projectId, format, out);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                    .sum();
+
+            log.info("Exportación {}: {} KB en {} ms, pico de heap {} MB", format, out.count / 1024, millis,
+                    peakHeap / (1024 * 1024));
+            assertThat(out.count).isPositive();
+        }
+    }
+
+    // Descarta lo escrito; solo interesa el tamaño
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.dto.ProjectSummary;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.service.ProjectAccessService;
+import com.example.formacomtrello.service.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminos calientes de ProjectServiceImpl: listado de proyectos accesibles, comprobación
+ * de acceso y alta de un colaborador existente en un proyecto.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectServiceBenchmark {
+
+    private ProjectService projectService;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkData data) {
+        projectService = data.bean(ProjectService.class);
+    }
+
+    // El candidato deja de ser colaborador antes de cada alta, para medir siempre el alta completa
+    @State(Scope.Thread)
+    public static class RemovedCandidate {
+
+        @Setup(Level.Invocation)
+        public void remove(BenchmarkData data) {
+            data.jdbcTemplate.update("delete from project_collaborators where project_id = ? and user_id = ?",
+                    data.projectId, data.candidateId);
+            data.bean(ProjectAccessService.class).invalidate(data.projectId, data.candidateId);
+        }
+    }
+
+    @Benchmark
+    public Page<ProjectSummary> findUserAccessibleProjects() {
+        return projectService.findUserAccessibleProjects(BenchmarkData.MANAGER, null, 0);
+    }
+
+    @Benchmark
+    public boolean canUserAccessProject(BenchmarkData data) {
+        return projectService.canUserAccessProject(data.projectId, BenchmarkData.COLLABORATOR);
+    }
+
+    @Benchmark
+    public User addOrInviteCollaborator(BenchmarkData data, RemovedCandidate candidate) {
+        return projectService.addOrInviteCollaborator(data.projectId, BenchmarkData.CANDIDATE, null, BenchmarkData.MANAGER);
+    }
+}
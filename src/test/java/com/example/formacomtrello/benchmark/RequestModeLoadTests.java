@@ -0,0 +1,128 @@
+package com.example.formacomtrello.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga de las páginas de detalle de proyecto y de tarea con hilos de plataforma
+ * (pool de Tomcat) y con hilos virtuales más el limitador de conexiones JDBC.
+ * Registra el rendimiento (peticiones/s) y la latencia p99 de cada modo.
+ * El modo de hilos virtuales necesita Java 21; con versiones anteriores solo se mide el de plataforma.
+ * Solo se ejecuta con el perfil de Maven 'benchmark': mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class RequestModeLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestModeLoadTests.class);
+
+    private static final int TASKS = 1000;
+    private static final int CLIENTS = 200;
+    private static final int TOMCAT_THREADS = 50;
+    private static final int POOL_SIZE = 10;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    private record Result(int requests, int errors, double throughput, double p99Millis) {
+    }
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Map<String, Map<String, Result>> results = new LinkedHashMap<>();
+        results.put("plataforma", run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.put("virtuales", run(true));
+        } else {
+            log.warn("Java {}: el modo de hilos virtuales necesita Java 21, solo se mide el de plataforma",
+                    Runtime.version().feature());
+        }
+
+        results.forEach((mode, pages) -> pages.forEach((page, result) ->
+                log.info("Hilos {} - {}: {} peticiones, {} errores, {} peticiones/s, p99 {} ms", mode, page,
+                        result.requests(), result.errors(),
+                        String.format("%.0f", result.throughput()), String.format("%.1f", result.p99Millis()))));
+        results.values().forEach(pages -> pages.values().forEach(result -> assertThat(result.errors()).isZero()));
+    }
+
+    private Map<String, Result> run(boolean virtualThreads) throws Exception {
+        BenchmarkData data = new BenchmarkData();
+        data.tasksPerProject = TASKS;
+        data.start("load-" + (virtualThreads ? "virtual" : "platform"),
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                // Como en producción: plantillas en caché, para medir el acceso a datos y no el parseo
+                "spring.thymeleaf.cache=true");
+        try {
+            String password = data.bean(PasswordEncoder.class).encode("secret");
+            data.jdbcTemplate.update("update users set password = ?", password);
+
+            String base = "http://localhost:" + data.port();
+            HttpClient client = data.login(BenchmarkData.MANAGER, "secret");
+            Map<String, URI> pages = new LinkedHashMap<>();
+            pages.put("detalle de proyecto", URI.create(base + "/projects/" + data.projectId));
+            pages.put("detalle de tarea", URI.create(base + "/tasks/" + data.taskId));
+
+            Map<String, Result> results = new LinkedHashMap<>();
+            for (Map.Entry<String, URI> page : pages.entrySet()) {
+                load(client, page.getValue(), WARMUP);
+                results.put(page.getKey(), load(client, page.getValue(), MEASUREMENT));
+            }
+            return results;
+        } finally {
+            data.stop();
+        }
+    }
+
+    // CLIENTS clientes concurrentes pidiendo la página sin pausa durante 'duration'
+    private Result load(HttpClient client, URI page, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(page).GET().build();
+        long end = System.nanoTime() + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        List<Integer> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < CLIENTS; i++) {
+            futures.add(clients.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    latencies.add(System.nanoTime() - start);
+                    if (response.statusCode() != 200) {
+                        errors.add(response.statusCode());
+                    }
+                }
+                return latencies;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>();
+        for (Future<List<Long>> future : futures) {
+            latencies.addAll(future.get());
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        Collections.sort(latencies);
+        double p99 = latencies.isEmpty() ? 0 : latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1) / 1_000_000.0;
+        return new Result(latencies.size(), errors.size(), latencies.size() / (double) duration.toSeconds(), p99);
+    }
+}
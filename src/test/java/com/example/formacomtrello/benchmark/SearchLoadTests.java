@@ -0,0 +1,113 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.dto.SearchResult;
+import com.example.formacomtrello.service.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reconstruye el índice de búsqueda con 10.000 tareas y 1.000.000 de comentarios y compara la
+ * latencia de las consultas con un LIKE '%palabra%' sobre la tabla de comentarios, que es lo que
+ * haría falta sin índice. Solo se ejecuta con el perfil de Maven 'benchmark': mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class SearchLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchLoadTests.class);
+
+    private static final int TASKS = 10_000;
+    private static final int COMMENTS = 1_000_000;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int QUERIES = 50;
+
+    private static final Path INDEX_DIR = Path.of("target", "search-load-index");
+
+    // Palabras frecuentes de los comentarios; 'auditoría' solo aparece en uno de cada mil
+    private static final String[] WORDS = {"revisar", "cliente", "servidor", "despliegue", "factura", "diseño",
+            "pruebas", "reunión", "entrega", "informe", "presupuesto", "contrato", "incidencia", "migración"};
+
+    private final BenchmarkData data = new BenchmarkData();
+
+    @BeforeEach
+    void start() throws Exception {
+        FileSystemUtils.deleteRecursively(INDEX_DIR);
+        data.tasksPerProject = TASKS;
+        data.start("search-load", "app.search.index-dir=" + INDEX_DIR.toAbsolutePath());
+        insertComments();
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        data.stop();
+        FileSystemUtils.deleteRecursively(INDEX_DIR);
+    }
+
+    @Test
+    void searchesOneMillionComments() throws Exception {
+        SearchService searchService = data.bean(SearchService.class);
+
+        long start = System.nanoTime();
+        int documents = searchService.rebuild();
+        log.info("Reconstrucción del índice: {} documentos en {} ms", documents, (System.nanoTime() - start) / 1_000_000);
+        assertThat(documents).isGreaterThan(TASKS + COMMENTS); // Más los comentarios de BenchmarkData
+
+        for (String query : List.of("auditoría", "factura", "cliente servidor", "\"revisar cliente\"")) {
+            Page<SearchResult> results = searchService.search(query, BenchmarkData.MANAGER, 0);
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                searchService.search(query, BenchmarkData.MANAGER, i % 5);
+            }
+            log.info("Lucene '{}': {} resultados, {} µs por página", query, results.getTotalElements(),
+                    (System.nanoTime() - start) / 1_000 / QUERIES);
+            assertThat(results.getContent()).isNotEmpty();
+        }
+
+        // Referencia: recorrido completo de la tabla con LIKE (solo unas pocas veces: tarda segundos)
+        for (String word : List.of("auditoría", "factura")) {
+            start = System.nanoTime();
+            long matches = 0;
+            for (int i = 0; i < 3; i++) {
+                matches = data.jdbcTemplate.queryForObject("select count(*) from comments where lower(content) like ?",
+                        Long.class, "%" + word + "%");
+            }
+            log.info("LIKE '%{}%': {} filas, {} µs por consulta", word, matches, (System.nanoTime() - start) / 1_000 / 3);
+        }
+    }
+
+    private void insertComments() {
+        Long firstTask = data.jdbcTemplate.queryForObject("select min(id) from tasks where project_id = ?", Long.class, data.projectId);
+        Long author = data.jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, BenchmarkData.MANAGER);
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < COMMENTS; i++) {
+            StringBuilder content = new StringBuilder("Comentario ").append(i).append(':');
+            for (int w = 0; w < 8; w++) {
+                content.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            if (i % 1000 == 0) {
+                content.append(" auditoría");
+            }
+            rows.add(new Object[]{firstTask + i % TASKS, author, content.toString(), now});
+            if (rows.size() == BATCH_SIZE) {
+                data.jdbcTemplate.batchUpdate("insert into comments (task_id, author_id, content, created_at) values (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.formacomtrello.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lanza con JMH los benchmarks de TaskServiceImpl y ProjectServiceImpl y el de alta masiva de tareas
+ * para cada tamaño de datos, y el de login para cada coste de BCrypt, y guarda los resultados en JSON (target/jmh/services-<fecha>.json) para compararlos entre versiones.
+ * Solo se ejecuta con el perfil de Maven 'benchmark': mvn test -Pbenchmark
+ * Tamaños por defecto 10, 1000 y 100000 tareas por proyecto; se pueden cambiar con -Dbenchmark.sizes=10,1000
+ */
+@Tag("benchmark")
+class ServiceBenchmarksTests {
+
+    private static final String RESULTS_DIR = "target/jmh";
+
+    @Test
+    void runServiceBenchmarks() throws Exception {
+        File results = new File(RESULTS_DIR,
+                "services-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        results.getParentFile().mkdirs();
+
+        OptionsBuilder options = new OptionsBuilder();
+        // -Dbenchmark.include=<regex> ejecuta solo los benchmarks que coincidan
+        String include = System.getProperty("benchmark.include");
+        if (include != null && !include.isBlank()) {
+            options.include(include);
+        } else {
+            options.include(TaskServiceBenchmark.class.getName())
+                    .include(ProjectServiceBenchmark.class.getName())
+                    .include(TaskInsertBenchmark.class.getName())
+                    .include(PasswordHashingBenchmark.class.getName());
+        }
+        options.forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.getPath());
+        String sizes = System.getProperty("benchmark.sizes");
+        if (sizes != null && !sizes.isBlank()) {
+            options.param("tasksPerProject", sizes.split(","));
+        }
+        Options built = options.build();
+
+        Collection<RunResult> run = new Runner(built).run();
+
+        assertThat(run).isNotEmpty();
+        assertThat(results).exists();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.dto.TaskImportReport;
+import com.example.formacomtrello.service.TaskImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importa 100.000 tareas desde un CSV generado sobre la marcha (nunca está entero en memoria)
+ * y registra el tiempo y el pico de heap. Solo se ejecuta con el perfil de Maven 'benchmark':
+ * mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class TaskImportLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportLoadTests.class);
+
+    private static final int ROWS = 100_000;
+
+    private final BenchmarkData data = new BenchmarkData();
+
+    @BeforeEach
+    void start() {
+        data.tasksPerProject = 10;
+        data.start("import-load");
+    }
+
+    @AfterEach
+    void stop() {
+        data.stop();
+    }
+
+    @Test
+    void importsOneHundredThousandRowsInBoundedMemory() throws Exception {
+        TaskImportService importService = data.bean(TaskImportService.class);
+        String dueDate = LocalDate.now().plusDays(30).toString();
+
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+        long start = System.nanoTime();
+        TaskImportReport report;
+        try (InputStream csv = new GeneratedCsv(ROWS, dueDate)) {
+            report = importService.importTasks(data.projectId, TaskImportService.Format.CSV, csv, BenchmarkData.MANAGER);
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long peakHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+
+        log.info("Importadas {} filas en {} ms ({} filas/s), pico de heap {} MB", report.getImported(), millis,
+                ROWS * 1000L / Math.max(millis, 1), peakHeap / (1024 * 1024));
+        assertThat(report.getErrorCount()).isZero();
+        assertThat(report.getImported()).isEqualTo(ROWS);
+    }
+
+    // CSV de 'rows' filas que se genera a medida que se lee
+    private static class GeneratedCsv extends InputStream {
+
+        private final int rows;
+        private final String dueDate;
+        private byte[] current = "title,description,dueDate,assignedUserEmail\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+        private int row;
+
+        GeneratedCsv(int rows, String dueDate) {
+            this.rows = rows;
+            this.dueDate = dueDate;
+        }
+
+        @Override
+        public int read() {
+            if (position == current.length) {
+                if (row == rows) {
+                    return -1;
+                }
+                current = ("Tarea importada " + row + ",\"Descripción, fila " + row + "\"," + dueDate + ","
+                        + BenchmarkData.COLLABORATOR + "\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                row++;
+            }
+            return current[position++] & 0xFF;
+        }
+    }
+}
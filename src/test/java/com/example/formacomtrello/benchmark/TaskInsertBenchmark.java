@@ -0,0 +1,117 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.model.Project;
+import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alta masiva de tareas en una transacción, en tareas por segundo:
+ * <ul>
+ *     <li>identityInserts: lo que hacía Hibernate con GenerationType.IDENTITY, un insert por tarea
+ *     y lectura de la clave generada (reproducido con JDBC, ya que las entidades ya no usan IDENTITY)</li>
+ *     <li>unbatchedInserts: ids en bloques desde id_generators, pero sin lotes JDBC</li>
+ *     <li>batchedInserts: ids en bloques y lotes de hibernate.jdbc.batch_size</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskInsertBenchmark {
+
+    private static final int TASKS = 500;
+
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private long assigneeId;
+
+    @Setup
+    public void setUp(BenchmarkData data) {
+        transactionTemplate = new TransactionTemplate(data.bean(PlatformTransactionManager.class));
+        entityManager = data.bean(EntityManager.class);
+        jdbcTemplate = data.jdbcTemplate;
+        assigneeId = jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, BenchmarkData.COLLABORATOR);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long identityInserts(BenchmarkData data) {
+        return transactionTemplate.execute(status -> {
+            long lastId = 0;
+            LocalDate dueDate = LocalDate.now().plusDays(7);
+            for (int i = 0; i < TASKS; i++) {
+                GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+                String title = "Tarea masiva " + i;
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement("insert into tasks (project_id, assigned_user_id,"
+                            + " title, description, status, created_at, due_date) values (?, ?, ?, ?, ?, ?, ?)",
+                            Statement.RETURN_GENERATED_KEYS);
+                    statement.setLong(1, data.projectId);
+                    statement.setLong(2, assigneeId);
+                    statement.setString(3, title);
+                    statement.setString(4, "Creada por el benchmark");
+                    statement.setString(5, "PENDIENTE");
+                    statement.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+                    statement.setDate(7, Date.valueOf(dueDate));
+                    return statement;
+                }, keyHolder);
+                lastId = keyHolder.getKey().longValue();
+            }
+            return lastId;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long unbatchedInserts(BenchmarkData data) {
+        return transactionTemplate.execute(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+            return persistTasks(data.projectId);
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASKS)
+    public long batchedInserts(BenchmarkData data) {
+        return transactionTemplate.execute(status -> persistTasks(data.projectId));
+    }
+
+    private long persistTasks(long projectId) {
+        Project project = entityManager.getReference(Project.class, projectId);
+        User assignee = entityManager.getReference(User.class, assigneeId);
+        Task task = null;
+        for (int i = 0; i < TASKS; i++) {
+            task = new Task();
+            task.setTitle("Tarea masiva " + i);
+            task.setDescription("Creada por el benchmark");
+            task.setDueDate(LocalDate.now().plusDays(7));
+            task.setProject(project);
+            task.setAssignedUser(assignee);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+        return task.getId();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.formacomtrello.benchmark;
+
+import com.example.formacomtrello.dto.CommentDto;
+import com.example.formacomtrello.dto.KeysetPage;
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.dto.TaskSummary;
+import com.example.formacomtrello.model.Comment;
+import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.model.TaskStatus;
+import com.example.formacomtrello.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminos calientes de TaskServiceImpl: alta de tareas, cambio de estado, primera página
+ * de tareas de un proyecto y alta de comentarios.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    private TaskService taskService;
+    private TaskDto taskDto;
+    private CommentDto commentDto;
+    private boolean completed;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkData data) {
+        taskService = data.bean(TaskService.class);
+
+        taskDto = new TaskDto();
+        taskDto.setTitle("Tarea nueva");
+        taskDto.setDescription("Creada por el benchmark");
+        taskDto.setDueDate(LocalDate.now().plusDays(7));
+        taskDto.setAssignedUserEmail(BenchmarkData.COLLABORATOR);
+
+        commentDto = new CommentDto();
+        commentDto.setContent("Comentario del benchmark");
+    }
+
+    @Benchmark
+    public Task createTask(BenchmarkData data) {
+        return taskService.createTask(data.projectId, taskDto, BenchmarkData.MANAGER);
+    }
+
+    @Benchmark
+    public Task changeTaskStatus(BenchmarkData data) {
+        // Alterna el estado para que cada llamada sea un cambio real
+        completed = !completed;
+        return taskService.changeTaskStatus(data.taskId, completed ? TaskStatus.COMPLETADA : TaskStatus.EN_PROGRESO,
+                BenchmarkData.MANAGER);
+    }
+
+    @Benchmark
+    public KeysetPage<TaskSummary> findTasksByProjectId(BenchmarkData data) {
+        return taskService.findTasksByProjectId(data.projectId, BenchmarkData.MANAGER, null);
+    }
+
+    @Benchmark
+    public Comment addCommentToTask(BenchmarkData data) {
+        return taskService.addCommentToTask(data.taskId, commentDto, BenchmarkData.COLLABORATOR);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.formacomtrello.cache;
+
+import com.example.formacomtrello.model.ProjectMembership;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Caducidad, expulsión LRU, invalidaciones y contadores de la caché de pertenencia,
+ * con un reloj que avanza a mano.
+ */
+class ProjectMembershipCacheTests {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private ProjectMembershipCache newCache(int maxSize) {
+        return new ProjectMembershipCache(maxSize, Duration.ofMinutes(5), now::get);
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        ProjectMembershipCache cache = newCache(10);
+        cache.put(1L, 10L, ProjectMembership.OWNER);
+
+        now.addAndGet(Duration.ofMinutes(5).minusNanos(1).toNanos());
+        assertThat(cache.get(1L, 10L)).isEqualTo(ProjectMembership.OWNER);
+
+        now.addAndGet(1);
+        assertThat(cache.get(1L, 10L)).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        ProjectMembershipCache cache = newCache(2);
+        cache.put(1L, 10L, ProjectMembership.OWNER);
+        cache.put(1L, 11L, ProjectMembership.COLLABORATOR);
+        cache.get(1L, 10L); // (1, 11) pasa a ser la menos usada
+        cache.put(1L, 12L, ProjectMembership.NONE);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(1L, 11L)).isNull();
+        assertThat(cache.get(1L, 10L)).isEqualTo(ProjectMembership.OWNER);
+        assertThat(cache.get(1L, 12L)).isEqualTo(ProjectMembership.NONE);
+        assertThat(cache.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatesOneUserOrAWholeProject() {
+        ProjectMembershipCache cache = newCache(10);
+        cache.put(1L, 10L, ProjectMembership.OWNER);
+        cache.put(1L, 11L, ProjectMembership.COLLABORATOR);
+        cache.put(2L, 10L, ProjectMembership.OWNER);
+
+        cache.invalidate(1L, 11L);
+        cache.invalidate(1L, 99L); // No estaba: no cuenta
+        assertThat(cache.get(1L, 11L)).isNull();
+        assertThat(cache.getInvalidations()).isEqualTo(1);
+
+        cache.put(1L, 11L, ProjectMembership.COLLABORATOR);
+        cache.invalidateProject(1L);
+        assertThat(cache.get(1L, 10L)).isNull();
+        assertThat(cache.get(1L, 11L)).isNull();
+        assertThat(cache.get(2L, 10L)).isEqualTo(ProjectMembership.OWNER);
+        assertThat(cache.getInvalidations()).isEqualTo(3);
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        ProjectMembershipCache cache = newCache(10);
+        assertThat(cache.get(1L, 10L)).isNull();
+        cache.put(1L, 10L, ProjectMembership.COLLABORATOR);
+        cache.get(1L, 10L);
+        cache.get(1L, 10L);
+        cache.get(1L, 10L);
+
+        assertThat(cache.getHits()).isEqualTo(3);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHitRatio()).isEqualTo(0.75);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.formacomtrello.config;
+
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Altas concurrentes con el limitador activo y tantos permisos configurados como conexiones tiene el pool.
+ * Cada transacción tiene su conexión y, al agotarse el bloque de ids, Hibernate pide otra para
+ * id_generators: sin la reserva del limitador, los hilos se quedarían esperándose unos a otros.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=3000",
+        "app.jdbc.concurrency-limit.enabled=true",
+        "app.jdbc.concurrency-limit.permits=4",
+        "app.jdbc.concurrency-limit.acquire-timeout=PT3S"
+})
+@ActiveProfiles("test")
+class JdbcConcurrencyLimiterInsertTests {
+
+    private static final int THREADS = 8;
+    private static final int USERS_PER_TRANSACTION = 120; // Más que el bloque de ids (50)
+
+    @Autowired
+    private JdbcConcurrencyLimiter limiter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void concurrentInsertsDoNotStarveTheIdGenerator() throws Exception {
+        assertThat(limiter.getPermits()).isEqualTo(3); // Una conexión del pool queda para los bloques de ids
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> transactions = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                transactions.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < USERS_PER_TRANSACTION; i++) {
+                        testData.saveUser("limite-" + thread + "-" + i + "@test.com", Role.COLABORADOR);
+                    }
+                })));
+            }
+            for (Future<?> transaction : transactions) {
+                transaction.get(60, TimeUnit.SECONDS); // Lanza la excepción si algún alta agotó la espera
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(userRepository.count()).isEqualTo((long) THREADS * USERS_PER_TRANSACTION);
+        assertThat(limiter.getNestedConnections()).isPositive();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(limiter.getPermits());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.formacomtrello.config;
+
+import com.example.formacomtrello.monitoring.SqlTrackingDataSourcePostProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * El limitador toma un permiso por conexión abierta, lo devuelve una sola vez al cerrarla
+ * y hace esperar (hasta el tiempo máximo) a quien pide una conexión sin permisos libres.
+ * Las conexiones anidadas de un hilo que ya tiene una no esperan al semáforo.
+ */
+class JdbcConcurrencyLimiterTests {
+
+    @Test
+    void limitsOpenConnections() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection physical = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(physical);
+
+        JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(2, 10, 1, Duration.ofMillis(50));
+        DataSource dataSource = (DataSource) limiter.postProcessAfterInitialization(pool, "dataSource");
+
+        // Cada conexión desde su propio hilo: en el mismo hilo serían anidadas
+        Connection first = fromAnotherThread(dataSource).join();
+        Connection second = fromAnotherThread(dataSource).join();
+        assertThat(limiter.getAvailablePermits()).isZero();
+        assertThatThrownBy(fromAnotherThread(dataSource)::join).hasCauseInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        verify(pool, times(2)).getConnection();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+
+        second.close();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesPermitWhenPoolFails() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool agotado"));
+
+        JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(1, 10, 1, Duration.ofMillis(50));
+        DataSource dataSource = (DataSource) limiter.postProcessAfterInitialization(pool, "dataSource");
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool agotado");
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void nestedConnectionsOfTheSameThreadDoNotWaitForPermits() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+        // Pool de 2 con 1 reservada: un solo permiso, aunque se configuren 2
+        JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(2, 2, 1, Duration.ofMillis(50));
+        assertThat(limiter.getPermits()).isEqualTo(1);
+        DataSource dataSource = (DataSource) limiter.postProcessAfterInitialization(pool, "dataSource");
+
+        Connection outer = dataSource.getConnection();
+        Connection nested = dataSource.getConnection(); // Como el bloque de ids de @TableGenerator
+        assertThat(limiter.getNestedConnections()).isEqualTo(1);
+        nested.close();
+        assertThat(limiter.getAvailablePermits()).isZero();
+
+        // Otro hilo sí espera al permiso del primero
+        assertThatThrownBy(fromAnotherThread(dataSource)::join).hasCauseInstanceOf(SQLTransientConnectionException.class);
+
+        outer.close();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void wrapsThePoolBeforeSqlTracking() throws Exception {
+        JdbcConcurrencyLimiter limiter = new JdbcConcurrencyLimiter(1, 10, 1, Duration.ofMillis(50));
+        SqlTrackingDataSourcePostProcessor tracking = new SqlTrackingDataSourcePostProcessor();
+        List<BeanPostProcessor> postProcessors = new ArrayList<>(List.of(tracking, limiter));
+        AnnotationAwareOrderComparator.sort(postProcessors); // Como los ordena el contenedor
+
+        assertThat(postProcessors).containsExactly(limiter, tracking);
+
+        // Cerrar la conexión envuelta por los dos proxies devuelve el permiso
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+        Object dataSource = pool;
+        for (BeanPostProcessor postProcessor : postProcessors) {
+            dataSource = postProcessor.postProcessAfterInitialization(dataSource, "dataSource");
+        }
+        Connection connection = ((DataSource) dataSource).getConnection();
+        assertThat(limiter.getAvailablePermits()).isZero();
+        connection.close();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    private static CompletableFuture<Connection> fromAnotherThread(DataSource dataSource) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+}
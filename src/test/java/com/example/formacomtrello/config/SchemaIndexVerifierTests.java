@@ -0,0 +1,56 @@
+package com.example.formacomtrello.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * El esquema creado por las migraciones cumple el plan de índices, y la comprobación
+ * falla si la base de datos se desvía de él.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaIndexVerifierTests {
+
+    @Autowired
+    private SchemaIndexVerifier verifier;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migratedSchemaMatchesIndexPlan() {
+        assertThatCode(verifier::afterPropertiesSet).doesNotThrowAnyException();
+    }
+
+    @Test
+    void failsWhenAnIndexIsMissing() {
+        jdbcTemplate.execute("drop index idx_comments_task_created");
+        try {
+            assertThatThrownBy(verifier::afterPropertiesSet)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("idx_comments_task_created");
+        } finally {
+            jdbcTemplate.execute("create index idx_comments_task_created on comments (task_id, created_at, id)");
+        }
+    }
+
+    @Test
+    void failsWhenColumnsDiffer() {
+        jdbcTemplate.execute("drop index idx_tasks_project_status");
+        try {
+            jdbcTemplate.execute("create index idx_tasks_project_status on tasks (status, project_id)");
+            assertThatThrownBy(verifier::afterPropertiesSet)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("idx_tasks_project_status");
+        } finally {
+            jdbcTemplate.execute("drop index idx_tasks_project_status");
+            jdbcTemplate.execute("create index idx_tasks_project_status on tasks (project_id, status)");
+        }
+    }
+}
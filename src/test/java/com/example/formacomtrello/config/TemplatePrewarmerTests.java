@@ -0,0 +1,82 @@
+package com.example.formacomtrello.config;
+
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.repository.UserRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con la caché activa, cada plantilla queda parseada al arrancar aunque su procesado con un contexto
+ * vacío falle: pintar una página encuentra ya en caché la plantilla que pide la vista.
+ */
+@SpringBootTest(properties = {"spring.thymeleaf.cache=true", "app.thymeleaf.prewarm=true"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TemplatePrewarmerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void templatesAreParsedAtStartup() throws Exception {
+        assertThat(cachedTemplates()).contains(
+                "auth/login", "auth/register", "manager/project-list", "manager/project-form",
+                "collaborator/dashboard", "layout", "fragments/header");
+    }
+
+    @Test
+    void renderingPagesReusesTheStartupParse() throws Exception {
+        User manager = new User();
+        manager.setEmail("gestor@test.com");
+        manager.setPassword("{noop}secret");
+        manager.setNombre("Gestor");
+        manager.setApellidos("Apellidos");
+        manager.setRole(Role.GESTOR);
+        manager = userRepository.save(manager);
+        AuthenticatedUser principal = AuthenticatedUser.from(manager);
+
+        Set<String> prewarmed = cachedTemplates();
+        mockMvc.perform(get("/login")).andExpect(status().isOk());
+        mockMvc.perform(get("/manager/project-list").with(user(principal))).andExpect(status().isOk());
+        mockMvc.perform(get("/projects/new").with(user(principal))).andExpect(status().isOk());
+
+        // Las entradas nuevas son solo layouts y fragmentos incluidos desde otra plantilla
+        assertThat(cachedTemplates()).containsAll(prewarmed).hasSameSizeAs(prewarmed);
+    }
+
+    // Plantillas en caché tal cual las pide una vista (sin plantilla propietaria)
+    private Set<String> cachedTemplates() {
+        return templateEngine.getConfiguration().getCacheManager().getTemplateCache().keySet().stream()
+                .filter(key -> key.getOwnerTemplate() == null)
+                .map(TemplateCacheKey::getTemplate)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,324 @@
+package com.example.formacomtrello.controller;
+
+import com.example.formacomtrello.dto.BoardEvent;
+import com.example.formacomtrello.dto.CommentDto;
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.service.BoardEventService;
+import com.example.formacomtrello.service.TaskService;
+import com.example.formacomtrello.support.TestData;
+import com.example.formacomtrello.support.TestData.Team;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cambios de tareas en directo por Server-Sent Events: solo a los usuarios del proyecto,
+ * solo cambios confirmados y con los datos para actualizar la fila de la tarea. Un cliente que
+ * no lee no retiene al resto aunque el pool tenga un solo hilo.
+ */
+@SpringBootTest(properties = {
+        "app.live.dispatch-threads=1",
+        "app.live.write-timeout=PT0.3S",
+        "app.live.write-check-interval=PT0.1S"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BoardEventsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private BoardEventService boardEventService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User manager;
+    private User collaborator;
+    private User outsider;
+    private Project project;
+    private Project other;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = testData.saveTeam("live-gestor@test.com", "live-colab@test.com", "En directo");
+            manager = team.manager();
+            collaborator = team.collaborator();
+            project = team.project();
+            outsider = testData.saveUser("live-ajeno@test.com", Role.COLABORADOR);
+            other = testData.saveProject("Otro", manager, outsider);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void streamsTaskChangesToTheProjectSubscribers() throws Exception {
+        MockHttpServletResponse stream = subscribe(project, collaborator);
+        MockHttpServletResponse otherStream = subscribe(other, outsider);
+        assertThat(boardEventService.getSubscriberCount(project.getId())).isEqualTo(1);
+
+        Task task = taskService.createTask(project.getId(), newTaskDto("Maquetar"), manager.getEmail());
+        taskService.markTaskAsAccepted(task.getId(), collaborator.getEmail());
+        CommentDto comment = new CommentDto();
+        comment.setContent("Empiezo hoy");
+        taskService.addCommentToTask(task.getId(), comment, collaborator.getEmail());
+
+        List<SentEvent> events = awaitEvents(stream, 3);
+        assertThat(events).extracting(SentEvent::name)
+                .containsExactly("task-created", "task-status-changed", "comment-added");
+        assertThat(events.get(0).data().get("title").asText()).isEqualTo("Maquetar");
+        assertThat(events.get(0).data().get("assigneeEmail").asText()).isEqualTo(collaborator.getEmail());
+        assertThat(events.get(1).data().get("taskIds").get(0).asLong()).isEqualTo(task.getId());
+        assertThat(events.get(1).data().get("status").asText()).isEqualTo("EN_PROGRESO");
+        assertThat(events.get(2).data().get("commentExcerpt").asText()).isEqualTo("Empiezo hoy");
+
+        assertThat(events(otherStream)).isEmpty(); // Otro proyecto
+    }
+
+    @Test
+    void bulkOperationsSendOneEventWithAllTheTasks() throws Exception {
+        List<Long> ids = taskService.createTasks(project.getId(), List.of(newTaskDto("A"), newTaskDto("B")), manager.getEmail())
+                .stream().map(Task::getId).toList();
+        MockHttpServletResponse stream = subscribe(project, manager);
+
+        taskService.changeTasksStatus(project.getId(), ids, TaskStatus.COMPLETADA, manager.getEmail());
+        taskService.deleteTasks(project.getId(), ids, manager.getEmail());
+
+        List<SentEvent> events = awaitEvents(stream, 2);
+        assertThat(events).extracting(SentEvent::name).containsExactly("task-status-changed", "task-deleted");
+        for (SentEvent event : events) {
+            assertThat(event.data().get("taskIds")).extracting(JsonNode::asLong).containsExactlyInAnyOrderElementsOf(ids);
+        }
+    }
+
+    @Test
+    void repeatedStatusChangesAreSentOnce() throws Exception {
+        Task task = taskService.createTask(project.getId(), newTaskDto("Revisar"), manager.getEmail());
+        MockHttpServletResponse stream = subscribe(project, manager);
+
+        taskService.markTaskAsAccepted(task.getId(), collaborator.getEmail());
+        taskService.markTaskAsAccepted(task.getId(), collaborator.getEmail());
+        taskService.markTaskAsCompleted(task.getId(), collaborator.getEmail());
+        taskService.markTaskAsCompleted(task.getId(), collaborator.getEmail());
+        BoardEvent marker = BoardEvent.deleted(project.getId(), List.of(0L));
+        boardEventService.publish(marker); // El último: cuando llega, ya se habrían enviado los repetidos
+
+        List<SentEvent> events = awaitEvents(stream, 3);
+        assertThat(events).extracting(SentEvent::name).containsExactly("task-status-changed", "task-status-changed", "task-deleted");
+        assertThat(events).extracting(event -> event.data().path("status").asText()).startsWith("EN_PROGRESO", "COMPLETADA");
+    }
+
+    @Test
+    void rolledBackChangesAreNotSent() throws Exception {
+        MockHttpServletResponse stream = subscribe(project, manager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            boardEventService.publish(BoardEvent.deleted(project.getId(), List.of(1L)));
+            status.setRollbackOnly();
+        });
+        boardEventService.publish(BoardEvent.deleted(project.getId(), List.of(2L)));
+
+        List<SentEvent> events = awaitEvents(stream, 1);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).data().get("taskIds").get(0).asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    void rejectsUsersWithoutAccess() throws Exception {
+        mockMvc.perform(get("/projects/" + project.getId() + "/events").with(user(AuthenticatedUser.from(outsider))))
+                .andExpect(status().isForbidden())
+                .andExpect(request().asyncNotStarted());
+        assertThat(boardEventService.getSubscriberCount(project.getId())).isZero();
+    }
+
+    @Test
+    void aBlockedWriteDoesNotHoldBackTheOtherSubscribers() throws Exception {
+        BlockingResponseFilter blocking = new BlockingResponseFilter();
+        MockMvc slowClient = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).addFilters(blocking).build();
+        subscribe(slowClient, project, collaborator);
+        MockHttpServletResponse stream = subscribe(project, manager);
+        long slowDisconnects = boardEventService.getSlowDisconnects();
+
+        blocking.blocking = true;
+        try {
+            taskService.createTask(project.getId(), newTaskDto("Primera"), manager.getEmail());
+            assertThat(blocking.blocked.await(5, TimeUnit.SECONDS)).isTrue(); // El único hilo del pool espera al cliente lento
+            taskService.createTask(project.getId(), newTaskDto("Segunda"), manager.getEmail());
+
+            assertThat(awaitEvents(stream, 2)).extracting(event -> event.data().get("title").asText())
+                    .containsExactly("Primera", "Segunda");
+            assertThat(boardEventService.getSlowDisconnects()).isEqualTo(slowDisconnects + 1);
+            assertThat(boardEventService.getSubscriberCount(project.getId())).isEqualTo(1);
+        } finally {
+            blocking.released.countDown();
+        }
+    }
+
+    private record SentEvent(String name, JsonNode data) {
+    }
+
+    // Con 'blocking', las escrituras en la respuesta se quedan esperando como las de un cliente que no lee
+    private static class BlockingResponseFilter extends OncePerRequestFilter {
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        volatile boolean blocking;
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            chain.doFilter(request, new HttpServletResponseWrapper(response) {
+                @Override
+                public ServletOutputStream getOutputStream() throws IOException {
+                    ServletOutputStream out = super.getOutputStream();
+                    return new ServletOutputStream() {
+                        @Override
+                        public void write(int b) throws IOException {
+                            awaitRelease();
+                            out.write(b);
+                        }
+
+                        @Override
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            awaitRelease();
+                            out.write(b, off, len);
+                        }
+
+                        @Override
+                        public void flush() throws IOException {
+                            out.flush();
+                        }
+
+                        @Override
+                        public boolean isReady() {
+                            return true;
+                        }
+
+                        @Override
+                        public void setWriteListener(WriteListener listener) {
+                        }
+                    };
+                }
+            });
+        }
+
+        private void awaitRelease() throws IOException {
+            if (blocking) {
+                blocked.countDown();
+                try {
+                    released.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+    }
+
+    private MockHttpServletResponse subscribe(Project project, User user) throws Exception {
+        return subscribe(mockMvc, project, user);
+    }
+
+    private static MockHttpServletResponse subscribe(MockMvc client, Project project, User user) throws Exception {
+        MvcResult result = client.perform(get("/projects/" + project.getId() + "/events")
+                        .with(user(AuthenticatedUser.from(user))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    // Los eventos los escribe el pool de BoardEventServiceImpl: se espera a que lleguen
+    private List<SentEvent> awaitEvents(MockHttpServletResponse stream, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<SentEvent> events = events(stream);
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            events = events(stream);
+        }
+        return events;
+    }
+
+    // Bloques "event:...\ndata:...\n\n"; los comentarios (":conectado") no son eventos
+    private List<SentEvent> events(MockHttpServletResponse stream) throws Exception {
+        List<SentEvent> events = new ArrayList<>();
+        for (String block : stream.getContentAsString(StandardCharsets.UTF_8).split("\n\n")) {
+            String name = null;
+            String data = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("event:")) {
+                    name = line.substring("event:".length());
+                } else if (line.startsWith("data:")) {
+                    data = line.substring("data:".length());
+                }
+            }
+            if (name != null) {
+                events.add(new SentEvent(name, objectMapper.readTree(data)));
+            }
+        }
+        return events;
+    }
+
+    private TaskDto newTaskDto(String title) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(title);
+        dto.setDueDate(LocalDate.now().plusDays(3));
+        dto.setAssignedUserEmail(collaborator.getEmail());
+        return dto;
+    }
+}
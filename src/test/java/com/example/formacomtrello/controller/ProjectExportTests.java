@@ -0,0 +1,217 @@
+package com.example.formacomtrello.controller;
+
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.repository.CommentRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.support.TestData;
+import com.example.formacomtrello.support.TestData.Team;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exportación de un proyecto por StreamingResponseBody en CSV, JSON Lines y ZIP.
+ * Bloques de 2 tareas: JSON Lines cruza un límite de bloque con las 3 tareas del proyecto.
+ */
+@SpringBootTest(properties = "app.export.batch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectExportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User manager;
+    private User collaborator;
+    private User outsider;
+    private Project project;
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = testData.saveTeam("export-gestor@test.com", "export-colab@test.com", "Exportable");
+            manager = team.manager();
+            collaborator = team.collaborator();
+            project = team.project();
+            outsider = testData.saveUser("export-ajeno@test.com", Role.COLABORADOR);
+            for (int i = 0; i < 3; i++) {
+                Task task = new Task();
+                task.setTitle("Tarea " + i);
+                task.setDescription(i == 0 ? "Con \"comillas\", comas\ny saltos" : null);
+                task.setDueDate(LocalDate.now().plusDays(i));
+                task.setProject(project);
+                task.setAssignedUser(collaborator);
+                tasks.add(taskRepository.save(task));
+            }
+            // Comentarios en la primera y la última tarea; la del medio no tiene
+            addComment(tasks.get(2), manager, "Último");
+            addComment(tasks.get(0), collaborator, "Primero");
+            addComment(tasks.get(0), manager, "Segundo");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void exportsTasksAsCsv() throws Exception {
+        MvcResult result = export("csv", manager);
+        assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+        String csv = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(csv).startsWith("id,title,description,status,dueDate,createdAt,assignedUserEmail,assigneeName\r\n");
+        assertThat(csv).contains("\"Con \"\"comillas\"\", comas\ny saltos\"");
+        assertThat(csv.split("\r\n")).hasSize(4);
+    }
+
+    @Test
+    void neutralizesSpreadsheetFormulasInCsv() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            Task task = new Task();
+            task.setTitle("=HYPERLINK(\"http://malo.example\",\"pulsa\")");
+            task.setDescription("-2+3");
+            task.setProject(project);
+            taskRepository.save(task);
+            addComment(task, manager, "@SUM(A1:A9)");
+        });
+
+        String csv = export("csv", manager).getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://malo.example\"\",\"\"pulsa\"\")\",\"'-2+3\",");
+        assertThat(csv).contains(",Tarea 1,,"); // El texto normal no cambia
+
+        String comments = unzip(export("zip", manager)).get("comments.csv");
+        assertThat(comments).contains(",\"'@SUM(A1:A9)\"\r\n");
+    }
+
+    @Test
+    void exportsCommentsAfterTheirTaskAsJsonLines() throws Exception {
+        String jsonl = export("jsonl", collaborator).getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(records(jsonl)).containsExactly("task:Tarea 0", "comment:Primero", "comment:Segundo",
+                "task:Tarea 1", "task:Tarea 2", "comment:Último");
+    }
+
+    @Test
+    void pagesTheCommentsOfATaskWithManyComments() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 7; i++) {
+                addComment(tasks.get(1), collaborator, "Nota " + i); // Varias páginas de 2 dentro del mismo bloque
+            }
+        });
+
+        String jsonl = export("jsonl", manager).getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(records(jsonl)).containsExactly("task:Tarea 0", "comment:Primero", "comment:Segundo",
+                "task:Tarea 1", "comment:Nota 0", "comment:Nota 1", "comment:Nota 2", "comment:Nota 3",
+                "comment:Nota 4", "comment:Nota 5", "comment:Nota 6",
+                "task:Tarea 2", "comment:Último");
+    }
+
+    @Test
+    void exportsZipBundle() throws Exception {
+        MvcResult result = export("zip", manager);
+        assertThat(result.getResponse().getHeader("Content-Disposition"))
+                .isEqualTo("attachment; filename=\"proyecto-" + project.getId() + ".zip\"");
+
+        Map<String, String> entries = unzip(result);
+        assertThat(entries).containsOnlyKeys("tasks.csv", "comments.csv");
+        assertThat(entries.get("comments.csv").split("\r\n")).hasSize(4);
+    }
+
+    @Test
+    void rejectsUsersWithoutAccessAndUnknownFormats() throws Exception {
+        mockMvc.perform(get("/projects/" + project.getId() + "/export").param("format", "csv")
+                        .with(user(AuthenticatedUser.from(outsider))))
+                .andExpect(status().isForbidden())
+                .andExpect(request().asyncNotStarted());
+        mockMvc.perform(get("/projects/" + project.getId() + "/export").param("format", "xlsx")
+                        .with(user(AuthenticatedUser.from(manager))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MvcResult export(String format, User user) throws Exception {
+        MvcResult started = mockMvc.perform(get("/projects/" + project.getId() + "/export").param("format", format)
+                        .with(user(AuthenticatedUser.from(user))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Content-Disposition"))
+                .andReturn();
+    }
+
+    // "tipo:título" de las tareas y "tipo:contenido" de los comentarios, en el orden del fichero
+    private List<String> records(String jsonl) throws IOException {
+        List<String> records = new ArrayList<>();
+        for (String line : jsonl.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            records.add(node.get("type").asText() + ":" + (node.has("title") ? node.get("title").asText() : node.get("content").asText()));
+        }
+        return records;
+    }
+
+    private static Map<String, String> unzip(MvcResult result) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private void addComment(Task task, User author, String content) {
+        Comment comment = new Comment();
+        comment.setTask(task);
+        comment.setAuthor(author);
+        comment.setContent(content);
+        commentRepository.save(comment);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.formacomtrello.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las fotos se sirven sin autenticación ni sesión, con caché inmutable si la URL lleva el hash
+ * del contenido, revalidación por ETag y peticiones Range.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UploadControllerTests {
+
+    private static final String THUMBNAIL = "a".repeat(64) + "-32.jpg";
+    private static final String LEGACY = "user_test_com_1234abcd_foto.png";
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    static Path uploadDir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("app.upload.dir", () -> uploadDir.toString());
+    }
+
+    @BeforeAll
+    static void createFiles() throws IOException {
+        Files.writeString(uploadDir.resolve(THUMBNAIL), CONTENT, StandardCharsets.US_ASCII);
+        Files.writeString(uploadDir.resolve(LEGACY), CONTENT, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    void servesThumbnailsAsImmutableWithoutSession() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + "a".repeat(64) + "-32\""))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/jpeg"))
+                .andExpect(content().string(CONTENT))
+                .andReturn();
+        assertThat(result.getRequest().getSession(false)).isNull();
+
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.IF_NONE_MATCH, "\"" + "a".repeat(64) + "-32\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void legacyFilesAreRevalidated() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/profiles/" + LEGACY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/");
+
+        mockMvc.perform(get("/uploads/profiles/" + LEGACY).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(content().string("56789"));
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("hij"));
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.RANGE, "bytes=50-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    void rangePositionsBeyondLongAreNotServerErrors() throws Exception {
+        String huge = "99999999999999999999"; // Mayor que Long.MAX_VALUE
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.RANGE, "bytes=" + huge + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.RANGE, "bytes=" + huge + "-" + huge))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+        // Final o sufijo mayores que el archivo: se recortan al archivo, como cualquier otro final
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.RANGE, "bytes=15-" + huge))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 15-19/20"));
+        mockMvc.perform(get("/uploads/profiles/" + THUMBNAIL).header(HttpHeaders.RANGE, "bytes=-" + huge))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-19/20"));
+    }
+
+    @Test
+    void rejectsUnknownAndUnsafeNames() throws Exception {
+        mockMvc.perform(get("/uploads/profiles/no-existe.jpg")).andExpect(status().isNotFound());
+        // El firewall de Spring Security ya rechaza las barras codificadas (400)
+        mockMvc.perform(get("/uploads/profiles/..%2F..%2Fetc%2Fpasswd")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/uploads/profiles/.hidden")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.formacomtrello.controller;
+
+import com.example.formacomtrello.dto.TaskSummary;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.monitoring.SqlStatistics;
+import com.example.formacomtrello.repository.CommentRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.support.SqlBudget;
+import com.example.formacomtrello.support.TestData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+/**
+ * Comprueba que las vistas con listas no hacen N+1: el número de sentencias SQL por petición
+ * (contadas por SqlBudgetInterceptor) no depende del número de tareas, colaboradores o comentarios.
+ */
+@SpringBootTest(properties = "app.pagination.page-size=" + ViewQueryCountTests.PAGE_SIZE)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ViewQueryCountTests {
+
+    private static final int TASKS = 20;
+
+    static final int PAGE_SIZE = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User manager;
+    private User collaborator;
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        // En una transacción: el proyecto persiste en cascada los colaboradores y deben seguir gestionados
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    private void seed() {
+        manager = testData.saveUser("gestor@test.com", Role.GESTOR);
+        List<User> collaborators = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            collaborators.add(testData.saveUser("colab" + i + "@test.com", Role.COLABORADOR));
+        }
+        collaborator = collaborators.get(0);
+
+        project = testData.saveProject("Proyecto", manager, collaborators.toArray(User[]::new));
+
+        for (int i = 0; i < TASKS; i++) {
+            Task t = new Task();
+            t.setTitle("Tarea " + i);
+            t.setDescription("Descripción " + i);
+            t.setDueDate(LocalDate.now().plusDays(i));
+            t.setProject(project);
+            t.setAssignedUser(collaborators.get(i % collaborators.size()));
+            t = taskRepository.save(t);
+            if (task == null) {
+                task = t;
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comentario " + i);
+            comment.setTask(task);
+            comment.setAuthor(i % 2 == 0 ? manager : collaborators.get(i % collaborators.size()));
+            commentRepository.save(comment);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void managerProjectDetailUsesConstantQueries() throws Exception {
+        mockMvc.perform(get("/projects/" + project.getId()).with(user(principal(manager))))
+                .andExpect(status().isOk())
+                .andExpect(view().name("manager/project-detail"))
+                .andExpect(SqlBudget.atMost(3));
+    }
+
+    @Test
+    void collaboratorProjectDetailUsesConstantQueries() throws Exception {
+        mockMvc.perform(get("/projects/" + project.getId()).with(user(principal(collaborator))))
+                .andExpect(status().isOk())
+                .andExpect(view().name("collaborator/project-detail"))
+                .andExpect(SqlBudget.withinBudget());
+    }
+
+    @Test
+    void taskDetailUsesConstantQueries() throws Exception {
+        mockMvc.perform(get("/tasks/" + task.getId()).with(user(principal(collaborator))))
+                .andExpect(status().isOk())
+                .andExpect(view().name("tasks/task-detail"))
+                .andExpect(SqlBudget.withinBudget());
+    }
+
+    @Test
+    void collaboratorTaskListUsesConstantQueries() throws Exception {
+        mockMvc.perform(get("/collaborator/tasks").with(user(principal(collaborator))))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.atMost(1));
+    }
+
+    @Test
+    void collaboratorProjectListUsesConstantQueries() throws Exception {
+        mockMvc.perform(get("/projects/collaborator/list").with(user(principal(collaborator))))
+                .andExpect(status().isOk())
+                .andExpect(SqlBudget.atMost(1));
+    }
+
+    @Test
+    void requestsAreTaggedWithTheirHandler() throws Exception {
+        MvcResult result = mockMvc.perform(get("/tasks/" + task.getId()).with(user(principal(collaborator))))
+                .andExpect(status().isOk()).andReturn();
+        SqlStatistics statistics = SqlBudget.statistics(result);
+        assertThat(statistics.getHandler()).isEqualTo("TaskController.viewTaskDetails");
+        assertThat(statistics.getRows()).isPositive();
+        assertThat(statistics.getStatementCounts()).isNotEmpty();
+    }
+
+    @Test
+    void listPagesDoNotLoadEntities() throws Exception {
+        Statistics statistics = statistics();
+        statistics.clear();
+        mockMvc.perform(get("/manager/project-list").with(user(principal(manager))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/projects/collaborator/list").with(user(principal(collaborator))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/collaborator/tasks").with(user(principal(collaborator))))
+                .andExpect(status().isOk());
+        // Las listas se pintan con proyecciones: ninguna entidad entra en el contexto de persistencia
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void projectTasksArePagedByKeyset() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            var request = get("/projects/" + project.getId()).with(user(principal(manager)));
+            if (after != null) {
+                request.param("after", after);
+            }
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            Map<String, Object> model = result.getModelAndView().getModel();
+            @SuppressWarnings("unchecked")
+            List<TaskSummary> tasks = (List<TaskSummary>) model.get("tasks");
+            assertThat(tasks).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            tasks.forEach(t -> seen.add(t.getId()));
+            after = (String) model.get("nextCursor");
+            pages++;
+        } while (after != null);
+
+        // Todas las tareas, sin repetir ni saltar ninguna, aunque compartan createdAt
+        assertThat(pages).isEqualTo((TASKS + PAGE_SIZE - 1) / PAGE_SIZE);
+        assertThat(seen).doesNotHaveDuplicates().hasSize(TASKS).isSorted();
+    }
+
+    @Test
+    void commentThreadIsPagedByKeyset() throws Exception {
+        MvcResult first = mockMvc.perform(get("/tasks/" + task.getId()).with(user(principal(collaborator))))
+                .andExpect(status().isOk()).andReturn();
+        Map<String, Object> model = first.getModelAndView().getModel();
+        assertThat((List<?>) model.get("comments")).hasSize(PAGE_SIZE);
+        String after = (String) model.get("nextCursor");
+        assertThat(after).isNotNull();
+
+        mockMvc.perform(get("/tasks/" + task.getId()).param("after", after)
+                        .with(user(principal(collaborator))))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("comments", hasSize(10 - PAGE_SIZE)))
+                .andExpect(model().attribute("nextCursor", nullValue()))
+                .andExpect(SqlBudget.withinBudget());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static AuthenticatedUser principal(User user) {
+        return AuthenticatedUser.from(user);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.formacomtrello.repository;
+
+import com.example.formacomtrello.dto.ProjectSummary;
+import com.example.formacomtrello.model.Project;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara la consulta unificada de proyectos accesibles con el método anterior
+ * (dos consultas de entidades combinadas en memoria) sobre miles de proyectos por usuario.
+ * Solo se ejecuta con el perfil de Maven 'benchmark': mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class AccessibleProjectsBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessibleProjectsBenchmarkTests.class);
+
+    private static final int OWNED = 3000;
+    private static final int COLLABORATING = 2000;
+    private static final int UNRELATED = 5000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private long userId;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void seed() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        userId = insertUser("bench-gestor@test.com", "GESTOR");
+        long otherOwner = insertUser("bench-otro@test.com", "GESTOR");
+        long stranger = insertUser("bench-ajeno@test.com", "COLABORADOR");
+
+        insertProjects(userId, OWNED);
+        insertProjects(otherOwner, COLLABORATING);
+        insertProjects(stranger, UNRELATED);
+        // El usuario colabora en todos los proyectos de 'otherOwner'; 'stranger' en los suyos no
+        jdbcTemplate.update("insert into project_collaborators (project_id, user_id) select id, ? from projects where owner_id = ?",
+                userId, otherOwner);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from project_collaborators");
+        jdbcTemplate.update("delete from projects");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void unifiedQueryVersusMergeInMemory() {
+        // Resultado: todos los proyectos accesibles, sin duplicados, recorriendo todas las páginas
+        Set<Long> ids = new HashSet<>();
+        Page<ProjectSummary> page;
+        int number = 0;
+        do {
+            page = projectRepository.findSummariesAccessibleBy(userId, null, PageRequest.of(number++, 500));
+            page.forEach(p -> ids.add(p.getId()));
+        } while (page.hasNext());
+        assertThat(ids).hasSize(OWNED + COLLABORATING);
+        assertThat(page.getTotalElements()).isEqualTo(OWNED + COLLABORATING);
+        assertThat(projectRepository.findSummariesAccessibleBy(userId, true, PageRequest.of(0, PAGE_SIZE)).getTotalElements())
+                .isEqualTo(OWNED / 10 + COLLABORATING / 10);
+
+        double legacy = measure("dos consultas + distinct()", () -> legacyAccessibleProjects().size());
+        double firstPage = measure("consulta unificada, primera página", () ->
+                projectRepository.findSummariesAccessibleBy(userId, null, PageRequest.of(0, PAGE_SIZE)).getNumberOfElements());
+        double openOnly = measure("consulta unificada, solo abiertos", () ->
+                projectRepository.findSummariesAccessibleBy(userId, false, PageRequest.of(0, PAGE_SIZE)).getNumberOfElements());
+
+        log.info("Proyectos accesibles ({} propios, {} como colaborador, {} ajenos): legacy {} ms, página {} ms, abiertos {} ms",
+                OWNED, COLLABORATING, UNRELATED,
+                String.format("%.2f", legacy), String.format("%.2f", firstPage), String.format("%.2f", openOnly));
+    }
+
+    // Implementación anterior de ProjectServiceImpl.findUserAccessibleProjects (las consultas derivadas
+    // findByOwnerId y findByCollaboratorsContains, ya retiradas del repositorio)
+    private List<Project> legacyAccessibleProjects() {
+        List<Project> owned = entityManager.createQuery("select p from Project p where p.owner.id = :userId", Project.class)
+                .setParameter("userId", userId).getResultList();
+        List<Project> collaborating = entityManager.createQuery(
+                        "select p from Project p join fetch p.owner join p.collaborators c where c.id = :userId", Project.class)
+                .setParameter("userId", userId).getResultList();
+        return Stream.concat(owned.stream(), collaborating.stream()).distinct().collect(Collectors.toList());
+    }
+
+    // Media en milisegundos; cada iteración en su propia transacción de solo lectura y contexto limpio
+    private double measure(String name, Supplier<Integer> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            runIsolated(query);
+        }
+        long total = 0;
+        int rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            rows = runIsolated(query);
+            total += System.nanoTime() - start;
+        }
+        double avg = total / 1_000_000.0 / ITERATIONS;
+        log.info("{}: {} filas, {} ms de media", name, rows, String.format("%.2f", avg));
+        return avg;
+    }
+
+    private int runIsolated(Supplier<Integer> query) {
+        return readOnlyTransaction.execute(status -> {
+            int rows = query.get();
+            entityManager.clear();
+            return rows;
+        });
+    }
+
+    private long insertUser(String email, String role) {
+        jdbcTemplate.update("insert into users (email, nombre, apellidos, role) values (?, 'Bench', 'Mark', ?)", email, role);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, email);
+    }
+
+    private void insertProjects(long ownerId, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Uno de cada diez cerrado; fechas repetidas para ejercitar el desempate por id
+            rows.add(new Object[]{i % 10 == 0, Timestamp.valueOf(now.minusMinutes(i / 3)), ownerId,
+                    "Proyecto " + ownerId + "-" + i, "Descripción del proyecto " + i});
+        }
+        jdbcTemplate.batchUpdate("insert into projects (closed, created_at, owner_id, title, description) values (?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.formacomtrello.repository;
+
+import com.example.formacomtrello.dto.ProjectSummary;
+import com.example.formacomtrello.model.Project;
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Consulta unificada de proyectos accesibles (propietario o colaborador): qué proyectos entran,
+ * filtro por estado, orden estable y paginación sin duplicados. El rendimiento con miles de
+ * proyectos se mide aparte en AccessibleProjectsBenchmarkTests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjectRepositoryTests {
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private User user;
+    private User outsider;
+    private Project ownedOpen;
+    private Project ownedClosed;
+    private Project collaborating;
+    private Project collaboratingClosed;
+    private Project ownedAndCollaborating;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> seed());
+    }
+
+    private void seed() {
+        user = testData.saveUser("accesibles-gestor@test.com", Role.GESTOR);
+        User otherOwner = testData.saveUser("accesibles-otro@test.com", Role.GESTOR);
+        User otherCollaborator = testData.saveUser("accesibles-colab@test.com", Role.COLABORADOR);
+        outsider = testData.saveUser("accesibles-ajeno@test.com", Role.COLABORADOR);
+
+        // Fechas repetidas a propósito: el desempate es el id, de mayor a menor
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        ownedOpen = save("Propio abierto", user, false, now);
+        ownedClosed = save("Propio cerrado", user, true, now.minusDays(1));
+        collaborating = save("Colabora", otherOwner, false, now, user, otherCollaborator);
+        collaboratingClosed = save("Colabora cerrado", otherOwner, true, now.minusDays(2), user);
+        ownedAndCollaborating = save("Propio y colabora", user, false, now.minusDays(1), user, otherCollaborator);
+        save("Ajeno", otherOwner, false, now, otherCollaborator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void includesOwnedAndCollaboratingProjectsOnceInStableOrder() {
+        Page<ProjectSummary> all = projectRepository.findSummariesAccessibleBy(user.getId(), null, PageRequest.of(0, 20));
+
+        assertThat(all.getTotalElements()).isEqualTo(5);
+        assertThat(ids(all)).containsExactly(
+                collaborating.getId(), ownedOpen.getId(), // Misma fecha: el id más alto primero
+                ownedAndCollaborating.getId(), ownedClosed.getId(),
+                collaboratingClosed.getId());
+        assertThat(all.getContent().get(0).getOwnerNombre()).isEqualTo("Nombre");
+    }
+
+    @Test
+    void pagesDoNotRepeatOrSkipProjects() {
+        List<Long> expected = ids(projectRepository.findSummariesAccessibleBy(user.getId(), null, PageRequest.of(0, 20)));
+
+        List<Long> paged = new ArrayList<>();
+        Page<ProjectSummary> page;
+        int number = 0;
+        do {
+            page = projectRepository.findSummariesAccessibleBy(user.getId(), null, PageRequest.of(number++, 2));
+            paged.addAll(ids(page));
+        } while (page.hasNext());
+
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void filtersByClosedState() {
+        assertThat(ids(projectRepository.findSummariesAccessibleBy(user.getId(), true, PageRequest.of(0, 20))))
+                .containsExactlyInAnyOrder(ownedClosed.getId(), collaboratingClosed.getId());
+        assertThat(ids(projectRepository.findSummariesAccessibleBy(user.getId(), false, PageRequest.of(0, 20))))
+                .containsExactlyInAnyOrder(ownedOpen.getId(), collaborating.getId(), ownedAndCollaborating.getId());
+    }
+
+    @Test
+    void outsiderSeesNothing() {
+        assertThat(projectRepository.findSummariesAccessibleBy(outsider.getId(), null, PageRequest.of(0, 20))).isEmpty();
+        assertThat(projectRepository.findAccessibleProjectIds(outsider.getId())).isEmpty();
+        assertThat(projectRepository.findAccessibleProjectIds(user.getId())).containsExactlyInAnyOrder(
+                ownedOpen.getId(), ownedClosed.getId(), collaborating.getId(),
+                collaboratingClosed.getId(), ownedAndCollaborating.getId());
+    }
+
+    private Project save(String title, User owner, boolean closed, LocalDateTime createdAt, User... collaborators) {
+        Project project = new Project();
+        project.setTitle(title);
+        project.setOwner(owner);
+        project.setClosed(closed);
+        project.setCreatedAt(createdAt);
+        project.getCollaborators().addAll(Set.of(collaborators));
+        return projectRepository.save(project);
+    }
+
+    private static List<Long> ids(Page<ProjectSummary> page) {
+        return page.getContent().stream().map(ProjectSummary::getId).toList();
+    }
+}
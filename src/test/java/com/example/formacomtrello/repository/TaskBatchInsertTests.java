@@ -0,0 +1,91 @@
+package com.example.formacomtrello.repository;
+
+import com.example.formacomtrello.model.Project;
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.monitoring.SqlStatementTracker;
+import com.example.formacomtrello.monitoring.SqlStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los ids se asignan en bloques desde id_generators, así que el alta de muchas tareas
+ * se envía en lotes JDBC de hibernate.jdbc.batch_size en lugar de un insert por tarea.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskBatchInsertTests {
+
+    private static final int TASKS = 120;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void tasksAreInsertedInBatches() {
+        User manager = new User();
+        manager.setEmail("lotes@test.com");
+        manager.setPassword("{noop}secret");
+        manager.setNombre("Gestor");
+        manager.setApellidos("Lotes");
+        manager.setRole(Role.GESTOR);
+        manager = userRepository.save(manager);
+        Project project = new Project();
+        project.setTitle("Proyecto con muchas tareas");
+        project.setOwner(manager);
+        Project saved = projectRepository.save(project);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Tarea " + i);
+            task.setProject(saved);
+            tasks.add(task);
+        }
+
+        SqlStatementTracker.start("TaskBatchInsertTests", Integer.MAX_VALUE);
+        List<Task> persisted;
+        SqlStatistics statistics;
+        try {
+            persisted = transactionTemplate.execute(status -> taskRepository.saveAll(tasks));
+        } finally {
+            statistics = SqlStatementTracker.stop();
+        }
+
+        assertThat(persisted).extracting(Task::getId).doesNotContainNull().doesNotHaveDuplicates().isSorted();
+        assertThat(taskRepository.count()).isEqualTo(TASKS);
+        int taskInserts = statistics.getStatementCounts().entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith("insert into tasks"))
+                .mapToInt(entry -> entry.getValue())
+                .sum();
+        // 120 tareas en lotes de 50: tres ejecuciones, más las pocas lecturas de id_generators
+        assertThat(taskInserts).isEqualTo(3);
+        assertThat(statistics.getStatements()).isLessThan(10);
+    }
+}
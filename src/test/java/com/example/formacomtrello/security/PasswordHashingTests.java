@@ -0,0 +1,115 @@
+package com.example.formacomtrello.security;
+
+import com.example.formacomtrello.exception.PasswordHashingRejectedException;
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login con hashes antiguos (sin prefijo, coste menor) que se regeneran con la configuración
+ * actual, y rechazo de operaciones cuando el pool de hashing está saturado (503 en el login).
+ */
+@SpringBootTest(properties = {
+        "app.security.password.bcrypt-cost=5",
+        "app.security.password.hashing-threads=1",
+        "app.security.password.queue-capacity=1",
+        "app.security.password.retry-after=PT7S"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void loginRehashesLegacyPassword() throws Exception {
+        User user = new User();
+        user.setEmail("gestor@test.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("secret")); // Como los guardaba la versión anterior
+        user.setNombre("Gestor");
+        user.setApellidos("Apellidos");
+        user.setRole(Role.GESTOR);
+        userRepository.save(user);
+
+        mockMvc.perform(formLogin("/perform_login").user("gestor@test.com").password("secret"))
+                .andExpect(authenticated());
+
+        String rehashed = userRepository.findByEmail("gestor@test.com").orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("{bcrypt}$2a$05$");
+
+        // Con el hash nuevo el login sigue funcionando y ya no se regenera
+        mockMvc.perform(formLogin("/perform_login").user("gestor@test.com").password("secret"))
+                .andExpect(authenticated());
+        assertThat(userRepository.findByEmail("gestor@test.com").orElseThrow().getPassword()).isEqualTo(rehashed);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder("bcrypt", 12, 1, 1, Duration.ofSeconds(30))) {
+            // Un hash en curso y otro en cola: el pool (1 hilo, cola de 1) está lleno
+            CompletableFuture.runAsync(() -> encoder.encode("uno"));
+            CompletableFuture.runAsync(() -> encoder.encode("dos"));
+            for (int i = 0; i < 500 && encoder.getQueued() == 0; i++) {
+                Thread.sleep(10);
+            }
+            assertThat(encoder.getQueued()).isEqualTo(1);
+            assertThatThrownBy(() -> encoder.encode("tres")).isInstanceOf(PasswordHashingRejectedException.class);
+            assertThat(encoder.getRejections()).isPositive();
+        }
+    }
+
+    @Test
+    void loginAnswers503WhenHashingPoolIsSaturated() throws Exception {
+        BoundedPasswordEncoder encoder = (BoundedPasswordEncoder) passwordEncoder;
+        String slowHash = new BCryptPasswordEncoder(13).encode("lento");
+        // Un hash en curso y otro en cola: el pool del contexto (1 hilo, cola de 1) está lleno
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("lento", slowHash));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("lento", slowHash));
+        try {
+            for (int i = 0; i < 500 && encoder.getQueued() == 0; i++) {
+                Thread.sleep(10);
+            }
+            assertThat(encoder.getQueued()).isEqualTo(1);
+
+            mockMvc.perform(formLogin("/perform_login").user("nadie@test.com").password("secret"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                    .andExpect(unauthenticated());
+        } finally {
+            CompletableFuture.allOf(running, queued).join();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.cache.DashboardCache;
+import com.example.formacomtrello.dto.DashboardStats;
+import com.example.formacomtrello.dto.ProjectActivity;
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Dashboards de gestor y colaborador: agregados correctos, caché por usuario e invalidación
+ * cuando cambia una tarea de uno de sus proyectos.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DashboardServiceTests {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DashboardCache dashboardCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User manager;
+    private User collaborator;
+    private User otherCollaborator;
+    private Project older;
+    private Project newer;
+    private Project unrelated;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            manager = testData.saveUser("dash-gestor@test.com", Role.GESTOR);
+            User otherManager = testData.saveUser("dash-gestor2@test.com", Role.GESTOR);
+            collaborator = testData.saveUser("dash-colab@test.com", Role.COLABORADOR);
+            otherCollaborator = testData.saveUser("dash-colab2@test.com", Role.COLABORADOR);
+            older = testData.saveProject("Antiguo", manager, collaborator);
+            newer = testData.saveProject("Reciente", manager, collaborator, otherCollaborator);
+            unrelated = testData.saveProject("Ajeno", otherManager, otherCollaborator);
+        });
+        dashboardCache.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+        dashboardCache.clear();
+    }
+
+    @Test
+    void aggregatesTasksAndActivityPerRole() {
+        Task overdue = taskService.createTask(older.getId(), newTaskDto("Vencida", collaborator, LocalDate.now().minusDays(2)), manager.getEmail());
+        taskService.createTask(newer.getId(), newTaskDto("En plazo", otherCollaborator, LocalDate.now().plusDays(2)), manager.getEmail());
+        taskService.markTaskAsAccepted(overdue.getId(), collaborator.getEmail());
+        Task done = taskService.createTask(older.getId(), newTaskDto("Hecha", collaborator, LocalDate.now().minusDays(5)), manager.getEmail());
+        taskService.markTaskAsCompleted(done.getId(), collaborator.getEmail());
+
+        DashboardStats managerStats = dashboardService.getManagerDashboard(manager.getEmail());
+        assertThat(managerStats.getTasksByStatus()).containsExactly(
+                entry(TaskStatus.PENDIENTE, 1L), entry(TaskStatus.EN_PROGRESO, 1L), entry(TaskStatus.COMPLETADA, 1L));
+        assertThat(managerStats.getOverdueTasks()).isEqualTo(1); // Las completadas no cuentan como vencidas
+        // 'older' tiene la tarea más reciente
+        assertThat(managerStats.getRecentProjects()).extracting(ProjectActivity::getTitle).containsExactly("Antiguo", "Reciente");
+
+        DashboardStats collaboratorStats = dashboardService.getCollaboratorDashboard(collaborator.getEmail());
+        assertThat(collaboratorStats.getOpenTasks()).isEqualTo(1);
+        assertThat(collaboratorStats.getOverdueTasks()).isEqualTo(1);
+        assertThat(collaboratorStats.getRecentProjects()).extracting(ProjectActivity::getTitle).containsExactly("Antiguo", "Reciente");
+    }
+
+    @Test
+    void cachedUntilATaskOfTheUserChanges() {
+        Task task = taskService.createTask(older.getId(), newTaskDto("Tarea", collaborator, LocalDate.now().plusDays(1)), manager.getEmail());
+
+        DashboardStats first = dashboardService.getManagerDashboard(manager.getEmail());
+        assertThat(dashboardService.getManagerDashboard(manager.getEmail())).isSameAs(first);
+        DashboardStats collaboratorFirst = dashboardService.getCollaboratorDashboard(otherCollaborator.getEmail());
+
+        // Un cambio en otro proyecto no afecta al gestor
+        Task foreign = transactionTemplate.execute(status -> {
+            Task t = new Task();
+            t.setTitle("Ajena");
+            t.setProject(unrelated);
+            t.setAssignedUser(otherCollaborator);
+            return taskRepository.save(t);
+        });
+        dashboardService.invalidateProject(foreign.getProject().getId());
+        assertThat(dashboardService.getManagerDashboard(manager.getEmail())).isSameAs(first);
+        assertThat(dashboardService.getCollaboratorDashboard(otherCollaborator.getEmail())).isNotSameAs(collaboratorFirst);
+
+        taskService.markTaskAsCompleted(task.getId(), collaborator.getEmail());
+        DashboardStats updated = dashboardService.getManagerDashboard(manager.getEmail());
+        assertThat(updated).isNotSameAs(first);
+        assertThat(updated.getTasksByStatus().get(TaskStatus.COMPLETADA)).isEqualTo(1);
+    }
+
+    @Test
+    void usersWithMoreProjectsThanTrackedAreInvalidatedByAnyProject() {
+        // Solo se lee el proyecto más activo del gestor: su dashboard ya no sabe cuáles son los demás
+        Object target = AopTestUtils.getTargetObject(dashboardService);
+        Object maxTrackedProjects = ReflectionTestUtils.getField(target, "maxTrackedProjects");
+        ReflectionTestUtils.setField(target, "maxTrackedProjects", 1);
+        try {
+            DashboardStats first = dashboardService.getManagerDashboard(manager.getEmail());
+            assertThat(first.getRecentProjects()).hasSize(1);
+            dashboardService.invalidateProject(unrelated.getId());
+            DashboardStats second = dashboardService.getManagerDashboard(manager.getEmail());
+            assertThat(second).isNotSameAs(first);
+            assertThat(dashboardService.getManagerDashboard(manager.getEmail())).isSameAs(second);
+        } finally {
+            ReflectionTestUtils.setField(target, "maxTrackedProjects", maxTrackedProjects);
+        }
+    }
+
+    @Test
+    void dashboardsRenderTheStats() throws Exception {
+        taskService.createTask(newer.getId(), newTaskDto("Vencida", collaborator, LocalDate.now().minusDays(1)), manager.getEmail());
+
+        mockMvc.perform(get("/manager/dashboard").with(user(AuthenticatedUser.from(manager))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Actividad reciente")))
+                .andExpect(content().string(containsString("Reciente")));
+        mockMvc.perform(get("/collaborator/dashboard").with(user(AuthenticatedUser.from(collaborator))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Vencidas")));
+    }
+
+    private static Map.Entry<TaskStatus, Long> entry(TaskStatus status, long count) {
+        return Map.entry(status, count);
+    }
+
+    private static TaskDto newTaskDto(String title, User assignee, LocalDate dueDate) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(title);
+        dto.setDueDate(dueDate);
+        dto.setAssignedUserEmail(assignee.getEmail());
+        return dto;
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.CommentDto;
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.event.CollaboratorAdded;
+import com.example.formacomtrello.event.CommentAdded;
+import com.example.formacomtrello.event.DomainEvent;
+import com.example.formacomtrello.event.DomainEventListener;
+import com.example.formacomtrello.event.ProjectClosed;
+import com.example.formacomtrello.event.TaskCreated;
+import com.example.formacomtrello.event.TaskStatusChanged;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.monitoring.EventListenerStatistics;
+import com.example.formacomtrello.service.impl.DomainEventBusImpl;
+import com.example.formacomtrello.support.TestData;
+import com.example.formacomtrello.support.TestData.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bus de eventos de dominio: eventos tipados de los servicios tras el commit, orden por proyecto,
+ * estadísticas por listener, espera de quien publica cuando la cola de su carril está llena y
+ * recuento de lo que no se entrega al parar.
+ */
+@SpringBootTest(properties = {
+        "app.events.lanes=2",
+        "app.events.queue-capacity=4",
+        "app.events.publish-timeout=PT0.2S"
+})
+@ActiveProfiles("test")
+class DomainEventBusTests {
+
+    // Con 2 carriles, los proyectos 1000 y 1001 van a carriles distintos
+    private static final Long LANE_0_PROJECT = 1000L;
+    private static final Long LANE_1_PROJECT = 1001L;
+
+    @TestConfiguration
+    static class ListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements DomainEventListener {
+
+        final Queue<DomainEvent> events = new ConcurrentLinkedQueue<>();
+        volatile CountDownLatch gate; // Si no es null, los eventos de LANE_0_PROJECT esperan a que se abra
+        volatile DomainEvent failOn;
+
+        @Override
+        public void onEvent(DomainEvent event) {
+            CountDownLatch currentGate = gate;
+            if (currentGate != null && event.projectId().equals(LANE_0_PROJECT)) {
+                try {
+                    currentGate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (event.equals(failOn)) {
+                throw new IllegalStateException("Fallo de prueba");
+            }
+            events.add(event);
+        }
+    }
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User manager;
+    private User collaborator;
+    private User newcomer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        Team team = testData.saveTeam("events-gestor@test.com", "events-colab@test.com", "Eventos");
+        manager = team.manager();
+        collaborator = team.collaborator();
+        project = team.project();
+        newcomer = testData.saveUser("events-nuevo@test.com", Role.COLABORADOR);
+        listener.events.clear();
+        listener.gate = null;
+        listener.failOn = null;
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void servicesPublishTypedEventsAfterCommit() throws Exception {
+        Task task = taskService.createTask(project.getId(), newTaskDto("Maquetar"), manager.getEmail());
+        taskService.markTaskAsAccepted(task.getId(), collaborator.getEmail());
+        CommentDto comment = new CommentDto();
+        comment.setContent("Empiezo hoy");
+        Comment saved = taskService.addCommentToTask(task.getId(), comment, collaborator.getEmail());
+        projectService.addOrInviteCollaborator(project.getId(), newcomer.getEmail(), null, manager.getEmail());
+        projectService.closeProject(project.getId(), manager.getEmail());
+
+        await(() -> listener.events.size() == 5);
+        assertThat(listener.events).containsExactly(
+                new TaskCreated(project.getId(), List.of(task.getId()), manager.getId()),
+                new TaskStatusChanged(project.getId(), List.of(task.getId()), TaskStatus.EN_PROGRESO, collaborator.getId()),
+                new CommentAdded(project.getId(), task.getId(), saved.getId(), collaborator.getId()),
+                new CollaboratorAdded(project.getId(), newcomer.getId(), manager.getId()),
+                new ProjectClosed(project.getId(), manager.getId()));
+    }
+
+    @Test
+    void rolledBackChangesAreNotPublished() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            domainEventBus.publish(new ProjectClosed(project.getId(), manager.getId()));
+            status.setRollbackOnly();
+        });
+        ProjectClosed committed = new ProjectClosed(project.getId(), collaborator.getId());
+        transactionTemplate.executeWithoutResult(status -> domainEventBus.publish(committed));
+
+        await(() -> listener.events.contains(committed));
+        assertThat(listener.events).containsExactly(committed);
+    }
+
+    @Test
+    void deliversEachProjectInOrderAndCountsFailures() throws Exception {
+        EventListenerStatistics statistics = statisticsOf("RecordingListener");
+        long delivered = statistics.getDelivered();
+        List<DomainEvent> published = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            published.add(new ProjectClosed(LANE_0_PROJECT + i % 4, i));
+        }
+        listener.failOn = published.get(10);
+        published.forEach(domainEventBus::publish); // Sin transacción: en el momento
+
+        await(() -> statistics.getDelivered() == delivered + 50);
+        for (long p = 0; p < 4; p++) {
+            Long projectId = LANE_0_PROJECT + p;
+            assertThat(listener.events.stream().filter(e -> e.projectId().equals(projectId)).toList())
+                    .containsExactlyElementsOf(published.stream()
+                            .filter(e -> e.projectId().equals(projectId) && e != published.get(10)).toList());
+        }
+        assertThat(statistics.getFailed()).isEqualTo(1);
+        assertThat(statisticsOf("AuditLogListener").getFailed()).isZero(); // El fallo no afecta a los demás
+    }
+
+    @Test
+    void fullLaneMakesThePublisherWaitAndThenRejects() throws Exception {
+        long rejected = domainEventBus.getRejectedEvents();
+        listener.gate = new CountDownLatch(1);
+        domainEventBus.publish(new ProjectClosed(LANE_0_PROJECT, 0L)); // Lo toma el hilo del carril y se queda esperando
+        await(() -> domainEventBus.getPendingEvents() == 0);
+        for (long i = 1; i <= 4; i++) {
+            domainEventBus.publish(new ProjectClosed(LANE_0_PROJECT, i)); // Llenan la cola (capacidad 4)
+        }
+
+        long start = System.nanoTime();
+        domainEventBus.publish(new ProjectClosed(LANE_0_PROJECT, 5L));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(waitedMillis).isGreaterThanOrEqualTo(150); // publish-timeout de 200 ms
+        assertThat(domainEventBus.getRejectedEvents()).isEqualTo(rejected + 1);
+
+        // El otro carril sigue entregando
+        ProjectClosed other = new ProjectClosed(LANE_1_PROJECT, 0L);
+        domainEventBus.publish(other);
+        await(() -> listener.events.contains(other));
+
+        listener.gate.countDown();
+        await(() -> listener.events.size() == 6);
+        assertThat(listener.events.stream().filter(e -> e.projectId().equals(LANE_0_PROJECT)).map(DomainEvent::actorId))
+                .containsExactly(0L, 1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void eventsLeftBehindWhenStoppingAreCountedAsRejected() throws Exception {
+        // Bus aparte, con un carril y sitio para un evento: el del contexto lo comparten los demás tests
+        CountDownLatch gate = new CountDownLatch(1);
+        Queue<DomainEvent> delivered = new ConcurrentLinkedQueue<>();
+        Queue<Boolean> daemonLanes = new ConcurrentLinkedQueue<>();
+        DomainEventBusImpl bus = new DomainEventBusImpl();
+        ReflectionTestUtils.setField(bus, "listeners", List.<DomainEventListener>of(event -> {
+            daemonLanes.add(Thread.currentThread().isDaemon());
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(event);
+        }));
+        ReflectionTestUtils.setField(bus, "laneCount", 1);
+        ReflectionTestUtils.setField(bus, "queueCapacity", 1);
+        ReflectionTestUtils.setField(bus, "publishTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(bus, "shutdownTimeout", Duration.ofMillis(300));
+        ReflectionTestUtils.invokeMethod(bus, "start");
+
+        bus.publish(new ProjectClosed(LANE_0_PROJECT, 0L)); // En entrega, esperando a 'gate'
+        await(() -> bus.getPendingEvents() == 0);
+        bus.publish(new ProjectClosed(LANE_0_PROJECT, 1L)); // Llena la cola
+        Thread publisher = new Thread(() -> bus.publish(new ProjectClosed(LANE_0_PROJECT, 2L)));
+        publisher.start();
+        await(() -> publisher.getState() == Thread.State.TIMED_WAITING); // Esperando sitio en la cola
+
+        ReflectionTestUtils.invokeMethod(bus, "stop"); // Agota el plazo e interrumpe el carril
+        publisher.join(5000);
+
+        assertThat(delivered).extracting(DomainEvent::actorId).containsExactly(0L);
+        // El que estaba en cola y el que esperaba para entrar; el carril suma el suyo al cerrar, sin que stop() lo espere
+        await(() -> bus.getRejectedEvents() == 2);
+        assertThat(bus.getPendingEvents()).isZero();
+        assertThat(daemonLanes).containsExactly(true);
+    }
+
+    private EventListenerStatistics statisticsOf(String listenerName) {
+        return domainEventBus.getListenerStatistics().stream()
+                .filter(s -> s.getListener().equals(listenerName))
+                .findFirst().orElseThrow();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).as("tiempo de espera agotado").isTrue();
+    }
+
+    private TaskDto newTaskDto(String title) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(title);
+        dto.setDueDate(LocalDate.now().plusDays(3));
+        dto.setAssignedUserEmail(collaborator.getEmail());
+        return dto;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.service.impl.ProfileImageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Miniaturas de tamaño fijo con nombre = hash del contenido: una misma imagen se guarda una sola vez.
+ * Las dimensiones se comprueban en la cabecera antes de decodificar.
+ */
+class ProfileImageServiceTests {
+
+    @TempDir
+    Path uploadDir;
+
+    private ProfileImageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProfileImageServiceImpl();
+        ReflectionTestUtils.setField(service, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "sizes", List.of(32, 64, 256));
+    }
+
+    @Test
+    void storesSquareThumbnailsOnce() throws IOException {
+        MockMultipartFile upload = png("foto.png", 800, 600);
+
+        String url = service.store(upload);
+        assertThat(url).matches("/uploads/profiles/[0-9a-f]{64}-256\\.jpg");
+        assertThat(files()).hasSize(3);
+        for (int size : List.of(32, 64, 256)) {
+            BufferedImage thumbnail = ImageIO.read(uploadDir.resolve(Path.of(service.url(url, size)).getFileName()).toFile());
+            assertThat(thumbnail.getWidth()).isEqualTo(size);
+            assertThat(thumbnail.getHeight()).isEqualTo(size);
+        }
+
+        // Mismo contenido con otro nombre: misma URL y ningún archivo nuevo
+        assertThat(service.store(png("copia.png", 800, 600))).isEqualTo(url);
+        assertThat(files()).hasSize(3);
+    }
+
+    @Test
+    void picksSmallestVariantCoveringSize() throws IOException {
+        String url = service.store(png("foto.png", 100, 100));
+        assertThat(service.url(url, 20)).endsWith("-32.jpg");
+        assertThat(service.url(url, 64)).endsWith("-64.jpg");
+        assertThat(service.url(url, 150)).endsWith("-256.jpg");
+        assertThat(service.url(url, 1000)).endsWith("-256.jpg");
+        // URLs externas o de la versión anterior: sin cambios
+        assertThat(service.url("https://ejemplo.com/yo.jpg", 64)).isEqualTo("https://ejemplo.com/yo.jpg");
+        assertThat(service.url(null, 64)).isNull();
+    }
+
+    @Test
+    void rejectsFilesThatAreNotImages() {
+        MockMultipartFile upload = new MockMultipartFile("fotoFile", "foto.png", "image/png", "no es una imagen".getBytes());
+        assertThatThrownBy(() -> service.store(upload)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsImagesWhoseHeaderDeclaresTooManyPixels() throws IOException {
+        // PNG de 16x16 cuya cabecera dice 50000x50000: se rechaza sin decodificar los 2.500 millones de píxeles
+        byte[] content = png("bomba.png", 16, 16).getBytes();
+        ByteBuffer header = ByteBuffer.wrap(content);
+        header.putInt(16, 50_000).putInt(20, 50_000);
+        CRC32 crc = new CRC32();
+        crc.update(content, 12, 17); // Tipo y datos del bloque IHDR
+        header.putInt(29, (int) crc.getValue());
+        MockMultipartFile upload = new MockMultipartFile("fotoFile", "bomba.png", "image/png", content);
+
+        assertThatThrownBy(() -> service.store(upload))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("50000x50000");
+        assertThat(files()).isEmpty();
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            return files.toList();
+        }
+    }
+
+    private static MockMultipartFile png(String name, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x * height / width, 0xFF3366CC);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("fotoFile", name, "image/png", out.toByteArray());
+    }
+}
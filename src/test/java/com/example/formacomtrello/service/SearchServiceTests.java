@@ -0,0 +1,221 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.CommentDto;
+import com.example.formacomtrello.dto.SearchResult;
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.security.AuthenticatedUser;
+import com.example.formacomtrello.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Búsqueda de texto completo: el índice sigue las escrituras de TaskServiceImpl, solo devuelve
+ * resultados de los proyectos del usuario, ordena por relevancia y resalta las coincidencias.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SearchServiceTests {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User manager;
+    private User collaborator;
+    private User outsider;
+    private Project project;
+    private Project foreign;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> {
+            manager = testData.saveUser("search-gestor@test.com", Role.GESTOR);
+            User otherManager = testData.saveUser("search-gestor2@test.com", Role.GESTOR);
+            collaborator = testData.saveUser("search-colab@test.com", Role.COLABORADOR);
+            outsider = testData.saveUser("search-ajeno@test.com", Role.COLABORADOR);
+            project = testData.saveProject("Web", manager, collaborator);
+            foreign = testData.saveProject("Ajeno", otherManager, outsider);
+        });
+        searchService.rebuild(); // Índice vacío: sin documentos de otros tests
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void ranksTitleMatchesFirstAndIgnoresAccentsAndInflections() {
+        Task inDescription = taskService.createTask(project.getId(),
+                newTaskDto("Revisar estilos", "Comprobar la facturación del cliente", collaborator), manager.getEmail());
+        Task inTitle = taskService.createTask(project.getId(),
+                newTaskDto("Facturación mensual", "Enviar a contabilidad", collaborator), manager.getEmail());
+        taskService.createTask(project.getId(), newTaskDto("Otra cosa", "Nada que ver", collaborator), manager.getEmail());
+
+        Page<SearchResult> results = searchService.search("facturacion", manager.getEmail(), 0);
+        assertThat(results.getTotalElements()).isEqualTo(2);
+        assertThat(results.getContent()).extracting(SearchResult::getTaskId).containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(results.getContent().get(1).getFragment()).contains("<mark>facturación</mark>");
+
+        // Plural y mayúsculas: mismo lema
+        assertThat(searchService.search("ESTILO", collaborator.getEmail(), 0).getContent())
+                .extracting(SearchResult::getTaskId).containsExactly(inDescription.getId());
+        // Todas las palabras deben aparecer
+        assertThat(searchService.search("facturación estilos", manager.getEmail(), 0).getContent())
+                .extracting(SearchResult::getTaskId).containsExactly(inDescription.getId());
+    }
+
+    @Test
+    void onlyReturnsProjectsOfTheUser() {
+        taskService.createTask(project.getId(), newTaskDto("Migración de servidores", null, collaborator), manager.getEmail());
+        Task foreignTask = transactionTemplate.execute(status -> {
+            Task t = new Task();
+            t.setTitle("Migración ajena");
+            t.setProject(foreign);
+            t.setAssignedUser(outsider);
+            return taskRepository.save(t);
+        });
+        searchService.indexTasks(List.of(foreignTask)); // Sin transacción: se aplica al momento
+
+        assertThat(searchService.search("migración", manager.getEmail(), 0).getContent())
+                .extracting(SearchResult::getProjectTitle).containsExactly("Web");
+        assertThat(searchService.search("migración", outsider.getEmail(), 0).getContent())
+                .extracting(SearchResult::getTaskId).containsExactly(foreignTask.getId());
+    }
+
+    @Test
+    void commentsAreIndexedAndRemovedWithTheirTask() {
+        Task task = taskService.createTask(project.getId(), newTaskDto("Despliegue", null, collaborator), manager.getEmail());
+        CommentDto comment = new CommentDto();
+        comment.setContent("El certificado <b>caduca</b> el viernes");
+        taskService.addCommentToTask(task.getId(), comment, collaborator.getEmail());
+
+        List<SearchResult> results = searchService.search("certificado", manager.getEmail(), 0).getContent();
+        assertThat(results).extracting(SearchResult::getType).containsExactly(SearchResult.Type.COMMENT);
+        assertThat(results.get(0).getTaskTitle()).isEqualTo("Despliegue");
+        // El HTML del comentario llega escapado: solo las marcas del resaltado son etiquetas
+        assertThat(results.get(0).getFragment()).contains("<mark>certificado</mark>").contains("&lt;b&gt;");
+
+        taskService.deleteTask(task.getId(), manager.getEmail());
+        assertThat(searchService.search("certificado despliegue", manager.getEmail(), 0).getTotalElements()).isZero();
+        assertThat(searchService.search("certificado", manager.getEmail(), 0).getTotalElements()).isZero();
+    }
+
+    @Test
+    void rebuildIndexesRowsWrittenOutsideTheApplication() throws Exception {
+        Task task = taskService.createTask(project.getId(), newTaskDto("Inventario", null, collaborator), manager.getEmail());
+        jdbcTemplate.update("update tasks set title = 'Auditoría' where id = ?", task.getId());
+        assertThat(searchService.search("auditoría", manager.getEmail(), 0).getTotalElements()).isZero();
+
+        assertThat(searchService.rebuild()).isEqualTo(1);
+        assertThat(searchService.search("auditoría", manager.getEmail(), 0).getTotalElements()).isEqualTo(1);
+        assertThat(searchService.search("inventario", manager.getEmail(), 0).getTotalElements()).isZero();
+    }
+
+    @Test
+    void rebuildWhileTasksAreWrittenNeitherHidesNorDuplicatesDocuments() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            taskService.createTask(project.getId(), newTaskDto("Base " + i, null, collaborator), manager.getEmail());
+        }
+        int written = 30;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong fewestSeen = new AtomicLong(Long.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                try {
+                    for (int i = 0; i < written; i++) {
+                        taskService.createTask(project.getId(), newTaskDto("Entrega " + i, null, collaborator), manager.getEmail());
+                    }
+                } finally {
+                    writing.set(false);
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                while (writing.get()) {
+                    fewestSeen.accumulateAndGet(searchService.search("base", manager.getEmail(), 0).getTotalElements(), Math::min);
+                }
+            });
+            while (writing.get()) {
+                searchService.rebuild();
+            }
+            writer.get(30, TimeUnit.SECONDS);
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(fewestSeen.get()).isEqualTo(20); // Ninguna búsqueda vio el índice a medio reconstruir
+        assertThat(searchService.search("entrega", manager.getEmail(), 0).getTotalElements()).isEqualTo(written);
+        assertThat(searchService.rebuild()).isEqualTo(20 + written);
+        assertThat(searchService.search("entrega", manager.getEmail(), 0).getTotalElements()).isEqualTo(written);
+    }
+
+    @Test
+    void searchPageRendersHighlightedResults() throws Exception {
+        taskService.createTask(project.getId(), newTaskDto("Presupuesto anual", "Cerrar el presupuesto", collaborator), manager.getEmail());
+
+        mockMvc.perform(get("/search").param("q", "presupuesto").with(user(AuthenticatedUser.from(collaborator))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<mark>presupuesto</mark>")))
+                .andExpect(content().string(containsString("1 resultados")));
+        mockMvc.perform(get("/search").param("q", "presupuesto").with(user(AuthenticatedUser.from(outsider))))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("<mark>"))));
+    }
+
+    private static TaskDto newTaskDto(String title, String description, User assignee) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(title);
+        dto.setDescription(description);
+        dto.setDueDate(LocalDate.now().plusDays(3));
+        dto.setAssignedUserEmail(assignee.getEmail());
+        return dto;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.exception.ResourceNotFoundException;
+import com.example.formacomtrello.exception.UnauthorizedAccessException;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.monitoring.SqlStatementTracker;
+import com.example.formacomtrello.monitoring.SqlStatistics;
+import com.example.formacomtrello.repository.CommentRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Operaciones masivas de TaskServiceImpl: una comprobación de permisos por llamada
+ * y un número de sentencias SQL que no depende del número de tareas.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskBulkOperationsTests {
+
+    private static final int TASKS = 60;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User manager;
+    private User collaborator;
+    private User otherCollaborator;
+    private Project project;
+    private Project otherProject;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            manager = testData.saveUser("bulk-gestor@test.com", Role.GESTOR);
+            collaborator = testData.saveUser("bulk-colab1@test.com", Role.COLABORADOR);
+            otherCollaborator = testData.saveUser("bulk-colab2@test.com", Role.COLABORADOR);
+            project = testData.saveProject("Planificación", manager, collaborator, otherCollaborator);
+            otherProject = testData.saveProject("Otro proyecto", manager, collaborator);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void bulkOperationsUseConstantStatements() {
+        List<TaskDto> dtos = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            dtos.add(newTaskDto("Tarea " + i, i % 2 == 0 ? collaborator : otherCollaborator));
+        }
+        List<Task> created = track(() -> taskService.createTasks(project.getId(), dtos, manager.getEmail()), 10);
+        assertThat(created).hasSize(TASKS).extracting(Task::getId).doesNotContainNull();
+        List<Long> ids = created.stream().map(Task::getId).toList();
+
+        // Cambio de estado y borrado: dos sentencias más para los contadores (GROUP BY por estado y UPDATE del proyecto)
+        assertThat(track(() -> taskService.changeTasksStatus(project.getId(), ids, TaskStatus.EN_PROGRESO, manager.getEmail()), 7))
+                .isEqualTo(TASKS);
+        assertThat(track(() -> taskService.reassignTasks(project.getId(), ids, collaborator.getEmail(), manager.getEmail()), 6))
+                .isEqualTo(TASKS);
+        assertThat(taskRepository.findSummariesByAssignedUserId(collaborator.getId(), PageRequest.ofSize(TASKS + 1)))
+                .hasSize(TASKS)
+                .allMatch(t -> t.getStatus() == TaskStatus.EN_PROGRESO);
+
+        Comment comment = new Comment();
+        comment.setContent("Comentario");
+        comment.setTask(created.get(0));
+        comment.setAuthor(collaborator);
+        commentRepository.save(comment);
+
+        assertThat(track(() -> taskService.deleteTasks(project.getId(), ids, manager.getEmail()), 8)).isEqualTo(TASKS);
+        assertThat(taskRepository.count()).isZero();
+        assertThat(commentRepository.count()).isZero();
+    }
+
+    @Test
+    void tasksOfAnotherProjectAreRejected() {
+        Task own = taskService.createTasks(project.getId(), List.of(newTaskDto("Propia", collaborator)), manager.getEmail()).get(0);
+        Task foreign = taskService.createTasks(otherProject.getId(), List.of(newTaskDto("Ajena", collaborator)), manager.getEmail()).get(0);
+
+        assertThatThrownBy(() -> taskService.deleteTasks(project.getId(), List.of(own.getId(), foreign.getId()), manager.getEmail()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        // Todo o nada: la tarea propia tampoco se ha borrado
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void assigneesMustBelongToTheProject() {
+        assertThatThrownBy(() -> taskService.createTasks(otherProject.getId(),
+                List.of(newTaskDto("Tarea", collaborator), newTaskDto("Tarea", otherCollaborator)), manager.getEmail()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    void onlyTheManagerCanRunBulkOperations() {
+        Task task = taskService.createTasks(project.getId(), List.of(newTaskDto("Tarea", collaborator)), manager.getEmail()).get(0);
+
+        assertThatThrownBy(() -> taskService.changeTasksStatus(project.getId(), List.of(task.getId()), TaskStatus.COMPLETADA,
+                collaborator.getEmail()))
+                .isInstanceOf(UnauthorizedAccessException.class);
+    }
+
+    private <T> T track(Supplier<T> operation, int maxStatements) {
+        SqlStatementTracker.start("TaskBulkOperationsTests", maxStatements);
+        SqlStatistics statistics;
+        T result;
+        try {
+            result = operation.get();
+        } finally {
+            statistics = SqlStatementTracker.stop();
+        }
+        assertThat(statistics.isOverBudget()).as(statistics.toString()).isFalse();
+        return result;
+    }
+
+    private static TaskDto newTaskDto(String title, User assignee) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(title);
+        dto.setDueDate(LocalDate.now().plusDays(3));
+        dto.setAssignedUserEmail(assignee.getEmail());
+        return dto;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.ProjectSummary;
+import com.example.formacomtrello.dto.TaskDto;
+import com.example.formacomtrello.model.*;
+import com.example.formacomtrello.repository.ProjectRepository;
+import com.example.formacomtrello.support.TestData;
+import com.example.formacomtrello.support.TestData.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contadores de tareas por estado de cada proyecto: se mantienen con cada operación de
+ * TaskServiceImpl y la reconciliación corrige los que se hayan desviado.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskCounterServiceTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User manager;
+    private User collaborator;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        Team team = testData.saveTeam("counter-gestor@test.com", "counter-colab@test.com", "Contado");
+        manager = team.manager();
+        collaborator = team.collaborator();
+        project = team.project();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void countersFollowEveryTaskOperation() {
+        Task first = taskService.createTask(project.getId(), newTaskDto("Primera"), manager.getEmail());
+        Task second = taskService.createTask(project.getId(), newTaskDto("Segunda"), manager.getEmail());
+        List<Long> bulk = taskService.createTasks(project.getId(),
+                List.of(newTaskDto("A"), newTaskDto("B"), newTaskDto("C")), manager.getEmail())
+                .stream().map(Task::getId).toList();
+        assertCounters(5, 0, 0);
+
+        taskService.markTaskAsAccepted(first.getId(), collaborator.getEmail());
+        assertCounters(4, 1, 0);
+        taskService.markTaskAsCompleted(first.getId(), collaborator.getEmail());
+        assertCounters(4, 0, 1);
+        taskService.changeTaskStatus(second.getId(), TaskStatus.EN_PROGRESO, manager.getEmail());
+        assertCounters(3, 1, 1);
+        // Mismo estado: no cambia nada
+        taskService.changeTaskStatus(second.getId(), TaskStatus.EN_PROGRESO, manager.getEmail());
+        assertCounters(3, 1, 1);
+
+        // En bloque, con tareas de estados distintos
+        taskService.changeTasksStatus(project.getId(), List.of(bulk.get(0), second.getId(), first.getId()),
+                TaskStatus.COMPLETADA, manager.getEmail());
+        assertCounters(2, 0, 3);
+
+        taskService.deleteTask(first.getId(), manager.getEmail());
+        assertCounters(2, 0, 2);
+        taskService.deleteTasks(project.getId(), List.of(bulk.get(1), second.getId()), manager.getEmail());
+        assertCounters(1, 0, 1);
+
+        assertThat(taskCounterService.reconcile()).isZero();
+    }
+
+    @Test
+    void reconcileRepairsDriftedCounters() {
+        taskService.createTasks(project.getId(), List.of(newTaskDto("A"), newTaskDto("B")), manager.getEmail());
+        // Filas escritas fuera de la aplicación: una tarea más y contadores alterados
+        jdbcTemplate.update("insert into tasks (project_id, assigned_user_id, title, status, created_at)"
+                + " values (?, ?, 'Externa', 'COMPLETADA', current_timestamp)", project.getId(), collaborator.getId());
+        jdbcTemplate.update("update projects set in_progress_tasks = 7 where id = ?", project.getId());
+
+        assertThat(taskCounterService.reconcile()).isEqualTo(1);
+        assertCounters(2, 0, 1);
+        assertThat(taskCounterService.reconcile()).isZero();
+    }
+
+    private void assertCounters(int pending, int inProgress, int completed) {
+        ProjectSummary summary = projectRepository.findSummariesByOwnerId(manager.getId(), Pageable.ofSize(1)).getContent().get(0);
+        assertThat(List.of(summary.getPendingTasks(), summary.getInProgressTasks(), summary.getCompletedTasks()))
+                .containsExactly(pending, inProgress, completed);
+    }
+
+    private TaskDto newTaskDto(String title) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(title);
+        dto.setDueDate(LocalDate.now().plusDays(3));
+        dto.setAssignedUserEmail(collaborator.getEmail());
+        return dto;
+    }
+}
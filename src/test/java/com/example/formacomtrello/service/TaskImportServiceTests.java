@@ -0,0 +1,135 @@
+package com.example.formacomtrello.service;
+
+import com.example.formacomtrello.dto.TaskImportReport;
+import com.example.formacomtrello.exception.UnauthorizedAccessException;
+import com.example.formacomtrello.model.Project;
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.model.Task;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.support.TestData;
+import com.example.formacomtrello.support.TestData.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.tasks.import.batch-size=2")
+@ActiveProfiles("test")
+class TaskImportServiceTests {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final String dueDate = LocalDate.now().plusDays(10).toString();
+
+    private User manager;
+    private User collaborator;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        Team team = testData.saveTeam("import-gestor@test.com", "import-colab@test.com", "Migración");
+        manager = team.manager();
+        collaborator = team.collaborator();
+        project = team.project();
+        testData.saveUser("import-ajeno@test.com", Role.COLABORADOR);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testData.deleteAll();
+    }
+
+    @Test
+    void importsValidCsvRowsAndReportsTheRest() throws Exception {
+        String csv = "\uFEFFassignedUserEmail,title,dueDate,description\r\n"
+                + "import-colab@test.com,Primera tarea," + dueDate + ",\"Descripción con \"\"comillas\"\",\ncoma y salto\"\n"
+                + "\n"
+                + "import-colab@test.com,Segunda tarea," + dueDate + ",\n"
+                + "import-ajeno@test.com,Tarea ajena," + dueDate + ",\n"
+                + "import-colab@test.com,X," + dueDate + ",\n"
+                + "import-colab@test.com,Fecha mala,31/12/2030,\n"
+                + "import-colab@test.com,Tercera tarea," + dueDate + "\n";
+
+        TaskImportReport report = taskImportService.importTasks(project.getId(), TaskImportService.Format.CSV,
+                stream(csv), manager.getEmail());
+
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(TaskImportReport.RowError::getLine).containsExactly(6L, 7L, 8L);
+        assertThat(report.getErrors().get(0).getMessage()).contains("import-ajeno@test.com");
+
+        List<Task> tasks = taskRepository.findExportBatch(project.getId(), 0L, PageRequest.ofSize(10)); // Por id
+        assertThat(tasks).extracting(Task::getTitle).containsExactly("Primera tarea", "Segunda tarea", "Tercera tarea");
+        assertThat(tasks.get(0).getDescription()).isEqualTo("Descripción con \"comillas\",\ncoma y salto");
+        assertThat(tasks.get(1).getDescription()).isNull();
+    }
+
+    @Test
+    void importsJsonLines() throws Exception {
+        String jsonl = "{\"title\":\"Desde JSON\",\"dueDate\":\"" + dueDate + "\",\"assignedUserEmail\":\"import-colab@test.com\"}\n"
+                + "{\"title\": \"Sin fecha\", \"assignedUserEmail\": \"import-colab@test.com\"}\n"
+                + "{no es json\n";
+
+        TaskImportReport report = taskImportService.importTasks(project.getId(), TaskImportService.Format.JSON_LINES,
+                stream(jsonl), manager.getEmail());
+
+        assertThat(report.getRows()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(TaskImportReport.RowError::getLine).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void rejectsMissingColumnsAndOtherUsers() {
+        assertThatThrownBy(() -> taskImportService.importTasks(project.getId(), TaskImportService.Format.CSV,
+                stream("title,dueDate\nTarea," + dueDate + "\n"), manager.getEmail()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("assignedUserEmail");
+        assertThatThrownBy(() -> taskImportService.importTasks(project.getId(), TaskImportService.Format.CSV,
+                stream("title\n"), collaborator.getEmail()))
+                .isInstanceOf(UnauthorizedAccessException.class);
+        assertThat(taskRepository.count()).isZero();
+    }
+
+    @Test
+    void readErrorKeepsTheCommittedBatchesAndSaysHowMany() {
+        // Lotes de 2: las dos primeras filas se confirman, la tercera está pendiente cuando falla la línea 5
+        String csv = "title,dueDate,assignedUserEmail\n"
+                + "Primera," + dueDate + ",import-colab@test.com\n"
+                + "Segunda," + dueDate + ",import-colab@test.com\n"
+                + "Tercera," + dueDate + ",import-colab@test.com\n"
+                + "\"Sin cerrar," + dueDate + ",import-colab@test.com\n";
+
+        assertThatThrownBy(() -> taskImportService.importTasks(project.getId(), TaskImportService.Format.CSV,
+                stream(csv), manager.getEmail()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("línea 5")
+                .hasMessageContaining("importado 2 tareas")
+                .hasMessageContaining("pendientes del último lote (1)");
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.formacomtrello.support;
+
+import org.hibernate.dialect.H2Dialect;
+
+import java.sql.Types;
+
+/**
+ * Dialecto del perfil de tests. Las migraciones son de MySQL y H2 (en modo MySQL) informa de dos tipos
+ * de columna de forma distinta a como los espera Hibernate con H2Dialect:
+ * - 'text' como varchar, donde los @Lob esperan clob;
+ * - enum('A','B') como OTHER, donde @Enumerated(STRING) espera varchar (con MySQLDialect espera enum).
+ * Solo esas parejas se dan por equivalentes, para que ddl-auto=validate compruebe todo lo demás del
+ * esquema de Flyway contra las entidades.
+ */
+public class H2MySqlModeDialect extends H2Dialect {
+
+    @Override
+    public boolean equivalentTypes(int typeCode1, int typeCode2) {
+        return super.equivalentTypes(typeCode1, typeCode2)
+                || isMySqlColumnType(typeCode1, typeCode2) || isMySqlColumnType(typeCode2, typeCode1);
+    }
+
+    private static boolean isMySqlColumnType(int columnType, int mappedType) {
+        return columnType == Types.VARCHAR && mappedType == Types.CLOB
+                || columnType == Types.OTHER && mappedType == Types.VARCHAR;
+    }
+}
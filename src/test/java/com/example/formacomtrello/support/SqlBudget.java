@@ -0,0 +1,58 @@
+package com.example.formacomtrello.support;
+
+import com.example.formacomtrello.monitoring.SqlBudgetInterceptor;
+import com.example.formacomtrello.monitoring.SqlStatistics;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comprobaciones de MockMvc sobre las sentencias SQL de una petición, incluido el pintado de la vista:
+ * <pre>
+ * mockMvc.perform(get("/tasks/1")).andExpect(SqlBudget.atMost(4));
+ * mockMvc.perform(get("/tasks/1")).andExpect(SqlBudget.withinBudget());
+ * </pre>
+ * Si falla, el mensaje incluye las sentencias ejecutadas y cuántas veces se repitió cada una.
+ */
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    /** La petición ejecuta como mucho {@code maxStatements} sentencias. */
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            SqlStatistics statistics = statistics(result);
+            assertThat(statistics.getStatements())
+                    .as(describe(statistics))
+                    .isLessThanOrEqualTo(maxStatements);
+        };
+    }
+
+    /** La petición no supera el presupuesto de su controlador (@QueryBudget o app.sql.budget.default). */
+    public static ResultMatcher withinBudget() {
+        return result -> {
+            SqlStatistics statistics = statistics(result);
+            assertThat(statistics.isOverBudget())
+                    .as(describe(statistics))
+                    .isFalse();
+        };
+    }
+
+    public static SqlStatistics statistics(MvcResult result) {
+        SqlStatistics statistics = (SqlStatistics) result.getRequest().getAttribute(SqlBudgetInterceptor.STATISTICS_ATTRIBUTE);
+        assertThat(statistics).as("La petición no pasó por un controlador: no hay estadísticas de SQL").isNotNull();
+        return statistics;
+    }
+
+    private static String describe(SqlStatistics statistics) {
+        StringBuilder description = new StringBuilder(statistics.toString());
+        for (Map.Entry<String, Integer> entry : statistics.getStatementCounts().entrySet()) {
+            description.append("\n  ").append(entry.getValue()).append(" x ").append(entry.getKey());
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.formacomtrello.support;
+
+import com.example.formacomtrello.cache.ProjectMembershipCache;
+import com.example.formacomtrello.model.Project;
+import com.example.formacomtrello.model.Role;
+import com.example.formacomtrello.model.User;
+import com.example.formacomtrello.repository.CommentRepository;
+import com.example.formacomtrello.repository.ProjectRepository;
+import com.example.formacomtrello.repository.TaskRepository;
+import com.example.formacomtrello.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Datos de los tests de integración: usuarios, proyectos y la limpieza de las tablas al terminar.
+ * <pre>
+ * Team team = testData.saveTeam("x-gestor@test.com", "x-colab@test.com", "Proyecto");
+ * ...
+ * testData.deleteAll(); // En @AfterEach
+ * </pre>
+ * Un proyecto persiste en cascada a sus colaboradores: si se guardan usuarios y proyectos por
+ * separado, tiene que ser dentro de la misma transacción (transactionTemplate del test).
+ */
+@Component
+public class TestData {
+
+    /** Gestor, colaborador y un proyecto del gestor en el que colabora el otro. */
+    public record Team(User manager, User collaborator, Project project) {
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ProjectMembershipCache membershipCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /** Usuario sin guardar, con contraseña "secret". */
+    public static User newUser(String email, Role role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("{noop}secret");
+        user.setNombre("Nombre");
+        user.setApellidos("Apellidos");
+        user.setRole(role);
+        return user;
+    }
+
+    public User saveUser(String email, Role role) {
+        return userRepository.save(newUser(email, role));
+    }
+
+    public Project saveProject(String title, User owner, User... collaborators) {
+        Project project = new Project();
+        project.setTitle(title);
+        project.setOwner(owner);
+        project.getCollaborators().addAll(List.of(collaborators));
+        return projectRepository.save(project);
+    }
+
+    /** En una transacción, o en la del test si ya hay una. */
+    public Team saveTeam(String managerEmail, String collaboratorEmail, String projectTitle) {
+        return transactionTemplate.execute(status -> {
+            User manager = saveUser(managerEmail, Role.GESTOR);
+            User collaborator = saveUser(collaboratorEmail, Role.COLABORADOR);
+            return new Team(manager, collaborator, saveProject(projectTitle, manager, collaborator));
+        });
+    }
+
+    /**
+     * Borra comentarios, tareas, proyectos (con sus colaboradores) y usuarios, y vacía la caché de
+     * pertenencia a proyectos.
+     */
+    public void deleteAll() {
+        commentRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAll(); // Uno a uno: también borra las filas de project_collaborators
+        userRepository.deleteAllInBatch();
+        membershipCache.clear();
+    }
+}